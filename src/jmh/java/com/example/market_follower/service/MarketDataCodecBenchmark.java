@@ -0,0 +1,119 @@
+package com.example.market_follower.service;
+
+import com.example.market_follower.dto.upbit.UpbitOrderbookDto;
+import com.example.market_follower.dto.upbit.UpbitTickerDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Kafka 시세/호가 레코드 인코딩/디코딩 비용과 레코드 크기 비교 (binary vs json)
+// ./gradlew jmh 로 실행, 레코드 크기는 bytes 보조 카운터(레코드당 바이트)로 출력
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MarketDataCodecBenchmark {
+    @Param({"binary", "json"})
+    public String format;
+
+    private MarketDataCodec codec;
+    private UpbitTickerDto ticker;
+    private UpbitOrderbookDto orderbook;
+    private byte[] encodedTicker;
+    private byte[] encodedOrderbook;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Size {
+        public long bytes;
+    }
+
+    @Setup
+    public void setUp() {
+        codec = new MarketDataCodec(TestMarketDictionary.create(), new ObjectMapper(), format);
+        ticker = sampleTicker();
+        orderbook = sampleOrderbook();
+        encodedTicker = codec.encode(ticker);
+        encodedOrderbook = codec.encode(orderbook);
+    }
+
+    @Benchmark
+    public byte[] encodeTicker(Size size) {
+        byte[] encoded = codec.encode(ticker);
+        size.bytes += encoded.length;
+        return encoded;
+    }
+
+    @Benchmark
+    public void decodeTicker(Blackhole blackhole) {
+        codec.decodeTickers(encodedTicker, blackhole::consume);
+    }
+
+    @Benchmark
+    public byte[] encodeOrderbook(Size size) {
+        byte[] encoded = codec.encode(orderbook);
+        size.bytes += encoded.length;
+        return encoded;
+    }
+
+    @Benchmark
+    public void decodeOrderbook(Blackhole blackhole) {
+        codec.decodeOrderbooks(encodedOrderbook, blackhole::consume);
+    }
+
+    private static UpbitTickerDto sampleTicker() {
+        UpbitTickerDto ticker = new UpbitTickerDto();
+        ticker.setMarket("KRW-BTC");
+        ticker.setTradeDate("20240814");
+        ticker.setTradeTime("051012");
+        ticker.setTradeDateKst("20240814");
+        ticker.setTradeTimeKst("141012");
+        ticker.setTradeTimestamp(1723612212000L);
+        ticker.setOpeningPrice(81_000_000);
+        ticker.setHighPrice(82_150_000);
+        ticker.setLowPrice(80_500_000);
+        ticker.setTradePrice(81_655_000);
+        ticker.setPrevClosingPrice(81_000_000);
+        ticker.setChange("RISE");
+        ticker.setChangePrice(655_000);
+        ticker.setChangeRate(0.0080864198);
+        ticker.setSignedChangePrice(655_000);
+        ticker.setSignedChangeRate(0.0080864198);
+        ticker.setTradeVolume(0.00123456);
+        ticker.setAccTradePrice(152_345_678_901.12345);
+        ticker.setAccTradePrice24h(301_234_567_890.98765);
+        ticker.setAccTradeVolume(1876.12345678);
+        ticker.setAccTradeVolume24h(3712.87654321);
+        ticker.setHighest52WeekPrice(105_000_000);
+        ticker.setHighest52WeekDate("2024-03-14");
+        ticker.setLowest52WeekPrice(35_000_000);
+        ticker.setLowest52WeekDate("2023-08-18");
+        ticker.setUpbitTimestamp(1723612212345L);
+        return ticker;
+    }
+
+    // 15호가
+    private static UpbitOrderbookDto sampleOrderbook() {
+        List<UpbitOrderbookDto.OrderbookUnit> units = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            units.add(UpbitOrderbookDto.OrderbookUnit.builder()
+                    .askPrice(BigDecimal.valueOf(81_656_000L + i * 1000L))
+                    .bidPrice(BigDecimal.valueOf(81_655_000L - i * 1000L))
+                    .askSize(new BigDecimal("0.0" + (1234567 + i * 731)))
+                    .bidSize(new BigDecimal("0.0" + (7654321 - i * 517)))
+                    .build());
+        }
+        return UpbitOrderbookDto.builder()
+                .market("KRW-BTC")
+                .timestamp(1723612212345L)
+                .totalAskSize(12.34567891)
+                .totalBidSize(23.45678912)
+                .orderbookUnits(units)
+                .level(0)
+                .build();
+    }
+}
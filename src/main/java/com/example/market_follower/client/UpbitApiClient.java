@@ -0,0 +1,190 @@
+package com.example.market_follower.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+// 모든 서비스가 공유하는 Upbit REST API 클라이언트
+// - JDK HttpClient 기반 keep-alive 커넥션 풀 사용
+// - 요청 그룹(candles, ticker, orderbook, market)별 토큰 버킷으로 호출 속도 제한
+// - 응답의 Remaining-Req 헤더로 남은 요청 수를 보정하고, 429 응답 시 백오프 후 재시도
+@Slf4j
+@Component
+public class UpbitApiClient {
+    private static final String REMAINING_REQ_HEADER = "Remaining-Req";
+
+    private final RestTemplate restTemplate;
+    private final MeterRegistry meterRegistry;
+    private final String baseUrl;
+    private final int requestsPerSecond;
+    private final int maxRetries;
+    private final LongSupplier nanoClock;
+    private final Sleeper sleeper;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    // 대기 시간(ns)만큼 멈추는 동작. 테스트에서는 실제로 자지 않고 대기 요청만 기록
+    interface Sleeper {
+        void sleep(long nanos) throws InterruptedException;
+    }
+
+    @Autowired
+    public UpbitApiClient(
+            MeterRegistry meterRegistry,
+            @Value("${upbit.api.base-url:https://api.upbit.com}") String baseUrl,
+            @Value("${upbit.api.requests-per-second:10}") int requestsPerSecond,
+            @Value("${upbit.api.max-retries:3}") int maxRetries
+    ) {
+        this(meterRegistry, baseUrl, requestsPerSecond, maxRetries, System::nanoTime, TimeUnit.NANOSECONDS::sleep);
+    }
+
+    UpbitApiClient(
+            MeterRegistry meterRegistry,
+            String baseUrl,
+            int requestsPerSecond,
+            int maxRetries,
+            LongSupplier nanoClock,
+            Sleeper sleeper
+    ) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofSeconds(10));
+
+        this.restTemplate = new RestTemplate(requestFactory);
+        this.meterRegistry = meterRegistry;
+        this.baseUrl = baseUrl;
+        this.requestsPerSecond = requestsPerSecond;
+        this.maxRetries = maxRetries;
+        this.nanoClock = nanoClock;
+        this.sleeper = sleeper;
+    }
+
+    // path 예시: /v1/candles/minutes/60?market=KRW-BTC&count=178
+    public <T> T get(String path, Class<T> responseType) {
+        String group = groupOf(path);
+        TokenBucket bucket = buckets.computeIfAbsent(group, g -> new TokenBucket(requestsPerSecond));
+
+        for (int attempt = 0; ; attempt++) {
+            bucket.acquire();
+            try {
+                ResponseEntity<T> response = restTemplate.getForEntity(baseUrl + path, responseType);
+                bucket.observe(remainingInSecond(response.getHeaders()));
+                meterRegistry.counter("upbit.api.requests", "group", group, "outcome", "success").increment();
+                return response.getBody();
+            } catch (HttpClientErrorException.TooManyRequests e) {
+                // 429: 같은 그룹의 남은 토큰을 비우고 지수 백오프 후 재시도
+                bucket.drain();
+                meterRegistry.counter("upbit.api.requests", "group", group, "outcome", "throttled").increment();
+                if (attempt >= maxRetries) {
+                    throw e;
+                }
+                long backoffMillis = Math.min(200L << attempt, 3000L);
+                log.warn("Upbit API 429 ({}), {}ms 후 재시도 {}/{}", group, backoffMillis, attempt + 1, maxRetries);
+                sleep(TimeUnit.MILLISECONDS.toNanos(backoffMillis));
+            }
+        }
+    }
+
+    // /v1/candles/minutes/5?market=... -> candles
+    private String groupOf(String path) {
+        String rest = path.startsWith("/v1/") ? path.substring(4) : path;
+        int end = rest.length();
+        for (int i = 0; i < rest.length(); i++) {
+            char c = rest.charAt(i);
+            if (c == '/' || c == '?') {
+                end = i;
+                break;
+            }
+        }
+        return rest.substring(0, end);
+    }
+
+    // Remaining-Req: group=candles; min=599; sec=9 -> 9
+    private int remainingInSecond(HttpHeaders headers) {
+        String value = headers.getFirst(REMAINING_REQ_HEADER);
+        if (value == null) {
+            return Integer.MAX_VALUE;
+        }
+        for (String part : value.split(";")) {
+            String[] keyValue = part.trim().split("=");
+            if (keyValue.length == 2 && keyValue[0].equals("sec")) {
+                try {
+                    return Integer.parseInt(keyValue[1].trim());
+                } catch (NumberFormatException e) {
+                    log.debug("Invalid Remaining-Req header: {}", value);
+                }
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    private void sleep(long nanos) {
+        try {
+            sleeper.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for Upbit API rate limit", e);
+        }
+    }
+
+    // 초당 capacity개의 토큰이 채워지는 버킷
+    private final class TokenBucket {
+        private final int capacity;
+        private double tokens;
+        private long lastRefillNanos = nanoClock.getAsLong();
+
+        TokenBucket(int capacity) {
+            this.capacity = capacity;
+            this.tokens = capacity;
+        }
+
+        void acquire() {
+            while (true) {
+                long waitNanos;
+                synchronized (this) {
+                    refill();
+                    if (tokens >= 1) {
+                        tokens -= 1;
+                        return;
+                    }
+                    waitNanos = (long) ((1 - tokens) * TimeUnit.SECONDS.toNanos(1) / capacity);
+                }
+                sleep(Math.max(waitNanos, TimeUnit.MILLISECONDS.toNanos(1)));
+            }
+        }
+
+        // 서버가 알려준 이번 초의 남은 요청 수보다 많이 쓰지 않도록 보정
+        synchronized void observe(int remaining) {
+            refill();
+            tokens = Math.min(tokens, remaining);
+        }
+
+        synchronized void drain() {
+            refill();
+            tokens = Math.min(tokens, 0);
+        }
+
+        private void refill() {
+            long now = nanoClock.getAsLong();
+            double refilled = (now - lastRefillNanos) * capacity / (double) TimeUnit.SECONDS.toNanos(1);
+            tokens = Math.min(capacity, tokens + refilled);
+            lastRefillNanos = now;
+        }
+    }
+}
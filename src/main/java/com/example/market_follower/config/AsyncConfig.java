@@ -1,5 +1,6 @@
 package com.example.market_follower.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -37,7 +38,7 @@ public class AsyncConfig {
 
     // DB 조회 전용 스레드 풀 (대용량 응답 최적화)
     @Bean(name = "dbQueryExecutor")
-    public Executor dbQueryExecutor() {
+    public ThreadPoolTaskExecutor dbQueryExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
 
         // DB 조회는 더 보수적으로 설정
@@ -52,4 +53,75 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
-}
\ No newline at end of file
+
+    // 스트리밍 응답(StreamingResponseBody) 전용 스레드 풀 (WebConfig)
+    // 응답 하나가 스레드 하나를 전송이 끝날 때까지 점유하므로 DB 조회 풀과 분리하고 크기를 제한
+    // 큐가 가득 차면 TaskRejectedException -> 503 + Retry-After (StreamingExceptionHandler)
+    @Bean(name = "streamingExecutor")
+    public ThreadPoolTaskExecutor streamingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(16);
+        executor.setThreadNamePrefix("Streaming-");
+        executor.setAwaitTerminationSeconds(60);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setKeepAliveSeconds(60);
+
+        executor.initialize();
+        return executor;
+    }
+
+    // 호가 갱신 기반 주문 체결 전용 스레드 풀 (마켓 단위로 작업이 합쳐지므로 작게 유지)
+    @Bean(name = "matchingExecutor")
+    public Executor matchingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(1000);            // 마켓 수(약 600개)보다 크게
+        executor.setThreadNamePrefix("Matching-");
+        executor.setAwaitTerminationSeconds(30);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+
+        // 큐가 가득 찰 경우 호출자(Kafka Consumer) 스레드에서 실행
+        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy());
+
+        executor.initialize();
+        return executor;
+    }
+
+    // 캔들 백필 파이프라인 전용 스레드 풀 (fetch 워커 parallelism 개 + parse 워커 1개)
+    // 파이프라인 워커는 서로의 큐를 기다리므로 호출자 스레드에서 실행되면 안 됨 (CallerRunsPolicy 미사용)
+    @Bean(name = "candleSyncExecutor")
+    public Executor candleSyncExecutor(@Value("${candle.backfill.parallelism:4}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        executor.setCorePoolSize(parallelism + 1);
+        executor.setMaxPoolSize(parallelism + 1);
+        executor.setQueueCapacity((parallelism + 1) * 4);   // 동시에 요청된 동기화는 큐에서 순서 대기
+        executor.setThreadNamePrefix("CandleSync-");
+        executor.setAwaitTerminationSeconds(60);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+
+        executor.initialize();
+        return executor;
+    }
+
+    // 기동 후 워밍업(거래 가능 코인 갱신, 1Day 캔들 채우기, 캔들 동기화) 전용 스레드
+    // 오래 걸리는 작업이라 요청 처리용 풀을 점유하지 않도록 분리
+    @Bean(name = "warmupExecutor")
+    public Executor warmupExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("Warmup-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);  // 재시작 시 체크포인트부터 이어서 진행
+
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.market_follower.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+// 시세/호가 토픽 설정
+// 메시지는 마켓 코드를 key 로 마켓당 한 건씩 보내므로 같은 마켓은 항상 같은 파티션에 순서대로 쌓이고,
+// 컨슈머는 파티션 수만큼 나눠 받을 수 있음 (이미 있는 토픽은 파티션 수가 적을 때만 늘어남)
+@Configuration
+public class KafkaTopicConfig {
+    public static final String TICKER_TOPIC = "upbit-ticker-topic";
+    public static final String ORDERBOOK_TOPIC = "upbit-orderbook-topic";
+
+    @Value("${market.kafka.partitions:6}")
+    private int partitions;
+
+    @Value("${market.kafka.replicas:1}")
+    private int replicas;
+
+    @Bean
+    public NewTopic tickerTopic() {
+        return TopicBuilder.name(TICKER_TOPIC).partitions(partitions).replicas(replicas).build();
+    }
+
+    @Bean
+    public NewTopic orderbookTopic() {
+        return TopicBuilder.name(ORDERBOOK_TOPIC).partitions(partitions).replicas(replicas).build();
+    }
+}
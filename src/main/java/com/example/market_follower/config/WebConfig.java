@@ -1,7 +1,10 @@
 package com.example.market_follower.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -9,10 +12,13 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class WebConfig implements WebMvcConfigurer {
 
     private final IpRateLimiterInterceptor rateLimiterInterceptor;
+    private final ThreadPoolTaskExecutor streamingExecutor;
 
     @Autowired
-    public WebConfig(IpRateLimiterInterceptor rateLimiterInterceptor) {
+    public WebConfig(IpRateLimiterInterceptor rateLimiterInterceptor,
+                     @Qualifier("streamingExecutor") ThreadPoolTaskExecutor streamingExecutor) {
         this.rateLimiterInterceptor = rateLimiterInterceptor;
+        this.streamingExecutor = streamingExecutor;
     }
 
     @Override
@@ -20,4 +26,10 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addInterceptor(rateLimiterInterceptor)
                 .addPathPatterns("/**"); // 모든 요청에 적용
     }
+
+    // 대용량 스트리밍 응답은 기본 SimpleAsyncTaskExecutor 대신 크기가 제한된 스트리밍 전용 풀에서 실행
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingExecutor);
+    }
 }
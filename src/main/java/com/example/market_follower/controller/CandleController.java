@@ -1,6 +1,12 @@
 package com.example.market_follower.controller;
 
+import com.example.market_follower.model.MarketScope;
+import com.example.market_follower.model.candle.CandleHorizon;
+import com.example.market_follower.model.candle.DailyCandleSeries;
+import com.example.market_follower.service.CandleColumnarEncoder;
+import com.example.market_follower.service.CandleExportService;
 import com.example.market_follower.service.CandleService;
+import com.example.market_follower.service.CandleSnapshotCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,13 +17,28 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPInputStream;
 
 @Slf4j
 @RestController
@@ -25,21 +46,35 @@ import java.util.concurrent.CompletableFuture;
 @RequiredArgsConstructor
 @Tag(name = "Candle API", description = "암호화폐 캔들 정보 조회 API")
 public class CandleController {
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int MAX_PAGE_LIMIT = 1000;
+    private static final MediaType COLUMNAR_JSON = MediaType.parseMediaType(CandleColumnarEncoder.COLUMNAR_JSON);
+    private static final MediaType COLUMNAR_BINARY = MediaType.parseMediaType(CandleColumnarEncoder.COLUMNAR_BINARY);
+
     private final CandleService candleService;
+    private final CandleExportService candleExportService;
+    private final CandleColumnarEncoder candleColumnarEncoder;
+    private final CandleSnapshotCache candleSnapshotCache;
 
     @GetMapping("/all")
     @Operation(
             summary = "전체 캔들 데이터 조회 (비동기)",
-            description = "모든 코인의 캔들 데이터를 비동기로 조회합니다. 앱 최초 다운로드 후 로딩 시 또는 앱 LocalStorage가 비어있을 때 사용합니다.",
+            description = "모든 코인의 캔들 데이터를 비동기로 조회합니다. 앱 최초 다운로드 후 로딩 시 또는 앱 LocalStorage가 비어있을 때 사용합니다. " +
+                    "매일 동기화 후 만들어 둔 스냅샷이 있으면 ETag 와 함께 그대로 내려주며, If-None-Match 가 같으면 304 를 반환합니다.",
             tags = {"데이터 조회"}
     )
     @Parameter(
             name = "is_krw_market",
-            description = "KRW 마켓 조회 여부. true: KRW-로 시작하는 마켓만 조회, false: KRW-로 시작하지 않는 마켓만 조회",
-            required = true,
+            description = "KRW 마켓 조회 여부. true: KRW 마켓만 조회, false: KRW 외 마켓(BTC, USDT)만 조회. quote 가 있으면 무시",
             example = "true",
             schema = @Schema(type = "boolean")
     )
+    @Parameter(
+            name = "quote",
+            description = "호가 화폐. 지정하면 해당 호가 화폐 마켓만 조회 (is_krw_market 과 둘 중 하나는 필수)",
+            example = "KRW",
+            schema = @Schema(type = "string", allowableValues = {"KRW", "BTC", "USDT"})
+    )
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
@@ -107,8 +142,25 @@ public class CandleController {
                     )
             )
     })
-    public CompletableFuture<ResponseEntity<Map<String, Object>>> getAllCandleData(@RequestParam boolean is_krw_market) {
-        return candleService.getAllCandleDataAsync(is_krw_market)
+    public CompletableFuture<? extends ResponseEntity<?>> getAllCandleData(
+            @RequestParam(required = false) Boolean is_krw_market,
+            @RequestParam(required = false) String quote,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        MarketScope scope = scopeOf(is_krw_market, quote);
+        if (scope == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST).build());
+        }
+
+        // 동기화 후 만들어 둔 스냅샷이 있으면 DB 조회 없이 그대로 응답
+        CandleSnapshotCache.Snapshot snapshot = candleSnapshotCache.getAll(scope);
+        if (snapshot != null) {
+            return CompletableFuture.completedFuture(snapshotResponse(snapshot, ifNoneMatch, acceptEncoding));
+        }
+
+        candleSnapshotCache.recordRequest("miss");
+        return candleService.getAllCandleDataAsync(scope)
                 .thenApply(data -> ResponseEntity.status(HttpStatus.OK).body(data))
                 .exceptionally(ex -> {
                     log.error("Error fetching all candle data");
@@ -116,6 +168,143 @@ public class CandleController {
                 });
     }
 
+    @GetMapping("/snapshot/{horizon}")
+    @Operation(
+            summary = "기간별 캔들 스냅샷 조회",
+            description = "매일 캔들 동기화 후 미리 만들어 둔 기간별 캔들 배열을 그대로 내려줍니다. " +
+                    "응답의 ETag 를 If-None-Match 로 보내면 데이터가 바뀌지 않은 경우 304 를 반환합니다. " +
+                    "Accept-Encoding 에 gzip 이 있으면 압축된 상태로 전송합니다.",
+            tags = {"데이터 조회"}
+    )
+    @Parameter(
+            name = "horizon",
+            description = "조회 기간 (7d, 30d, 3m, 1y, 5y)",
+            required = true,
+            example = "7d",
+            schema = @Schema(type = "string", allowableValues = {"7d", "30d", "3m", "1y", "5y"})
+    )
+    @Parameter(
+            name = "is_krw_market",
+            description = "KRW 마켓 조회 여부. true: KRW 마켓만 조회, false: KRW 외 마켓(BTC, USDT)만 조회. quote 가 있으면 무시",
+            example = "true",
+            schema = @Schema(type = "boolean")
+    )
+    @Parameter(
+            name = "quote",
+            description = "호가 화폐. 지정하면 해당 호가 화폐 마켓만 조회 (is_krw_market 과 둘 중 하나는 필수)",
+            example = "KRW",
+            schema = @Schema(type = "string", allowableValues = {"KRW", "BTC", "USDT"})
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "스냅샷 조회 성공",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "If-None-Match 의 ETag 와 현재 스냅샷이 같음",
+                    content = @Content(schema = @Schema(implementation = Void.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "잘못된 기간 또는 호가 화폐",
+                    content = @Content(schema = @Schema(implementation = Void.class))
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "스냅샷이 아직 만들어지지 않음",
+                    content = @Content(schema = @Schema(implementation = Void.class))
+            )
+    })
+    public ResponseEntity<Resource> getCandleSnapshot(
+            @PathVariable String horizon,
+            @RequestParam(required = false) Boolean is_krw_market,
+            @RequestParam(required = false) String quote,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        CandleHorizon candleHorizon;
+        MarketScope scope;
+        try {
+            candleHorizon = CandleHorizon.fromKey(horizon);
+            scope = MarketScope.of(is_krw_market, quote);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+
+        CandleSnapshotCache.Snapshot snapshot = candleSnapshotCache.get(scope, candleHorizon);
+        if (snapshot == null) {
+            candleSnapshotCache.recordRequest("miss");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(null);
+        }
+        return snapshotResponse(snapshot, ifNoneMatch, acceptEncoding);
+    }
+
+    // ETag 가 같으면 304, gzip 을 받을 수 있으면 압축된 바이트 그대로, 아니면 풀어서 전송
+    private ResponseEntity<Resource> snapshotResponse(CandleSnapshotCache.Snapshot snapshot,
+                                                     String ifNoneMatch, String acceptEncoding) {
+        if (snapshot.matches(ifNoneMatch)) {
+            candleSnapshotCache.recordRequest("not_modified");
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+
+        candleSnapshotCache.recordRequest("hit");
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+
+        if (acceptsGzip(acceptEncoding)) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .contentLength(snapshot.gzip().length)
+                    .body(new ByteArrayResource(snapshot.gzip()));
+        }
+        try {
+            InputStream in = new GZIPInputStream(new ByteArrayInputStream(snapshot.gzip()));
+            return builder.contentLength(snapshot.size()).body(new InputStreamResource(in));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // quote 또는 is_krw_market 으로 조회 대상 마켓 범위 결정 (둘 다 없거나 잘못된 값이면 null)
+    private static MarketScope scopeOf(Boolean isKrwMarket, String quote) {
+        try {
+            return MarketScope.of(isKrwMarket, quote);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip") && !parts[0].trim().equals("*")) {
+                continue;
+            }
+            // gzip;q=0 은 거부 의미
+            boolean rejected = false;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.equals("q=0") || param.startsWith("q=0.") && param.substring(4).chars().allMatch(c -> c == '0')) {
+                    rejected = true;
+                }
+            }
+            if (!rejected) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @GetMapping("/since")
     @Operation(
             summary = "특정 시점 이후 캔들 데이터 조회 (비동기)",
@@ -131,11 +320,16 @@ public class CandleController {
     )
     @Parameter(
             name = "is_krw_market",
-            description = "KRW 마켓 조회 여부. true: KRW-로 시작하는 마켓만 조회, false: KRW-로 시작하지 않는 마켓만 조회",
-            required = true,
+            description = "KRW 마켓 조회 여부. true: KRW 마켓만 조회, false: KRW 외 마켓(BTC, USDT)만 조회. quote 가 있으면 무시",
             example = "true",
             schema = @Schema(type = "boolean")
     )
+    @Parameter(
+            name = "quote",
+            description = "호가 화폐. 지정하면 해당 호가 화폐 마켓만 조회 (is_krw_market 과 둘 중 하나는 필수)",
+            example = "KRW",
+            schema = @Schema(type = "string", allowableValues = {"KRW", "BTC", "USDT"})
+    )
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
@@ -193,7 +387,7 @@ public class CandleController {
             ),
             @ApiResponse(
                     responseCode = "400",
-                    description = "잘못된 날짜 형식",
+                    description = "잘못된 날짜 형식 또는 호가 화폐",
                     content = @Content(schema = @Schema(implementation = Void.class))
             ),
             @ApiResponse(
@@ -202,8 +396,17 @@ public class CandleController {
                     content = @Content(schema = @Schema(implementation = Void.class))
             )
     })
-    public CompletableFuture<ResponseEntity<Map<String, Object>>> getAllCandleDataSince(@RequestParam String period, @RequestParam boolean is_krw_market) {
-        return candleService.getAllCandleDataSinceAsync(period, is_krw_market)
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> getAllCandleDataSince(
+            @RequestParam String period,
+            @RequestParam(required = false) Boolean is_krw_market,
+            @RequestParam(required = false) String quote
+    ) {
+        MarketScope scope = scopeOf(is_krw_market, quote);
+        if (scope == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null));
+        }
+
+        return candleService.getAllCandleDataSinceAsync(period, scope)
                 .thenApply(data -> ResponseEntity.status(HttpStatus.OK).body(data))
                 .exceptionally(ex -> {
                     log.error("Error fetching candle data since {}", period);
@@ -211,6 +414,252 @@ public class CandleController {
                 });
     }
 
+    @GetMapping(value = "/all", produces = {CandleColumnarEncoder.COLUMNAR_JSON, CandleColumnarEncoder.COLUMNAR_BINARY})
+    @Operation(
+            summary = "전체 캔들 데이터 조회 (컬럼 형식)",
+            description = "Accept 헤더가 " + CandleColumnarEncoder.COLUMNAR_JSON + " 또는 " + CandleColumnarEncoder.COLUMNAR_BINARY +
+                    " 이면 /candle/all 데이터를 마켓/기간별 병렬 배열로 내려줍니다. " +
+                    "시간은 base(UTC epoch 초)와 이전 캔들과의 차이(초), 가격은 10^scale 을 곱한 정수입니다.",
+            tags = {"데이터 조회"}
+    )
+    @Parameter(
+            name = "is_krw_market",
+            description = "KRW 마켓 조회 여부. true: KRW 마켓만 조회, false: KRW 외 마켓(BTC, USDT)만 조회. quote 가 있으면 무시",
+            example = "true",
+            schema = @Schema(type = "boolean")
+    )
+    @Parameter(
+            name = "quote",
+            description = "호가 화폐. 지정하면 해당 호가 화폐 마켓만 조회 (is_krw_market 과 둘 중 하나는 필수)",
+            example = "KRW",
+            schema = @Schema(type = "string", allowableValues = {"KRW", "BTC", "USDT"})
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "전체 캔들 데이터 조회 성공",
+                    content = {
+                            @Content(
+                                    mediaType = CandleColumnarEncoder.COLUMNAR_JSON,
+                                    examples = @ExampleObject(
+                                            name = "컬럼 형식 JSON 응답 예시",
+                                            value = """
+                        {
+                          "upbit_candle_7d": [
+                            {
+                              "market": "KRW-BTC",
+                              "base": 1756425600,
+                              "scale": 0,
+                              "t": [0, 3600, 3600],
+                              "o": [85000000, 86000000, 86100000],
+                              "h": [87000000, 86500000, 86300000],
+                              "l": [84000000, 85800000, 85900000],
+                              "c": [86000000, 86100000, 86200000],
+                              "v": [14.35, 12.1, 9.8],
+                              "p": [1234567890.0, 1041000000.0, 844000000.0]
+                            }
+                          ],
+                          "upbit_candle_30d": [...]
+                        }
+                        """
+                                    )
+                            ),
+                            @Content(mediaType = CandleColumnarEncoder.COLUMNAR_BINARY)
+                    }
+            )
+    })
+    public ResponseEntity<StreamingResponseBody> getAllCandleDataColumnar(
+            @RequestParam(required = false) Boolean is_krw_market,
+            @RequestParam(required = false) String quote,
+            @RequestHeader(HttpHeaders.ACCEPT) String accept
+    ) {
+        MarketScope scope = scopeOf(is_krw_market, quote);
+        if (scope == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+        return columnar(accept, null, scope);
+    }
+
+    @GetMapping(value = "/since", produces = {CandleColumnarEncoder.COLUMNAR_JSON, CandleColumnarEncoder.COLUMNAR_BINARY})
+    @Operation(
+            summary = "특정 시점 이후 캔들 데이터 조회 (컬럼 형식)",
+            description = "Accept 헤더로 컬럼 형식을 요청하면 /candle/since 데이터를 /candle/all 컬럼 형식과 같은 구조로 내려줍니다.",
+            tags = {"데이터 조회"}
+    )
+    @Parameter(
+            name = "period",
+            description = "조회 시작 날짜 (ISO 날짜 형식: YYYY-MM-DD)",
+            required = true,
+            example = "2025-08-26",
+            schema = @Schema(type = "string", format = "date")
+    )
+    @Parameter(
+            name = "is_krw_market",
+            description = "KRW 마켓 조회 여부. true: KRW 마켓만 조회, false: KRW 외 마켓(BTC, USDT)만 조회. quote 가 있으면 무시",
+            example = "true",
+            schema = @Schema(type = "boolean")
+    )
+    @Parameter(
+            name = "quote",
+            description = "호가 화폐. 지정하면 해당 호가 화폐 마켓만 조회 (is_krw_market 과 둘 중 하나는 필수)",
+            example = "KRW",
+            schema = @Schema(type = "string", allowableValues = {"KRW", "BTC", "USDT"})
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "특정 시점 이후 캔들 데이터 조회 성공",
+                    content = {
+                            @Content(mediaType = CandleColumnarEncoder.COLUMNAR_JSON),
+                            @Content(mediaType = CandleColumnarEncoder.COLUMNAR_BINARY)
+                    }
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "잘못된 날짜 형식 또는 호가 화폐",
+                    content = @Content(schema = @Schema(implementation = Void.class))
+            )
+    })
+    public ResponseEntity<StreamingResponseBody> getAllCandleDataSinceColumnar(
+            @RequestParam String period,
+            @RequestParam(required = false) Boolean is_krw_market,
+            @RequestParam(required = false) String quote,
+            @RequestHeader(HttpHeaders.ACCEPT) String accept
+    ) {
+        LocalDateTime fromDateTime;
+        try {
+            fromDateTime = LocalDate.parse(period).atStartOfDay();
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+        MarketScope scope = scopeOf(is_krw_market, quote);
+        if (scope == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+        return columnar(accept, fromDateTime, scope);
+    }
+
+    // Accept 헤더에서 먼저 나온 컬럼 형식(JSON/바이너리)으로 응답
+    private ResponseEntity<StreamingResponseBody> columnar(String accept, LocalDateTime since, MarketScope scope) {
+        boolean binary = MediaType.parseMediaTypes(accept).stream()
+                .filter(type -> type.equalsTypeAndSubtype(COLUMNAR_JSON) || type.equalsTypeAndSubtype(COLUMNAR_BINARY))
+                .findFirst()
+                .map(type -> type.equalsTypeAndSubtype(COLUMNAR_BINARY))
+                .orElse(false);
+
+        if (binary) {
+            StreamingResponseBody body = out -> candleColumnarEncoder.writeBinary(scope, since, out);
+            return ResponseEntity.ok().contentType(COLUMNAR_BINARY).body(body);
+        }
+        StreamingResponseBody body = out -> candleColumnarEncoder.writeJson(scope, since, out);
+        return ResponseEntity.ok().contentType(COLUMNAR_JSON).body(body);
+    }
+
+    @GetMapping(value = "/all/stream", produces = NDJSON)
+    @Operation(
+            summary = "전체 캔들 데이터 스트리밍 조회 (NDJSON)",
+            description = "/candle/all 과 같은 데이터를 한 줄에 캔들 하나씩 NDJSON 으로 내려줍니다. " +
+                    "DB에서 읽는 즉시 전송하므로 서버 메모리 사용량이 마켓 수와 관계없이 일정하고 첫 응답이 바로 도착합니다.",
+            tags = {"데이터 조회"}
+    )
+    @Parameter(
+            name = "is_krw_market",
+            description = "KRW 마켓 조회 여부. true: KRW 마켓만 조회, false: KRW 외 마켓(BTC, USDT)만 조회. quote 가 있으면 무시",
+            example = "true",
+            schema = @Schema(type = "boolean")
+    )
+    @Parameter(
+            name = "quote",
+            description = "호가 화폐. 지정하면 해당 호가 화폐 마켓만 조회 (is_krw_market 과 둘 중 하나는 필수)",
+            example = "KRW",
+            schema = @Schema(type = "string", allowableValues = {"KRW", "BTC", "USDT"})
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "전체 캔들 데이터 스트리밍 시작",
+                    content = @Content(
+                            mediaType = NDJSON,
+                            examples = @ExampleObject(
+                                    name = "성공 응답 예시",
+                                    value = """
+                        {"table":"upbit_candle_7d","candle":{"market":"KRW-BTC","candleDateTimeUtc":"2025-08-29T00:00:00","tradePrice":86000000.0}}
+                        {"table":"upbit_candle_7d","candle":{"market":"KRW-BTC","candleDateTimeUtc":"2025-08-29T01:00:00","tradePrice":86100000.0}}
+                        """
+                            )
+                    )
+            )
+    })
+    public ResponseEntity<StreamingResponseBody> streamAllCandleData(
+            @RequestParam(required = false) Boolean is_krw_market,
+            @RequestParam(required = false) String quote
+    ) {
+        MarketScope scope = scopeOf(is_krw_market, quote);
+        if (scope == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+
+        StreamingResponseBody body = out -> candleExportService.writeNdjson(scope, null, out);
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    @GetMapping(value = "/since/stream", produces = NDJSON)
+    @Operation(
+            summary = "특정 시점 이후 캔들 데이터 스트리밍 조회 (NDJSON)",
+            description = "/candle/since 와 같은 데이터를 한 줄에 캔들 하나씩 NDJSON 으로 내려줍니다.",
+            tags = {"데이터 조회"}
+    )
+    @Parameter(
+            name = "period",
+            description = "조회 시작 날짜 (ISO 날짜 형식: YYYY-MM-DD)",
+            required = true,
+            example = "2025-08-26",
+            schema = @Schema(type = "string", format = "date")
+    )
+    @Parameter(
+            name = "is_krw_market",
+            description = "KRW 마켓 조회 여부. true: KRW 마켓만 조회, false: KRW 외 마켓(BTC, USDT)만 조회. quote 가 있으면 무시",
+            example = "true",
+            schema = @Schema(type = "boolean")
+    )
+    @Parameter(
+            name = "quote",
+            description = "호가 화폐. 지정하면 해당 호가 화폐 마켓만 조회 (is_krw_market 과 둘 중 하나는 필수)",
+            example = "KRW",
+            schema = @Schema(type = "string", allowableValues = {"KRW", "BTC", "USDT"})
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "특정 시점 이후 캔들 데이터 스트리밍 시작",
+                    content = @Content(mediaType = NDJSON)
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "잘못된 날짜 형식 또는 호가 화폐",
+                    content = @Content(schema = @Schema(implementation = Void.class))
+            )
+    })
+    public ResponseEntity<StreamingResponseBody> streamAllCandleDataSince(
+            @RequestParam String period,
+            @RequestParam(required = false) Boolean is_krw_market,
+            @RequestParam(required = false) String quote
+    ) {
+        LocalDateTime fromDateTime;
+        try {
+            fromDateTime = LocalDate.parse(period).atStartOfDay();
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+        MarketScope scope = scopeOf(is_krw_market, quote);
+        if (scope == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+
+        StreamingResponseBody body = out -> candleExportService.writeNdjson(scope, fromDateTime, out);
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
     @PutMapping("/upsert/manual")
     @Operation(
             summary = "캔들 데이터 수동 업데이트",
@@ -258,6 +707,7 @@ public class CandleController {
     public ResponseEntity<Void> deleteOldCandleData() {
         try {
             candleService.removeOldCandles();
+            candleSnapshotCache.requestRebuild();
             return ResponseEntity.status(HttpStatus.OK).body(null);
         }  catch (Exception e) {
             log.error("Error manually deleting old candle data", e);
@@ -285,6 +735,7 @@ public class CandleController {
     public ResponseEntity<Void> deleteInvalidCoins() {
         try {
             candleService.deleteInvalidCandles();
+            candleSnapshotCache.requestRebuild();
             return ResponseEntity.status(HttpStatus.OK).body(null);
         } catch (Exception e) {
             log.error("Error deleting invalid candle data", e);
@@ -292,6 +743,95 @@ public class CandleController {
         }
     }
 
+    @GetMapping("/{horizon}/{market}")
+    @Operation(
+            summary = "특정 코인의 기간별 캔들 조회",
+            description = "한 마켓의 캔들을 시간순으로 limit 개씩 조회합니다. " +
+                    "응답의 nextCursor 를 cursor 로 넘기면 다음 페이지를 조회하고, 마지막 페이지면 nextCursor 는 null 입니다.",
+            tags = {"데이터 조회"}
+    )
+    @Parameter(
+            name = "horizon",
+            description = "조회 기간 (7d, 30d, 3m, 1y, 5y)",
+            required = true,
+            example = "7d",
+            schema = @Schema(type = "string", allowableValues = {"7d", "30d", "3m", "1y", "5y"})
+    )
+    @Parameter(
+            name = "market",
+            description = "조회할 마켓 코드 (예: KRW-BTC, KRW-ETH)",
+            required = true,
+            example = "KRW-BTC",
+            schema = @Schema(type = "string")
+    )
+    @Parameter(
+            name = "from",
+            description = "조회 시작 시각 (KST, 포함). 없으면 저장된 첫 캔들부터",
+            example = "2025-08-29T09:00:00",
+            schema = @Schema(type = "string", format = "date-time")
+    )
+    @Parameter(
+            name = "to",
+            description = "조회 종료 시각 (KST, 포함). 없으면 마지막 캔들까지",
+            example = "2025-08-30T09:00:00",
+            schema = @Schema(type = "string", format = "date-time")
+    )
+    @Parameter(
+            name = "cursor",
+            description = "이전 페이지 응답의 nextCursor (이 시각 이후 캔들부터 조회)",
+            schema = @Schema(type = "string", format = "date-time")
+    )
+    @Parameter(
+            name = "limit",
+            description = "한 번에 조회할 캔들 개수 (1~" + MAX_PAGE_LIMIT + ")",
+            example = "200",
+            schema = @Schema(type = "integer", defaultValue = "200")
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "캔들 조회 성공",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "잘못된 기간, 시각 형식 또는 개수",
+                    content = @Content(schema = @Schema(implementation = Void.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "서버 내부 오류",
+                    content = @Content(schema = @Schema(implementation = Void.class))
+            )
+    })
+    public ResponseEntity<CandleExportService.CandlePage> getMarketCandles(
+            @PathVariable String horizon,
+            @PathVariable String market,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "200") int limit
+    ) {
+        if (limit < 1 || limit > MAX_PAGE_LIMIT) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+        try {
+            CandleHorizon candleHorizon = CandleHorizon.fromKey(horizon);
+            LocalDateTime fromDateTime = from == null ? null : LocalDateTime.parse(from);
+            LocalDateTime toDateTime = to == null ? null : LocalDateTime.parse(to);
+            LocalDateTime cursorDateTime = cursor == null ? null : LocalDateTime.parse(cursor);
+
+            CandleExportService.CandlePage page = candleExportService.findPage(
+                    candleHorizon, market, fromDateTime, toDateTime, cursorDateTime, limit);
+            return ResponseEntity.status(HttpStatus.OK).body(page);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        } catch (Exception e) {
+            log.error("Error reading candle data: {} {}", horizon, market, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
     @GetMapping("/daily")
     @Operation(
             summary = "특정 코인의 일별 캔들 데이터 조회",
@@ -305,6 +845,18 @@ public class CandleController {
             example = "KRW-BTC",
             schema = @Schema(type = "string")
     )
+    @Parameter(
+            name = "from",
+            description = "조회 시작 시각 (KST, 포함). 없으면 오늘 첫 캔들부터",
+            example = "2025-08-29T09:00:00",
+            schema = @Schema(type = "string", format = "date-time")
+    )
+    @Parameter(
+            name = "to",
+            description = "조회 종료 시각 (KST, 포함). 없으면 마지막 캔들까지",
+            example = "2025-08-29T12:00:00",
+            schema = @Schema(type = "string", format = "date-time")
+    )
     @ApiResponses({
             @ApiResponse(
                     responseCode = "200",
@@ -337,7 +889,7 @@ public class CandleController {
             ),
             @ApiResponse(
                     responseCode = "400",
-                    description = "잘못된 마켓 코드",
+                    description = "잘못된 마켓 코드 또는 시각 형식",
                     content = @Content(schema = @Schema(implementation = Void.class))
             ),
             @ApiResponse(
@@ -346,10 +898,18 @@ public class CandleController {
                     content = @Content(schema = @Schema(implementation = Void.class))
             )
     })
-    public ResponseEntity<List<Map<String, Object>>> getDailyCandleData(@RequestParam String market) {
+    public ResponseEntity<DailyCandleSeries.Slice> getDailyCandleData(
+            @RequestParam String market,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to
+    ) {
         try {
-            List<Map<String, Object>> data = candleService.getDailyCandleData(market);
+            LocalDateTime fromDateTime = from == null ? null : LocalDateTime.parse(from);
+            LocalDateTime toDateTime = to == null ? null : LocalDateTime.parse(to);
+            DailyCandleSeries.Slice data = candleService.getDailyCandleData(market, fromDateTime, toDateTime);
             return ResponseEntity.status(HttpStatus.OK).body(data);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
         } catch (Exception e) {
             log.error("Error reading daily candle data", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
@@ -271,12 +271,12 @@ public class MarketController {
     @Operation(
             summary = "모든 마켓의 현재가 정보 조회",
             description = """
-                Redis에 캐시된 모든 마켓의 실시간 현재가 정보를 일괄 조회합니다.
+                서버 메모리에 유지되는 모든 마켓의 실시간 현재가 정보를 일괄 조회합니다.
                 업비트에서 거래되는 모든 암호화폐의 현재가를 한 번에 가져올 수 있습니다.
                 
                 **주의사항:**
                 - 데이터 크기가 클 수 있으므로 필요시에만 사용하세요
-                - Redis keys 패턴 검색을 사용하므로 성능에 주의하세요
+                - Kafka로 수신한 최신 시세를 메모리에서 바로 응답하므로 Redis 조회가 발생하지 않습니다
                 """,
             responses = {
                     @ApiResponse(
@@ -329,7 +329,7 @@ public class MarketController {
                                     examples = @ExampleObject(
                                             name = "서버 오류",
                                             summary = "예상치 못한 서버 오류",
-                                            description = "Redis 키 조회 또는 JSON 파싱 중 오류가 발생한 경우"
+                                            description = "시세 스냅샷 조회 중 오류가 발생한 경우"
                                     )
                             )
                     )
@@ -55,7 +55,7 @@ public class OrderbookController {
             - 주문 상태는 WAITING으로 설정
             
             **자동 체결 시스템:**
-            - 5초마다 대기 중인 주문의 체결 조건을 자동 확인
+            - 새 호가가 수신될 때마다 해당 마켓의 대기 주문 체결 조건을 즉시 확인
             - BUY 주문: 매도 호가 ≤ 주문가격일 때 체결
             - SELL 주문: 매수 호가 ≥ 주문가격일 때 체결
             - 체결 시 WebSocket `/topic/orders/{memberId}`로 실시간 알림 전송
@@ -63,7 +63,7 @@ public class OrderbookController {
             **주의사항:**
             - 매수 시 충분한 잔액 필요
             - 매도 시 충분한 보유량 필요
-            - 체결까지 최대 5초의 지연 시간 발생 가능
+            - 체결 시점은 호가 수신 주기(약 10초)에 따라 달라질 수 있음
             """,
             security = @SecurityRequirement(name = "JWT")
     )
@@ -32,8 +32,9 @@ public class WebSocketController {
             **데이터 업데이트 주기**
             - Ticker 데이터: 10초마다 브로드캐스팅 (서버 시작 후 130초 후 첫 전송)
             - Orderbook 데이터: 10초마다 브로드캐스팅 (서버 시작 후 140초 후 첫 전송)
+            - 개별 마켓 채널은 지난 전송 이후 바뀐 마켓만 전송되며, 약 1분마다 바뀌지 않은 마켓도 다시 전송됩니다
             - 주문 체결 알림: 실시간 (주문이 체결되는 즉시 전송)
-            - 주문 체결 확인: 5초마다 대기 중인 주문 체결 여부 확인
+            - 주문 체결 확인: 호가 수신 즉시 해당 마켓의 대기 주문 체결 여부 확인
             - Redis 캐시 TTL: 3분 (데이터 유효성 보장)
 
             **연결 유지**
@@ -68,9 +69,9 @@ public class WebSocketController {
 
             **데이터 처리 흐름**
             1. Kafka Consumer가 Upbit API로부터 데이터 수신
-            2. Redis에 최신 데이터 저장 (TTL: 3분)
-            3. 스케줄러가 Redis에서 최신 데이터를 조회하여 WebSocket으로 브로드캐스팅
-            4. 주문 체결 시스템이 5초마다 대기 중인 주문의 체결 조건을 확인
+            2. 서버 메모리 시세 스냅샷 갱신 + Redis에 최신 데이터 저장 (TTL: 3분)
+            3. 스케줄러가 최신 데이터(시세는 메모리 스냅샷, 호가는 Redis)를 WebSocket으로 브로드캐스팅
+            4. 주문 체결 시스템이 호가를 수신할 때마다 해당 마켓의 대기 주문 체결 조건을 확인
             5. 체결 조건이 맞으면 개인별 채널로 체결 알림 전송
 
             **주문 체결 조건**
@@ -171,7 +172,7 @@ public class WebSocketController {
             - 주문 체결 알림을 통해 실시간으로 포트폴리오와 지갑 상태를 업데이트하세요
 
             **주의사항**
-            - 주문 체결 시스템은 5초마다 체결 조건을 확인하므로 최대 5초의 지연이 발생할 수 있습니다
+            - 주문 체결 시스템은 호가 수신 시점에 체결 조건을 확인하므로 호가 수신 주기만큼의 지연이 발생할 수 있습니다
             - 체결가는 주문가격과 다를 수 있습니다 (시장가 기준으로 체결됨)
             - 네트워크 지연 등으로 인해 실제 거래소와 체결 시점에 차이가 있을 수 있습니다
             - Redis 캐시 TTL(3분) 내에서만 데이터가 유효합니다
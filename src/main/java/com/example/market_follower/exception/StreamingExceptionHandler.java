@@ -0,0 +1,24 @@
+package com.example.market_follower.exception;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+// 스트리밍/비동기 응답 스레드 풀이 가득 차서 작업이 거절되면 500 대신 503 + Retry-After 로 응답
+@Slf4j
+@RestControllerAdvice
+public class StreamingExceptionHandler {
+    private static final String RETRY_AFTER_SECONDS = "5";
+
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<Void> handleTaskRejected(TaskRejectedException e) {
+        log.warn("비동기 응답 작업 거절 - {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .build();
+    }
+}
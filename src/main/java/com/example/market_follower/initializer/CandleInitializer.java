@@ -1,36 +1,103 @@
 package com.example.market_follower.initializer;
 
+import com.example.market_follower.dto.upbit.UpbitTickerDto;
+import com.example.market_follower.initializer.WarmupHealthIndicator.Phase;
+import com.example.market_follower.repository.TradableCoinRepository;
 import com.example.market_follower.service.CandleService;
+import com.example.market_follower.service.CandleSnapshotCache;
 import com.example.market_follower.service.MarketService;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executor;
 
+// 기동을 막지 않고 백그라운드에서 워밍업 실행
+// 1. 거래 가능 코인 갱신  2. 오늘의 1Day(5분) 캔들 채우기  3. (새벽이면) 전체 캔들 동기화
+// 1Day 캔들은 거래 대금이 큰 KRW 마켓부터 채우고, Redis 에 이미 있는 마지막 캔들 이후만 받으므로
+// 도중에 재시작해도 처음부터 다시 받지 않음 (캔들 동기화도 DB 에 저장된 범위 이후만 받음)
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class CandleInitializer implements ApplicationRunner {
+    private static final String KRW_PREFIX = "KRW-";
 
     private final CandleService candleService;
+    private final CandleSnapshotCache candleSnapshotCache;
     private final MarketService marketService;
+    private final TradableCoinRepository tradableCoinRepository;
+    private final WarmupHealthIndicator warmupHealthIndicator;
+    private final Executor warmupExecutor;
+
+    public CandleInitializer(
+            CandleService candleService,
+            CandleSnapshotCache candleSnapshotCache,
+            MarketService marketService,
+            TradableCoinRepository tradableCoinRepository,
+            WarmupHealthIndicator warmupHealthIndicator,
+            @Qualifier("warmupExecutor") Executor warmupExecutor
+    ) {
+        this.candleService = candleService;
+        this.candleSnapshotCache = candleSnapshotCache;
+        this.marketService = marketService;
+        this.tradableCoinRepository = tradableCoinRepository;
+        this.warmupHealthIndicator = warmupHealthIndicator;
+        this.warmupExecutor = warmupExecutor;
+    }
 
     @Override
-    public void run(ApplicationArguments args) throws Exception {
-        marketService.updateTradableCoinsInDb();
-        Thread.sleep(5000);
-
-        candleService.initializeAllDailyCandleData();
-        Thread.sleep(5000);
-
-        int currentHour = LocalDateTime.now().getHour();
-        if (currentHour <= 7) {
-            candleService.updateAllCandleData();
-        } else {
-            log.info(currentHour + "시는 실행 범위(9~16시)가 아니므로 updateAllCandleData 생략");
+    public void run(ApplicationArguments args) {
+        warmupExecutor.execute(this::warmUp);
+    }
+
+    private void warmUp() {
+        long startedAt = System.currentTimeMillis();
+        try {
+            warmupHealthIndicator.begin(Phase.TRADABLE_COINS, 0);
+            marketService.updateTradableCoinsInDb();
+            // 기동 시 만든 스냅샷은 호가 화폐가 채워지기 전일 수 있으므로 다시 만듦
+            candleSnapshotCache.requestRebuild();
+
+            List<String> markets = prioritize(tradableCoinRepository.findAllMarkets());
+            warmupHealthIndicator.begin(Phase.DAILY_CANDLES, markets.size());
+            candleService.initializeDailyCandleData(markets, market -> warmupHealthIndicator.advance());
+
+            int currentHour = LocalDateTime.now().getHour();
+            if (currentHour <= 7) {
+                warmupHealthIndicator.begin(Phase.CANDLE_SYNC, 0);
+                candleService.updateAllCandleData();
+            } else {
+                log.info(currentHour + "시는 실행 범위(9~16시)가 아니므로 updateAllCandleData 생략");
+            }
+
+            warmupHealthIndicator.complete();
+            log.info("워밍업 완료 ({}ms)", System.currentTimeMillis() - startedAt);
+        } catch (Exception e) {
+            warmupHealthIndicator.fail(e);
+            log.error("워밍업 실패", e);
         }
     }
+
+    // KRW 마켓 먼저, 같은 그룹 안에서는 최근 24시간 거래 대금이 큰 순서
+    // (Redis 에 남아 있는 티커 기준, 티커가 없는 마켓은 뒤로)
+    private List<String> prioritize(List<String> markets) {
+        Map<String, Double> tradedValue = new HashMap<>();
+        try {
+            for (UpbitTickerDto ticker : marketService.getAllTickers()) {
+                tradedValue.put(ticker.getMarket(), ticker.getAccTradePrice24h());
+            }
+        } catch (RuntimeException e) {
+            log.warn("티커 조회 실패 - 마켓 이름순으로 워밍업", e);
+        }
+
+        List<String> ordered = new ArrayList<>(markets);
+        ordered.sort(Comparator
+                .comparing((String market) -> !market.startsWith(KRW_PREFIX))
+                .thenComparing(market -> tradedValue.getOrDefault(market, 0.0), Comparator.reverseOrder())
+                .thenComparing(Comparator.naturalOrder()));
+        return ordered;
+    }
 }
@@ -0,0 +1,58 @@
+package com.example.market_follower.initializer;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 기동 후 워밍업 진행 상황 (/actuator/health/readiness 의 warmup)
+// 거래 가능 코인 목록을 갱신하기 전까지만 OUT_OF_SERVICE, 이후 단계는 진행률만 보여주고 트래픽은 받음
+@Component("warmup")
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    public enum Phase {
+        STARTING, TRADABLE_COINS, DAILY_CANDLES, CANDLE_SYNC, COMPLETED, FAILED
+    }
+
+    private volatile Phase phase = Phase.STARTING;
+    private volatile String error;
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger total = new AtomicInteger();
+
+    public void begin(Phase phase, int total) {
+        this.completed.set(0);
+        this.total.set(total);
+        this.phase = phase;
+    }
+
+    public void advance() {
+        completed.incrementAndGet();
+    }
+
+    public void complete() {
+        this.phase = Phase.COMPLETED;
+    }
+
+    public void fail(Exception e) {
+        this.error = e.getMessage();
+        this.phase = Phase.FAILED;
+    }
+
+    @Override
+    public Health health() {
+        Phase current = phase;
+        Health.Builder builder = current == Phase.STARTING || current == Phase.TRADABLE_COINS
+                ? Health.outOfService()
+                : Health.up();
+
+        builder.withDetail("phase", current);
+        if (current == Phase.DAILY_CANDLES) {
+            builder.withDetail("progress", completed.get() + "/" + total.get());
+        }
+        if (error != null) {
+            builder.withDetail("error", error);
+        }
+        return builder.build();
+    }
+}
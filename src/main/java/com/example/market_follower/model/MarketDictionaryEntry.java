@@ -0,0 +1,31 @@
+package com.example.market_follower.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// 마켓 코드 -> 정수 ID 사전 항목 (한 번 받은 ID 는 상장폐지 후에도 다른 마켓에 재사용하지 않음)
+@Entity
+@Table(name = "market_dictionary")
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MarketDictionaryEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Integer id;
+
+    @Column(name = "market", nullable = false, length = 20, unique = true)
+    private String market;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.market_follower.model;
+
+import java.util.List;
+import java.util.Locale;
+
+// 캔들 일괄 조회 대상 마켓 범위 (호가 화폐 기준)
+// 기존 is_krw_market=true/false 는 KRW / KRW 외 전체, quote 파라미터는 해당 호가 화폐 마켓만
+public record MarketScope(String key, List<String> quoteCurrencies) {
+    public static final MarketScope KRW = new MarketScope("krw", List.of("KRW"));
+    public static final MarketScope NON_KRW = new MarketScope("etc", List.of("BTC", "USDT"));
+    public static final MarketScope BTC = new MarketScope("btc", List.of("BTC"));
+    public static final MarketScope USDT = new MarketScope("usdt", List.of("USDT"));
+    public static final List<MarketScope> ALL = List.of(KRW, NON_KRW, BTC, USDT);
+
+    // quote 가 있으면 quote 우선, 없으면 is_krw_market 기준 (둘 다 없거나 지원하지 않는 quote 면 IllegalArgumentException)
+    public static MarketScope of(Boolean isKrwMarket, String quote) {
+        if (quote != null) {
+            return switch (quote.toUpperCase(Locale.ROOT)) {
+                case "KRW" -> KRW;
+                case "BTC" -> BTC;
+                case "USDT" -> USDT;
+                default -> throw new IllegalArgumentException("Unknown quote currency: " + quote);
+            };
+        }
+        if (isKrwMarket == null) {
+            throw new IllegalArgumentException("quote or is_krw_market is required");
+        }
+        return isKrwMarket ? KRW : NON_KRW;
+    }
+
+    // 로그용
+    public String label() {
+        return String.join("/", quoteCurrencies);
+    }
+}
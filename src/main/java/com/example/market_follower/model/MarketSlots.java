@@ -0,0 +1,102 @@
+package com.example.market_follower.model;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+// 마켓 ID 를 인덱스로 바로 접근하는 마켓별 값 배열
+// MarketDictionary 의 ID 는 1부터 촘촘하게 늘어나므로 문자열 해시 대신 배열 위치로 찾음
+// - 읽기는 잠금 없이 현재 배열에서 바로 읽음
+// - 새 마켓으로 배열이 모자라면 잠금 안에서 늘린 배열로 교체하고,
+//   교체 중에 이전 배열에 쓴 값은 새 배열에 다시 씀
+public final class MarketSlots<T> {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private volatile AtomicReferenceArray<T> slots = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+
+    public T get(int id) {
+        AtomicReferenceArray<T> current = slots;
+        return id < current.length() ? current.get(id) : null;
+    }
+
+    public T computeIfAbsent(int id, IntFunction<T> factory) {
+        T value = get(id);
+        if (value != null) {
+            return value;
+        }
+        synchronized (this) {
+            ensureCapacity(id + 1);
+            value = slots.get(id);
+            if (value == null) {
+                value = factory.apply(id);
+                slots.set(id, value);
+            }
+            return value;
+        }
+    }
+
+    public void set(int id, T value) {
+        while (true) {
+            AtomicReferenceArray<T> current = arrayFor(id);
+            current.set(id, value);
+            if (slots == current) {
+                return;
+            }
+        }
+    }
+
+    // 현재 값이 expected 일 때만 value 로 교체
+    public boolean compareAndSet(int id, T expected, T value) {
+        while (true) {
+            AtomicReferenceArray<T> current = arrayFor(id);
+            if (!current.compareAndSet(id, expected, value)) {
+                return false;
+            }
+            if (slots == current) {
+                return true;
+            }
+            // 배열이 교체되는 중이었으면 새 배열에도 반영 (이미 복사되어 value 가 들어 있으면 그대로 성공)
+            if (slots.get(id) == value) {
+                return true;
+            }
+        }
+    }
+
+    // 값이 있는 슬롯 순회 (ID 순)
+    public void forEach(SlotConsumer<T> consumer) {
+        AtomicReferenceArray<T> current = slots;
+        for (int id = 0; id < current.length(); id++) {
+            T value = current.get(id);
+            if (value != null) {
+                consumer.accept(id, value);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface SlotConsumer<T> {
+        void accept(int id, T value);
+    }
+
+    private AtomicReferenceArray<T> arrayFor(int id) {
+        AtomicReferenceArray<T> current = slots;
+        if (id < current.length()) {
+            return current;
+        }
+        synchronized (this) {
+            ensureCapacity(id + 1);
+            return slots;
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        AtomicReferenceArray<T> current = slots;
+        if (capacity <= current.length()) {
+            return;
+        }
+        AtomicReferenceArray<T> grown = new AtomicReferenceArray<>(Math.max(capacity, current.length() * 2));
+        for (int i = 0; i < current.length(); i++) {
+            grown.set(i, current.get(i));
+        }
+        slots = grown;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.market_follower.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// 마켓별로 지금까지 받은 가장 최근 Upbit 타임스탬프
+// 여러 컨슈머 스레드가 같은 마켓 데이터를 순서 없이 받아도 더 오래된 데이터를 걸러낼 수 있도록 CAS 로 갱신
+public final class MarketTimestamps {
+    private final MarketSlots<AtomicLong> latest = new MarketSlots<>();
+
+    // timestamp 가 지금까지 받은 값보다 오래됐으면 false (같은 값은 중복 수신으로 보고 true)
+    public boolean advance(int id, long timestamp) {
+        AtomicLong current = latest.computeIfAbsent(id, slot -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long seen = current.get();
+            if (timestamp < seen) {
+                return false;
+            }
+            if (timestamp == seen || current.compareAndSet(seen, timestamp)) {
+                return true;
+            }
+        }
+    }
+}
@@ -22,6 +22,14 @@ public class TradableCoin {
     @Column(name = "english_name", length = 50)
     private String englishName;
 
+    // 호가 화폐 (KRW-BTC 의 KRW)
+    @Column(name = "quote_currency", length = 10)
+    private String quoteCurrency;
+
+    // 거래 대상 자산 (KRW-BTC 의 BTC)
+    @Column(name = "base_asset", length = 20)
+    private String baseAsset;
+
     @Column(name = "is_warning")
     private Boolean isWarning;
 
@@ -52,4 +60,14 @@ public class TradableCoin {
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
     }
+
+    public static String quoteCurrencyOf(String market) {
+        int separator = market.indexOf('-');
+        return separator < 0 ? null : market.substring(0, separator);
+    }
+
+    public static String baseAssetOf(String market) {
+        int separator = market.indexOf('-');
+        return separator < 0 ? market : market.substring(separator + 1);
+    }
 }
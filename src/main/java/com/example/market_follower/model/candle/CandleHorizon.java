@@ -0,0 +1,45 @@
+package com.example.market_follower.model.candle;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// 캔들 테이블(기간)별 메타데이터
+@Getter
+@RequiredArgsConstructor
+public enum CandleHorizon {
+    SEVEN_DAYS("7d", "7일", "upbit_candle_7d", "/v1/candles/minutes/60", Duration.ofHours(1), 178),
+    THIRTY_DAYS("30d", "30일", "upbit_candle_30d", "/v1/candles/minutes/240", Duration.ofHours(4), 190),
+    THREE_MONTHS("3m", "3달", "upbit_candle_3m", "/v1/candles/days", Duration.ofDays(1), 100),
+    ONE_YEAR("1y", "1년", "upbit_candle_1y", "/v1/candles/days", Duration.ofDays(1), 375),
+    FIVE_YEARS("5y", "5년", "upbit_candle_5y", "/v1/candles/weeks", Duration.ofDays(7), 270);
+
+    private final String key;           // 7d, 30d, 3m, 1y, 5y
+    private final String label;         // 로그용
+    private final String tableName;     // 테이블명 (응답 JSON 키로도 사용)
+    private final String endpoint;      // Upbit 캔들 API 경로
+    private final Duration interval;    // 캔들 하나의 길이
+    private final int fullCount;        // 전체 기간을 채우는 데 필요한 캔들 개수
+
+    // 오늘 00시 기준 보관 시작 시각
+    public LocalDateTime windowStart(LocalDateTime todayStart) {
+        return switch (this) {
+            case SEVEN_DAYS -> todayStart.minusDays(7);
+            case THIRTY_DAYS -> todayStart.minusDays(30);
+            case THREE_MONTHS -> todayStart.minusDays(90);
+            case ONE_YEAR -> todayStart.minusDays(365);
+            case FIVE_YEARS -> todayStart.minusYears(5);
+        };
+    }
+
+    public static CandleHorizon fromKey(String key) {
+        for (CandleHorizon horizon : values()) {
+            if (horizon.key.equals(key)) {
+                return horizon;
+            }
+        }
+        throw new IllegalArgumentException("Unknown candle horizon: " + key);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.market_follower.model.candle;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// 매일 캔들 동기화 작업의 마켓별 진행 상황
+// 마켓 하나의 캔들 저장과 같은 트랜잭션에서 기록되므로, 행이 있으면 해당 날짜/기간의 그 마켓은 저장이 끝난 것
+@Entity
+@Table(name = "candle_sync_progress")
+@IdClass(CandleSyncProgress.Key.class)
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CandleSyncProgress {
+    @Id
+    @Column(name = "job_date")
+    private LocalDate jobDate;
+
+    @Id
+    @Column(name = "horizon", length = 10)
+    private String horizon;
+
+    @Id
+    @Column(name = "market", length = 20)
+    private String market;
+
+    @Column(name = "rows_saved")
+    private Integer rowsSaved;
+
+    @Column(name = "synced_until")
+    private LocalDateTime syncedUntil;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @PrePersist
+    public void prePersist() {
+        this.completedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        this.completedAt = LocalDateTime.now();
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate jobDate;
+        private String horizon;
+        private String market;
+    }
+}
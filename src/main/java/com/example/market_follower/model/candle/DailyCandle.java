@@ -0,0 +1,37 @@
+package com.example.market_follower.model.candle;
+
+import com.example.market_follower.dto.upbit.candle.UpbitCandle1dDto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+// 오늘의 5분 캔들 하나 (캔들 시작 시각은 UTC epoch 분)
+public record DailyCandle(
+        String market,
+        int epochMinute,
+        double openingPrice,
+        double highPrice,
+        double lowPrice,
+        double tradePrice,
+        long timestamp,
+        double candleAccTradePrice,
+        double candleAccTradeVolume
+) {
+    public static DailyCandle from(UpbitCandle1dDto dto) {
+        long epochSecond = LocalDateTime.parse(dto.getCandleDateTimeUtc()).toEpochSecond(ZoneOffset.UTC);
+        return new DailyCandle(
+                dto.getMarket(),
+                (int) (epochSecond / 60),
+                dto.getOpeningPrice(),
+                dto.getHighPrice(),
+                dto.getLowPrice(),
+                dto.getTradePrice(),
+                dto.getTimestamp(),
+                dto.getCandleAccTradePrice(),
+                dto.getCandleAccTradeVolume());
+    }
+
+    public long epochSecond() {
+        return epochMinute * 60L;
+    }
+}
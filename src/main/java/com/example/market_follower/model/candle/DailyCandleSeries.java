@@ -0,0 +1,205 @@
+package com.example.market_follower.model.candle;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+// 한 마켓의 오늘 5분 캔들 목록
+// 캔들마다 객체/Map 을 만들지 않고 필드별 primitive 배열에 시간순으로 저장
+// - 시각: UTC epoch 분(int), 가격: 10^8 을 곱한 정수(long)
+// - 읽을 때는 필요한 구간만 복사한 Slice 를 만들어 바로 JSON 으로 씀
+public class DailyCandleSeries {
+    private static final int INITIAL_CAPACITY = 288;        // 하루 5분 캔들 개수
+    private static final double PRICE_SCALE = 1e8;
+    // 캔들 하나당 배열 크기 (int 1개, long 5개, double 2개)
+    private static final int BYTES_PER_CANDLE = Integer.BYTES + Long.BYTES * 5 + Double.BYTES * 2;
+
+    private final String market;
+    private int size;
+    private int[] epochMinutes = new int[INITIAL_CAPACITY];
+    private long[] openingPrices = new long[INITIAL_CAPACITY];
+    private long[] highPrices = new long[INITIAL_CAPACITY];
+    private long[] lowPrices = new long[INITIAL_CAPACITY];
+    private long[] tradePrices = new long[INITIAL_CAPACITY];
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private double[] accTradePrices = new double[INITIAL_CAPACITY];
+    private double[] accTradeVolumes = new double[INITIAL_CAPACITY];
+
+    public DailyCandleSeries(String market) {
+        this.market = market;
+    }
+
+    // 같은 시각 캔들이 있으면 교체, 없으면 시간순 위치에 추가 (대부분 맨 뒤 추가)
+    public synchronized void put(DailyCandle candle) {
+        int index = indexOf(candle.epochMinute());
+        if (index < 0) {
+            index = -index - 1;
+            ensureCapacity(size + 1);
+            if (index < size) {
+                shift(index);
+            }
+            size++;
+        }
+
+        epochMinutes[index] = candle.epochMinute();
+        openingPrices[index] = scale(candle.openingPrice());
+        highPrices[index] = scale(candle.highPrice());
+        lowPrices[index] = scale(candle.lowPrice());
+        tradePrices[index] = scale(candle.tradePrice());
+        timestamps[index] = candle.timestamp();
+        accTradePrices[index] = candle.candleAccTradePrice();
+        accTradeVolumes[index] = candle.candleAccTradeVolume();
+    }
+
+    // [fromMinute, toMinute] 구간 캔들 복사본
+    public synchronized Slice slice(int fromMinute, int toMinute) {
+        int from = insertionPoint(fromMinute, false);
+        int to = Math.max(from, insertionPoint(toMinute, true));
+        return new Slice(market, to - from,
+                Arrays.copyOfRange(epochMinutes, from, to),
+                Arrays.copyOfRange(openingPrices, from, to),
+                Arrays.copyOfRange(highPrices, from, to),
+                Arrays.copyOfRange(lowPrices, from, to),
+                Arrays.copyOfRange(tradePrices, from, to),
+                Arrays.copyOfRange(timestamps, from, to),
+                Arrays.copyOfRange(accTradePrices, from, to),
+                Arrays.copyOfRange(accTradeVolumes, from, to));
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    // 배열이 차지하는 대략적인 메모리 크기
+    public synchronized long estimatedBytes() {
+        return (long) epochMinutes.length * BYTES_PER_CANDLE;
+    }
+
+    private int indexOf(int epochMinute) {
+        // 맨 뒤 추가가 대부분이므로 먼저 확인
+        if (size == 0 || epochMinutes[size - 1] < epochMinute) {
+            return -size - 1;
+        }
+        return Arrays.binarySearch(epochMinutes, 0, size, epochMinute);
+    }
+
+    // afterEqual 이 false 면 epochMinute 이상 첫 위치, true 면 epochMinute 초과 첫 위치
+    private int insertionPoint(int epochMinute, boolean afterEqual) {
+        int index = Arrays.binarySearch(epochMinutes, 0, size, epochMinute);
+        if (index < 0) {
+            return -index - 1;
+        }
+        return afterEqual ? index + 1 : index;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= epochMinutes.length) {
+            return;
+        }
+        int grown = Math.max(capacity, epochMinutes.length * 2);
+        epochMinutes = Arrays.copyOf(epochMinutes, grown);
+        openingPrices = Arrays.copyOf(openingPrices, grown);
+        highPrices = Arrays.copyOf(highPrices, grown);
+        lowPrices = Arrays.copyOf(lowPrices, grown);
+        tradePrices = Arrays.copyOf(tradePrices, grown);
+        timestamps = Arrays.copyOf(timestamps, grown);
+        accTradePrices = Arrays.copyOf(accTradePrices, grown);
+        accTradeVolumes = Arrays.copyOf(accTradeVolumes, grown);
+    }
+
+    private void shift(int index) {
+        int length = size - index;
+        System.arraycopy(epochMinutes, index, epochMinutes, index + 1, length);
+        System.arraycopy(openingPrices, index, openingPrices, index + 1, length);
+        System.arraycopy(highPrices, index, highPrices, index + 1, length);
+        System.arraycopy(lowPrices, index, lowPrices, index + 1, length);
+        System.arraycopy(tradePrices, index, tradePrices, index + 1, length);
+        System.arraycopy(timestamps, index, timestamps, index + 1, length);
+        System.arraycopy(accTradePrices, index, accTradePrices, index + 1, length);
+        System.arraycopy(accTradeVolumes, index, accTradeVolumes, index + 1, length);
+    }
+
+    private static long scale(double price) {
+        return Math.round(price * PRICE_SCALE);
+    }
+
+    private static double unscale(long price) {
+        return price / PRICE_SCALE;
+    }
+
+    // 조회 결과, 기존 /candle/daily 응답과 같은 필드의 JSON 배열로 직렬화
+    @JsonSerialize(using = SliceSerializer.class)
+    public record Slice(String market, int size, int[] epochMinutes,
+                        long[] openingPrices, long[] highPrices, long[] lowPrices, long[] tradePrices,
+                        long[] timestamps, double[] accTradePrices, double[] accTradeVolumes) {
+    }
+
+    public static class SliceSerializer extends JsonSerializer<Slice> {
+        private static final int KST_OFFSET_MINUTES = 9 * 60;
+
+        @Override
+        public void serialize(Slice slice, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            TimeFormatter utc = new TimeFormatter();
+            TimeFormatter kst = new TimeFormatter();
+
+            generator.writeStartArray();
+            for (int i = 0; i < slice.size(); i++) {
+                long epochMinute = slice.epochMinutes()[i];
+
+                generator.writeStartObject();
+                generator.writeStringField("market", slice.market());
+                generator.writeFieldName("candle_date_time_utc");
+                generator.writeString(utc.format(epochMinute), 0, TimeFormatter.LENGTH);
+                generator.writeFieldName("candle_date_time_kst");
+                generator.writeString(kst.format(epochMinute + KST_OFFSET_MINUTES), 0, TimeFormatter.LENGTH);
+                generator.writeNumberField("opening_price", unscale(slice.openingPrices()[i]));
+                generator.writeNumberField("high_price", unscale(slice.highPrices()[i]));
+                generator.writeNumberField("low_price", unscale(slice.lowPrices()[i]));
+                generator.writeNumberField("trade_price", unscale(slice.tradePrices()[i]));
+                generator.writeNumberField("timestamp", slice.timestamps()[i]);
+                generator.writeNumberField("candle_acc_trade_price", slice.accTradePrices()[i]);
+                generator.writeNumberField("candle_acc_trade_volume", slice.accTradeVolumes()[i]);
+                generator.writeNumberField("unit", 5);
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    // epoch 분을 "yyyy-MM-ddTHH:mm:00" 으로 변환, 날짜 부분은 날짜가 바뀔 때만 다시 계산
+    private static final class TimeFormatter {
+        static final int LENGTH = 19;
+        private final char[] buffer = "0000-00-00T00:00:00".toCharArray();
+        private long cachedDay = Long.MIN_VALUE;
+
+        char[] format(long epochMinute) {
+            long day = Math.floorDiv(epochMinute, 1440);
+            int minuteOfDay = (int) Math.floorMod(epochMinute, 1440);
+
+            if (day != cachedDay) {
+                LocalDate date = LocalDate.ofEpochDay(day);
+                int year = date.getYear();
+                buffer[0] = (char) ('0' + year / 1000 % 10);
+                buffer[1] = (char) ('0' + year / 100 % 10);
+                buffer[2] = (char) ('0' + year / 10 % 10);
+                buffer[3] = (char) ('0' + year % 10);
+                putTwoDigits(5, date.getMonthValue());
+                putTwoDigits(8, date.getDayOfMonth());
+                cachedDay = day;
+            }
+            putTwoDigits(11, minuteOfDay / 60);
+            putTwoDigits(14, minuteOfDay % 60);
+            return buffer;
+        }
+
+        private void putTwoDigits(int offset, int value) {
+            buffer[offset] = (char) ('0' + value / 10);
+            buffer[offset + 1] = (char) ('0' + value % 10);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.market_follower.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.*;
+
+// 마켓별 최신 티커/호가 Redis 저장소
+// 데이터 종류마다 hash 하나에 마켓 코드를 필드로 JSON 을 저장
+// - 쓰기: Kafka 메시지 하나의 모든 마켓을 스크립트 한 번으로 저장 (마켓마다 SET 하지 않음)
+// - 읽기: 전체는 HGETALL, 일부 마켓은 HMGET, 한 마켓은 HGET (KEYS/SCAN 으로 키를 찾지 않음)
+// - 만료는 hash 단위라 수신이 끊기면 ttl 뒤 통째로 사라지고, 상장폐지 마켓 필드는 retainMarkets 로 정리
+// - 마켓별 Upbit timestamp 를 "<key>:ts" hash 에 함께 저장하고 스크립트 안에서 비교해
+//   저장된 값보다 오래된 데이터는 쓰지 않음 (여러 스레드/인스턴스가 순서 없이 써도 최신 값 유지)
+// - 키 이름의 {} 부분(hash tag)이 같아 데이터 hash 와 timestamp hash 가 Redis Cluster 에서도 같은 슬롯에 있음
+//   (스크립트 하나가 두 키를 함께 다루므로 슬롯이 다르면 CROSSSLOT 오류)
+@Repository
+public class MarketDataStore {
+    public static final String TICKER_KEY = "{upbit:ticker}";
+    public static final String ORDERBOOK_KEY = "{upbit:orderbook}";
+
+    // KEYS[1]: 데이터 hash, KEYS[2]: timestamp hash, ARGV[1]: ttl(ms), 이후 (마켓, timestamp, JSON) 반복
+    // 반환: 오래되어 버린 마켓 수
+    private static final RedisScript<Long> SAVE_IF_NEWER = new DefaultRedisScript<>("""
+            local dropped = 0
+            for i = 2, #ARGV, 3 do
+                local stored = redis.call('HGET', KEYS[2], ARGV[i])
+                if stored and tonumber(stored) > tonumber(ARGV[i + 1]) then
+                    dropped = dropped + 1
+                else
+                    redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 2])
+                    redis.call('HSET', KEYS[2], ARGV[i], ARGV[i + 1])
+                end
+            end
+            redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            redis.call('PEXPIRE', KEYS[2], ARGV[1])
+            return dropped
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+
+    public MarketDataStore(
+            StringRedisTemplate redisTemplate,
+            @Value("${market.data.ttl:PT3M}") Duration ttl
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+    }
+
+    // 저장할 JSON 과 그 데이터의 Upbit timestamp
+    public record Entry(String json, long timestamp) {}
+
+    // 마켓 코드 -> Entry, 스크립트 한 번(EVALSHA)으로 저장하고 오래되어 버린 마켓 수 반환
+    public long saveAll(String key, Map<String, Entry> values) {
+        if (values.isEmpty()) {
+            return 0;
+        }
+
+        List<String> args = new ArrayList<>(values.size() * 3 + 1);
+        args.add(String.valueOf(ttl.toMillis()));
+        values.forEach((market, entry) -> {
+            args.add(market);
+            args.add(String.valueOf(entry.timestamp()));
+            args.add(entry.json());
+        });
+
+        Long dropped = redisTemplate.execute(SAVE_IF_NEWER, List.of(key, timestampKeyOf(key)), args.toArray());
+        return dropped == null ? 0 : dropped;
+    }
+
+    public Map<String, String> findAll(String key) {
+        HashOperations<String, String, String> hash = redisTemplate.opsForHash();
+        return hash.entries(key);
+    }
+
+    // 요청한 마켓 중 값이 있는 것만 반환
+    public Map<String, String> findAll(String key, Collection<String> markets) {
+        if (markets.isEmpty()) {
+            return Map.of();
+        }
+        List<String> fields = new ArrayList<>(markets);
+        HashOperations<String, String, String> hash = redisTemplate.opsForHash();
+        List<String> values = hash.multiGet(key, fields);
+
+        Map<String, String> found = new HashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            String value = values.get(i);
+            if (value != null) {
+                found.put(fields.get(i), value);
+            }
+        }
+        return found;
+    }
+
+    public String find(String key, String market) {
+        HashOperations<String, String, String> hash = redisTemplate.opsForHash();
+        return hash.get(key, market);
+    }
+
+    // 거래 가능 마켓에 없는 필드 삭제 (상장폐지 마켓)
+    public void retainMarkets(Collection<String> markets) {
+        Set<String> keep = new HashSet<>(markets);
+        for (String key : List.of(TICKER_KEY, ORDERBOOK_KEY)) {
+            HashOperations<String, String, String> hash = redisTemplate.opsForHash();
+            Object[] removed = hash.keys(key).stream().filter(market -> !keep.contains(market)).toArray();
+            if (removed.length > 0) {
+                hash.delete(key, removed);
+                hash.delete(timestampKeyOf(key), removed);
+            }
+        }
+    }
+
+    // {upbit:ticker} -> {upbit:ticker}:ts (hash tag 유지)
+    private static String timestampKeyOf(String key) {
+        return key + ":ts";
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.market_follower.repository;
+
+import com.example.market_follower.model.MarketDictionaryEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface MarketDictionaryRepository extends JpaRepository<MarketDictionaryEntry, Integer> {
+    Optional<MarketDictionaryEntry> findByMarket(String market);
+}
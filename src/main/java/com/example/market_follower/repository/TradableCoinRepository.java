@@ -3,8 +3,10 @@ package com.example.market_follower.repository;
 import com.example.market_follower.model.TradableCoin;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,5 +14,9 @@ public interface TradableCoinRepository extends JpaRepository<TradableCoin, Stri
     @Query("SELECT t.market FROM TradableCoin t")
     List<String> findAllMarkets();
 
+    // 호가 화폐별 마켓 (idx_quote_currency)
+    @Query("SELECT t.market FROM TradableCoin t WHERE t.quoteCurrency IN :quoteCurrencies ORDER BY t.market")
+    List<String> findMarketsByQuoteCurrencyIn(@Param("quoteCurrencies") Collection<String> quoteCurrencies);
+
     void deleteByMarketNotIn(List<String> markets);
 }
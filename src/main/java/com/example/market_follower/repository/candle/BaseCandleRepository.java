@@ -0,0 +1,85 @@
+package com.example.market_follower.repository.candle;
+
+import com.example.market_follower.model.candle.BaseCandle;
+import jakarta.persistence.QueryHint;
+import jakarta.transaction.Transactional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+// 모든 캔들 테이블에 공통인 쿼리 (#{#entityName}은 각 하위 Repository의 엔티티명으로 치환됨)
+@NoRepositoryBean
+public interface BaseCandleRepository<T extends BaseCandle> extends JpaRepository<T, Long> {
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM #{#entityName} c WHERE c.market = :market AND c.candleDateTimeUtc > :end")
+    void deleteByMarketAndCandleDateTimeUtcAfter(
+            @Param("market") String market,
+            @Param("end") LocalDateTime end
+    );
+
+    // 범위 내 마켓별 가장 오래된/최신 캔들 시각과 개수
+    @Query("SELECT c.market AS market, MIN(c.candleDateTimeUtc) AS oldest, MAX(c.candleDateTimeUtc) AS newest, COUNT(c) AS stored " +
+            "FROM #{#entityName} c WHERE c.candleDateTimeUtc >= :start AND c.candleDateTimeUtc < :end GROUP BY c.market")
+    List<CandleCoverage> findCoverageBetween(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+
+    // 특정 마켓의 [start, end) 범위 캔들을 시간순으로 조회 (롤업 원본)
+    @Query("SELECT c FROM #{#entityName} c WHERE c.market = :market AND c.candleDateTimeUtc >= :start AND c.candleDateTimeUtc < :end " +
+            "ORDER BY c.candleDateTimeUtc")
+    List<T> findByMarketAndCandleDateTimeUtcRange(
+            @Param("market") String market,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+
+    // 한 마켓의 [from, to] 범위 중 after 이후 캔들을 시간순으로 limit 개 조회 (keyset 페이지네이션)
+    // market 고정 + candle_date_time_utc 범위라 uk_market_datetime 인덱스 범위만 읽음
+    @Query("SELECT c FROM #{#entityName} c WHERE c.market = :market " +
+            "AND c.candleDateTimeUtc >= :from AND c.candleDateTimeUtc > :after AND c.candleDateTimeUtc <= :to " +
+            "ORDER BY c.candleDateTimeUtc")
+    List<T> findPageByMarket(
+            @Param("market") String market,
+            @Param("from") LocalDateTime from,
+            @Param("after") LocalDateTime after,
+            @Param("to") LocalDateTime to,
+            Limit limit
+    );
+
+    // 마켓 목록의 전체 캔들 (마켓별 uk_market_datetime 범위 조회)
+    List<T> findByMarketIn(Collection<String> markets);
+
+    // 마켓 목록의 KST dateTime 이후 캔들 (idx_market_datetime_kst)
+    List<T> findByMarketInAndCandleDateTimeKstGreaterThanEqual(Collection<String> markets, LocalDateTime dateTime);
+
+    // 대용량 응답용 스트리밍 조회 (트랜잭션 안에서 사용, 마켓/시간순)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM #{#entityName} c WHERE c.market IN :markets ORDER BY c.market, c.candleDateTimeUtc")
+    Stream<T> streamByMarketIn(@Param("markets") Collection<String> markets);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM #{#entityName} c WHERE c.market IN :markets AND c.candleDateTimeKst >= :dateTime " +
+            "ORDER BY c.market, c.candleDateTimeUtc")
+    Stream<T> streamByMarketInAndCandleDateTimeKstGreaterThanEqual(
+            @Param("markets") Collection<String> markets,
+            @Param("dateTime") LocalDateTime dateTime
+    );
+}
@@ -0,0 +1,166 @@
+package com.example.market_follower.repository.candle;
+
+import com.example.market_follower.model.candle.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+// 캔들 테이블 대량 저장
+// IDENTITY 키 때문에 Hibernate 배치 INSERT 가 꺼져 saveAll 이 행마다 INSERT 를 보내므로,
+// 여러 행을 한 번에 넣는 INSERT ... ON DUPLICATE KEY UPDATE 로 uk_market_datetime 기준 upsert
+// MySQL 이 아니면(로컬 H2) 같은 키로 MERGE INTO ... KEY(...) 사용 (H2 는 created_at 도 새 값으로 덮어씀)
+@Repository
+public class CandleBulkWriter {
+    private static final List<String> BASE_COLUMNS = List.of(
+            "market", "candle_date_time_utc", "candle_date_time_kst",
+            "opening_price", "high_price", "low_price", "trade_price", "timestamp",
+            "candle_acc_trade_price", "candle_acc_trade_volume");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final Map<String, String> sqlCache = new ConcurrentHashMap<>();
+    private volatile Boolean mysql;
+
+    public CandleBulkWriter(
+            JdbcTemplate jdbcTemplate,
+            @Value("${candle.bulk-writer.batch-size:500}") int batchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    // 저장 요청한 행 수 반환 (새로 추가된 행과 갱신된 행 모두 포함)
+    public <E extends BaseCandle> int upsert(CandleHorizon horizon, List<E> candles) {
+        List<String> columns = columnsOf(horizon);
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int start = 0; start < candles.size(); start += batchSize) {
+            List<E> chunk = candles.subList(start, Math.min(start + batchSize, candles.size()));
+            String sql = sqlCache.computeIfAbsent(horizon.getKey() + ":" + chunk.size(),
+                    key -> isMysql()
+                            ? buildSql(horizon.getTableName(), columns, chunk.size())
+                            : buildMergeSql(horizon.getTableName(), columns, chunk.size()));
+
+            jdbcTemplate.update(sql, ps -> {
+                int index = 1;
+                for (E candle : chunk) {
+                    index = bind(ps, index, candle, now);
+                }
+            });
+        }
+        return candles.size();
+    }
+
+    private List<String> columnsOf(CandleHorizon horizon) {
+        List<String> extra = switch (horizon) {
+            case SEVEN_DAYS, THIRTY_DAYS -> List.of("unit");
+            case THREE_MONTHS, ONE_YEAR -> List.of("prev_closing_price", "change_price", "change_rate");
+            case FIVE_YEARS -> List.of("first_day_of_period");
+        };
+        return concat(concat(BASE_COLUMNS, extra), List.of("created_at", "updated_at"));
+    }
+
+    // INSERT INTO t (...) VALUES (?, ...), (?, ...) ON DUPLICATE KEY UPDATE c = VALUES(c), ...
+    private String buildSql(String tableName, List<String> columns, int rows) {
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(tableName)
+                .append(" (").append(String.join(", ", columns)).append(") VALUES ");
+        appendRows(sql, columns, rows);
+
+        sql.append(" ON DUPLICATE KEY UPDATE ");
+        boolean first = true;
+        for (String column : columns) {
+            // 키 컬럼과 최초 생성 시각은 유지
+            if (column.equals("market") || column.equals("candle_date_time_utc") || column.equals("created_at")) {
+                continue;
+            }
+            if (!first) {
+                sql.append(", ");
+            }
+            sql.append(column).append(" = VALUES(").append(column).append(")");
+            first = false;
+        }
+        return sql.toString();
+    }
+
+    // MERGE INTO t (...) KEY(market, candle_date_time_utc) VALUES (?, ...), (?, ...)
+    private String buildMergeSql(String tableName, List<String> columns, int rows) {
+        StringBuilder sql = new StringBuilder("MERGE INTO ").append(tableName)
+                .append(" (").append(String.join(", ", columns)).append(") KEY(market, candle_date_time_utc) VALUES ");
+        appendRows(sql, columns, rows);
+        return sql.toString();
+    }
+
+    private static void appendRows(StringBuilder sql, List<String> columns, int rows) {
+        String placeholders = "(" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(placeholders);
+        }
+    }
+
+    private int bind(PreparedStatement ps, int index, BaseCandle candle, LocalDateTime now) throws SQLException {
+        ps.setString(index++, candle.getMarket());
+        ps.setTimestamp(index++, Timestamp.valueOf(candle.getCandleDateTimeUtc()));
+        ps.setTimestamp(index++, Timestamp.valueOf(candle.getCandleDateTimeKst()));
+        ps.setBigDecimal(index++, candle.getOpeningPrice());
+        ps.setBigDecimal(index++, candle.getHighPrice());
+        ps.setBigDecimal(index++, candle.getLowPrice());
+        ps.setBigDecimal(index++, candle.getTradePrice());
+        ps.setObject(index++, candle.getTimestamp(), Types.BIGINT);
+        ps.setBigDecimal(index++, candle.getCandleAccTradePrice());
+        ps.setBigDecimal(index++, candle.getCandleAccTradeVolume());
+
+        if (candle instanceof UpbitCandle7d hourly) {
+            ps.setInt(index++, hourly.getUnit());
+        } else if (candle instanceof UpbitCandle30d fourHourly) {
+            ps.setInt(index++, fourHourly.getUnit());
+        } else if (candle instanceof UpbitCandle3m daily) {
+            ps.setBigDecimal(index++, daily.getPrevClosingPrice());
+            ps.setBigDecimal(index++, daily.getChangePrice());
+            ps.setBigDecimal(index++, daily.getChangeRate());
+        } else if (candle instanceof UpbitCandle1y daily) {
+            ps.setBigDecimal(index++, daily.getPrevClosingPrice());
+            ps.setBigDecimal(index++, daily.getChangePrice());
+            ps.setBigDecimal(index++, daily.getChangeRate());
+        } else if (candle instanceof UpbitCandle5y weekly) {
+            if (weekly.getFirstDayOfPeriod() != null) {
+                ps.setObject(index++, weekly.getFirstDayOfPeriod());
+            } else {
+                ps.setNull(index++, Types.DATE);
+            }
+        }
+
+        Timestamp writtenAt = Timestamp.valueOf(now);
+        ps.setTimestamp(index++, writtenAt);
+        ps.setTimestamp(index++, writtenAt);
+        return index;
+    }
+
+    private boolean isMysql() {
+        if (mysql == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            mysql = product != null && product.toLowerCase(Locale.ROOT).contains("mysql");
+        }
+        return mysql;
+    }
+
+    private static List<String> concat(List<String> first, List<String> second) {
+        return Stream.concat(first.stream(), second.stream()).toList();
+    }
+}
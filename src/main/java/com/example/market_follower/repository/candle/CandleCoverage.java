@@ -0,0 +1,11 @@
+package com.example.market_follower.repository.candle;
+
+import java.time.LocalDateTime;
+
+// 마켓별로 DB에 저장된 캔들 범위 (증분 동기화 판단용)
+public interface CandleCoverage {
+    String getMarket();
+    LocalDateTime getOldest();
+    LocalDateTime getNewest();
+    long getStored();
+}
@@ -0,0 +1,203 @@
+package com.example.market_follower.repository.candle;
+
+import com.example.market_follower.model.candle.CandleHorizon;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+
+// 캔들 테이블 보관 기간 관리
+// MySQL: candle_date_time_utc 기준 RANGE COLUMNS 파티션으로 나눠 두고, 보관 기간이 지난 파티션은 DROP PARTITION 으로 통째로 삭제
+// - 행 단위 DELETE 가 아닌 메타데이터 변경이라 undo 로그/purge 부담과 잠금 경합이 없음
+// - 앞으로 쓸 파티션을 partitionsAhead 개 미리 만들어 두고, 그 이후 시각은 p_future(MAXVALUE) 파티션이 받음
+// - 보관 시작 시각이 걸친 경계 파티션에 남은 행만 청크 DELETE 로 정리
+// H2 처럼 파티션을 지원하지 않는 DB 는 청크 DELETE 로만 정리 (문장마다 바로 커밋되어 긴 트랜잭션이 생기지 않음)
+@Slf4j
+@Repository
+public class CandleRetentionManager {
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final DateTimeFormatter PARTITION_NAME_FORMAT = DateTimeFormatter.ofPattern("'p'yyyyMMdd");
+    private static final DateTimeFormatter PARTITION_BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int deleteChunkSize;
+    private final int partitionsAhead;
+    private volatile Boolean mysql;
+
+    public CandleRetentionManager(
+            JdbcTemplate jdbcTemplate,
+            @Value("${candle.retention.delete-chunk-size:5000}") int deleteChunkSize,
+            @Value("${candle.retention.partitions-ahead:3}") int partitionsAhead
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.deleteChunkSize = deleteChunkSize;
+        this.partitionsAhead = partitionsAhead;
+    }
+
+    // cutoff(UTC) 이전 캔들 삭제, 청크 DELETE 로 지운 행 수 반환 (파티션으로 지운 행은 세지 않음)
+    public long purgeBefore(CandleHorizon horizon, LocalDateTime cutoff) {
+        String table = horizon.getTableName();
+        if (!isMysql()) {
+            return deleteChunked(table, "candle_date_time_utc < ?", Timestamp.valueOf(cutoff));
+        }
+
+        ChronoUnit unit = partitionUnitOf(horizon);
+        List<LocalDate> partitions = findPartitionStarts(table);
+        if (partitions.isEmpty()) {
+            partitionTable(table, unit, cutoff);
+            partitions = findPartitionStarts(table);
+        }
+        addFuturePartitions(table, unit, partitions);
+
+        // 파티션 전체가 cutoff 이전이면 DROP (가장 최근 파티션은 남겨 둠)
+        List<String> expired = new ArrayList<>();
+        for (int i = 0; i < partitions.size() - 1; i++) {
+            LocalDate start = partitions.get(i);
+            if (!start.plus(1, unit).atStartOfDay().isAfter(cutoff)) {
+                expired.add(start.format(PARTITION_NAME_FORMAT));
+            }
+        }
+        if (!expired.isEmpty()) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " DROP PARTITION " + String.join(", ", expired));
+            log.info("{} 캔들 만료 파티션 삭제: {}", horizon.getLabel(), expired);
+        }
+
+        // 경계 파티션에 남은 행 정리 (파티션 프루닝으로 해당 파티션만 스캔)
+        return deleteChunked(table, "candle_date_time_utc < ?", Timestamp.valueOf(cutoff));
+    }
+
+    // keepMarkets 에 없는 마켓(상장폐지 등)의 캔들 삭제, 지운 행 수 반환
+    // NOT IN 으로 테이블 전체를 훑는 대신 저장된 마켓 목록을 먼저 구하고 마켓별로 (market, ...) 인덱스 범위만 삭제
+    public long deleteMarketsNotIn(CandleHorizon horizon, Set<String> keepMarkets) {
+        String table = horizon.getTableName();
+        List<String> stored = jdbcTemplate.queryForList("SELECT DISTINCT market FROM " + table, String.class);
+
+        long deleted = 0;
+        for (String market : stored) {
+            if (!keepMarkets.contains(market)) {
+                deleted += deleteChunked(table, "market = ?", market);
+                log.info("{} 캔들 삭제 - 거래 불가 마켓 {}", horizon.getLabel(), market);
+            }
+        }
+        return deleted;
+    }
+
+    // LIMIT 을 건 DELETE 를 반복해 한 문장이 잡는 잠금과 undo 로그 크기를 제한
+    private long deleteChunked(String table, String condition, Object argument) {
+        String sql = isMysql()
+                ? "DELETE FROM " + table + " WHERE " + condition + " LIMIT ?"
+                : "DELETE FROM " + table + " WHERE " + condition + " FETCH FIRST ? ROWS ONLY";
+
+        long total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(sql, argument, deleteChunkSize);
+            total += deleted;
+        } while (deleted == deleteChunkSize);
+        return total;
+    }
+
+    // 파티션이 없는 기존 테이블을 파티션 테이블로 변환 (최초 1회, 테이블을 다시 쓰므로 시간이 걸림)
+    // 파티션 키가 모든 유니크 키에 포함되어야 하므로 PK 를 (id, candle_date_time_utc) 로 바꾼 뒤 파티션 생성
+    // 첫 파티션은 하한이 없으므로 cutoff 이전의 기존 행도 모두 첫 파티션에 들어감
+    private void partitionTable(String table, ChronoUnit unit, LocalDateTime cutoff) {
+        log.warn("{} 테이블을 candle_date_time_utc 기준 파티션 테이블로 변환", table);
+
+        Integer primaryKeyHasDateTime = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.KEY_COLUMN_USAGE " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND CONSTRAINT_NAME = 'PRIMARY' " +
+                        "AND COLUMN_NAME = 'candle_date_time_utc'",
+                Integer.class, table);
+        if (primaryKeyHasDateTime == null || primaryKeyHasDateTime == 0) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " DROP PRIMARY KEY, ADD PRIMARY KEY (id, candle_date_time_utc)");
+        }
+
+        List<String> definitions = new ArrayList<>();
+        LocalDate end = floor(LocalDate.now(), unit).plus(partitionsAhead, unit);
+        for (LocalDate start = floor(cutoff.toLocalDate(), unit); !start.isAfter(end); start = start.plus(1, unit)) {
+            definitions.add(partitionDefinition(start, unit));
+        }
+        definitions.add("PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+
+        jdbcTemplate.execute("ALTER TABLE " + table + " PARTITION BY RANGE COLUMNS(candle_date_time_utc) (" +
+                String.join(", ", definitions) + ")");
+    }
+
+    // 마지막 파티션 이후 partitionsAhead 단위까지 p_future 를 나눠 새 파티션 생성 (p_future 는 보통 비어 있어 바로 끝남)
+    private void addFuturePartitions(String table, ChronoUnit unit, List<LocalDate> partitions) {
+        if (partitions.isEmpty()) {
+            return;
+        }
+        LocalDate end = floor(LocalDate.now(), unit).plus(partitionsAhead, unit);
+        List<String> definitions = new ArrayList<>();
+        for (LocalDate start = partitions.get(partitions.size() - 1).plus(1, unit); !start.isAfter(end); start = start.plus(1, unit)) {
+            definitions.add(partitionDefinition(start, unit));
+            partitions.add(start);
+        }
+        if (definitions.isEmpty()) {
+            return;
+        }
+
+        definitions.add("PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+        jdbcTemplate.execute("ALTER TABLE " + table + " REORGANIZE PARTITION " + FUTURE_PARTITION + " INTO (" +
+                String.join(", ", definitions) + ")");
+        log.info("{} 파티션 {}개 추가", table, definitions.size() - 1);
+    }
+
+    // 파티션 이름(p + 시작 날짜)으로 파티션 시작 날짜 목록 조회 (p_future 제외, 시간순)
+    private List<LocalDate> findPartitionStarts(String table) {
+        List<String> names = jdbcTemplate.queryForList(
+                "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL " +
+                        "ORDER BY PARTITION_ORDINAL_POSITION",
+                String.class, table);
+
+        List<LocalDate> starts = new ArrayList<>(names.size());
+        for (String name : names) {
+            if (!FUTURE_PARTITION.equals(name)) {
+                starts.add(LocalDate.parse(name, PARTITION_NAME_FORMAT));
+            }
+        }
+        return starts;
+    }
+
+    private static String partitionDefinition(LocalDate start, ChronoUnit unit) {
+        return "PARTITION " + start.format(PARTITION_NAME_FORMAT) +
+                " VALUES LESS THAN ('" + start.plus(1, unit).format(PARTITION_BOUND_FORMAT) + "')";
+    }
+
+    // 보관 기간이 짧은 테이블은 일 단위, 긴 테이블은 월/년 단위 파티션 (테이블당 파티션 수가 수십 개를 넘지 않도록)
+    private static ChronoUnit partitionUnitOf(CandleHorizon horizon) {
+        return switch (horizon) {
+            case SEVEN_DAYS, THIRTY_DAYS -> ChronoUnit.DAYS;
+            case THREE_MONTHS, ONE_YEAR -> ChronoUnit.MONTHS;
+            case FIVE_YEARS -> ChronoUnit.YEARS;
+        };
+    }
+
+    private static LocalDate floor(LocalDate date, ChronoUnit unit) {
+        return switch (unit) {
+            case MONTHS -> date.withDayOfMonth(1);
+            case YEARS -> date.with(TemporalAdjusters.firstDayOfYear());
+            default -> date;
+        };
+    }
+
+    private boolean isMysql() {
+        if (mysql == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            mysql = product != null && product.toLowerCase(Locale.ROOT).contains("mysql");
+        }
+        return mysql;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.market_follower.repository.candle;
+
+import com.example.market_follower.model.candle.CandleSyncProgress;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface CandleSyncProgressRepository extends JpaRepository<CandleSyncProgress, CandleSyncProgress.Key> {
+    // 해당 날짜 작업에서 저장이 끝난 마켓
+    @Query("SELECT p.market FROM CandleSyncProgress p WHERE p.jobDate = :jobDate AND p.horizon = :horizon")
+    List<String> findCompletedMarkets(
+            @Param("jobDate") LocalDate jobDate,
+            @Param("horizon") String horizon
+    );
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM CandleSyncProgress p WHERE p.jobDate < :jobDate")
+    int deleteByJobDateBefore(@Param("jobDate") LocalDate jobDate);
+}
@@ -0,0 +1,191 @@
+package com.example.market_follower.repository.candle;
+
+import com.example.market_follower.model.candle.DailyCandle;
+import com.example.market_follower.model.candle.DailyCandleSeries;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 오늘의 5분 캔들(1Day 캔들) Redis 저장소
+// 날짜(KST)+마켓별 sorted set 에 캔들 하나당 항목 하나를 저장 (score: 캔들 시작 UTC epoch 초)
+// - 추가/교체는 해당 score 항목만 지우고 넣으므로 하루 동안 캔들이 늘어나도 비용이 일정
+//   (지우기와 넣기를 스크립트 하나로 실행해 다른 인스턴스의 같은 캔들 저장과 섞여도 항목이 하나만 남음)
+// - 항목은 "epoch초,시가,고가,저가,종가,타임스탬프,누적거래대금,누적거래량" 형식의 짧은 문자열
+// - 키는 날짜별로 만료 시간이 있어 지난 날짜 데이터는 따로 지우지 않아도 사라짐
+// - 조회한 마켓은 DailyCandleSeries 로 메모리에 들고 있다가 저장 시 함께 갱신
+// - 다른 인스턴스가 저장한 캔들도 보이도록 메모리 캔들은 refresh 주기가 지나면 Redis 에서 다시 읽고,
+//   Redis 키가 만료될 시점이 지난 날짜의 메모리 캔들은 주기적으로 버림
+@Repository
+public class DailyCandleStore {
+    private static final String KEY_PREFIX = "upbit:daily5m:";
+    private static final DateTimeFormatter KEY_DATE_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+    // KEYS[1]: sorted set, ARGV[1]: ttl(ms), 이후 (score, 항목) 반복
+    // 반환: 저장한 캔들 수
+    private static final RedisScript<Long> REPLACE_BY_SCORE = new DefaultRedisScript<>("""
+            local saved = 0
+            for i = 2, #ARGV, 2 do
+                redis.call('ZREMRANGEBYSCORE', KEYS[1], ARGV[i], ARGV[i])
+                redis.call('ZADD', KEYS[1], ARGV[i], ARGV[i + 1])
+                saved = saved + 1
+            end
+            redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            return saved
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+    private final long refreshMillis;
+    // Redis 키 -> 메모리 캔들 목록
+    private final Map<String, CachedSeries> series = new ConcurrentHashMap<>();
+
+    // 날짜(KST), 캔들 목록, Redis 에서 읽은 시각
+    private record CachedSeries(LocalDate day, DailyCandleSeries candles, long loadedAtMillis) {}
+
+    public DailyCandleStore(
+            StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${candle.daily.ttl:P2D}") Duration ttl,
+            @Value("${candle.daily.cache-refresh:PT10S}") Duration refresh
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+        this.refreshMillis = refresh.toMillis();
+
+        Gauge.builder("candle.daily.series.bytes", series,
+                        cache -> cache.values().stream().mapToLong(cached -> cached.candles().estimatedBytes()).sum())
+                .description("메모리에 올린 1Day 캔들 배열 크기")
+                .register(meterRegistry);
+        Gauge.builder("candle.daily.series.candles", series,
+                        cache -> cache.values().stream().mapToLong(cached -> cached.candles().size()).sum())
+                .register(meterRegistry);
+    }
+
+    public void save(DailyCandle candle) {
+        saveAll(candle.market(), List.of(candle));
+    }
+
+    // 같은 시각 캔들이 이미 있으면 교체, 날짜(키)마다 스크립트 한 번(EVALSHA)으로 원자적으로 전송
+    // 보통은 하루치라 키 하나, KST 자정 직후 백필만 두 날짜에 걸침
+    public void saveAll(String market, List<DailyCandle> candles) {
+        if (candles.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<String>> argsByKey = new LinkedHashMap<>();
+        for (DailyCandle candle : candles) {
+            List<String> args = argsByKey.computeIfAbsent(keyOf(market, kstDateOf(candle.epochSecond())),
+                    key -> new ArrayList<>(List.of(String.valueOf(ttl.toMillis()))));
+            args.add(String.valueOf(candle.epochSecond()));
+            args.add(encode(candle));
+        }
+        argsByKey.forEach((key, args) -> redisTemplate.execute(REPLACE_BY_SCORE, List.of(key), args.toArray()));
+
+        // 이미 메모리에 올라간 마켓만 갱신 (아직 조회 전이면 첫 조회 때 Redis 에서 읽음)
+        // computeIfPresent 는 같은 키의 load 가 끝날 때까지 기다리므로 load 중 저장된 캔들도 빠지지 않음
+        for (DailyCandle candle : candles) {
+            series.computeIfPresent(keyOf(market, kstDateOf(candle.epochSecond())), (key, loaded) -> {
+                loaded.candles().put(candle);
+                return loaded;
+            });
+        }
+    }
+
+    // KST 날짜 하루치 캔들 중 [from, to] (KST, null 이면 제한 없음) 범위를 시간순으로 반환
+    public DailyCandleSeries.Slice find(String market, LocalDate day, LocalDateTime from, LocalDateTime to) {
+        int fromMinute = from == null ? Integer.MIN_VALUE : (int) (from.minusHours(9).toEpochSecond(ZoneOffset.UTC) / 60);
+        int toMinute = to == null ? Integer.MAX_VALUE : (int) (to.minusHours(9).toEpochSecond(ZoneOffset.UTC) / 60);
+
+        String key = keyOf(market, day);
+        long now = System.currentTimeMillis();
+        CachedSeries cached = series.get(key);
+        if (cached == null || now - cached.loadedAtMillis() >= refreshMillis) {
+            // 같은 키는 한 스레드만 다시 읽고, 나머지는 그 결과를 사용
+            cached = series.compute(key, (k, current) ->
+                    current != null && now - current.loadedAtMillis() < refreshMillis
+                            ? current
+                            : new CachedSeries(day, load(market, k), now));
+        }
+        return cached.candles().slice(fromMinute, toMinute);
+    }
+
+    // Redis 키가 만료됐을 시점(해당 날짜가 끝나고 ttl 이후)이 지난 날짜의 메모리 캔들 정리
+    @Scheduled(fixedDelay = 600_000)
+    public void evictExpired() {
+        LocalDateTime nowKst = LocalDateTime.now(ZoneOffset.UTC).plusHours(9);
+        series.values().removeIf(cached -> cached.day().plusDays(1).atStartOfDay().plus(ttl).isBefore(nowKst));
+    }
+
+    // 하루치 캔들 중 가장 최근 캔들의 시작 시각 (UTC epoch 초), 없으면 null
+    public Long findLatestEpochSecond(String market, LocalDate day) {
+        Set<ZSetOperations.TypedTuple<String>> latest = redisTemplate.opsForZSet().reverseRangeWithScores(keyOf(market, day), 0, 0);
+        if (latest == null || latest.isEmpty()) {
+            return null;
+        }
+        Double score = latest.iterator().next().getScore();
+        return score == null ? null : score.longValue();
+    }
+
+    private DailyCandleSeries load(String market, String key) {
+        DailyCandleSeries loaded = new DailyCandleSeries(market);
+        Set<String> entries = redisTemplate.opsForZSet().range(key, 0, -1);
+        if (entries != null) {
+            for (String entry : entries) {
+                loaded.put(decode(market, entry));
+            }
+        }
+        return loaded;
+    }
+
+    // 여러 마켓의 하루치 캔들을 DEL 한 번으로 삭제
+    public void deleteAll(Collection<String> markets, LocalDate day) {
+        if (markets.isEmpty()) {
+            return;
+        }
+        List<String> keys = markets.stream().map(market -> keyOf(market, day)).toList();
+        redisTemplate.delete(keys);
+        keys.forEach(series::remove);
+    }
+
+    private static String keyOf(String market, LocalDate day) {
+        return KEY_PREFIX + day.format(KEY_DATE_FORMAT) + ":" + market;
+    }
+
+    private static LocalDate kstDateOf(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC).plusHours(9).toLocalDate();
+    }
+
+    private static String encode(DailyCandle candle) {
+        return candle.epochSecond() + "," + candle.openingPrice() + "," + candle.highPrice() + "," + candle.lowPrice()
+                + "," + candle.tradePrice() + "," + candle.timestamp()
+                + "," + candle.candleAccTradePrice() + "," + candle.candleAccTradeVolume();
+    }
+
+    private static DailyCandle decode(String market, String entry) {
+        String[] fields = entry.split(",");
+        return new DailyCandle(
+                market,
+                (int) (Long.parseLong(fields[0]) / 60),
+                Double.parseDouble(fields[1]),
+                Double.parseDouble(fields[2]),
+                Double.parseDouble(fields[3]),
+                Double.parseDouble(fields[4]),
+                Long.parseLong(fields[5]),
+                Double.parseDouble(fields[6]),
+                Double.parseDouble(fields[7]));
+    }
+}
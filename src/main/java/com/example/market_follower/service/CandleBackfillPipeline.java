@@ -0,0 +1,216 @@
+package com.example.market_follower.service;
+
+import com.example.market_follower.model.candle.CandleHorizon;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+
+// 마켓 단위 캔들 백필 파이프라인
+// fetch(Upbit API 호출, 병렬) -> parse(엔티티 변환, 단일 스레드) -> persist(DB 저장, 호출자 스레드)
+// - fetch 동시성은 parallelism 으로 제한하고, 실제 호출 속도는 UpbitApiClient 의 그룹별 토큰 버킷이 제한
+// - 단계 사이는 크기가 정해진 큐로 연결되어 뒤 단계가 밀리면 앞 단계가 대기함 (backpressure)
+// - persist 는 호출자 스레드에서 마켓 하나씩 실행됨 (트랜잭션 범위는 persist 함수가 정함)
+@Slf4j
+@Component
+public class CandleBackfillPipeline {
+    private static final int PROGRESS_LOG_INTERVAL = 50;
+
+    private final Executor candleSyncExecutor;
+    private final MeterRegistry meterRegistry;
+    private final int parallelism;
+    private final int queueCapacity;
+    private final Map<CandleHorizon, AtomicInteger> completedMarkets = new ConcurrentHashMap<>();
+    private final Map<CandleHorizon, AtomicInteger> totalMarkets = new ConcurrentHashMap<>();
+
+    public CandleBackfillPipeline(
+            @Qualifier("candleSyncExecutor") Executor candleSyncExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${candle.backfill.parallelism:4}") int parallelism,
+            @Value("${candle.backfill.queue-capacity:16}") int queueCapacity
+    ) {
+        this.candleSyncExecutor = candleSyncExecutor;
+        this.meterRegistry = meterRegistry;
+        this.parallelism = parallelism;
+        this.queueCapacity = queueCapacity;
+    }
+
+    public record Result(int succeeded, int failed, long rows) {}
+
+    // 단계 사이를 흐르는 마켓별 결과 (실패한 마켓도 error 를 담은 채로 끝까지 전달됨)
+    private record Stage<T>(String market, T value, Throwable error) {
+        static <T> Stage<T> success(String market, T value) {
+            return new Stage<>(market, value, null);
+        }
+
+        static <T> Stage<T> failure(String market, Throwable error) {
+            return new Stage<>(market, null, error);
+        }
+    }
+
+    public <F, P> Result run(
+            CandleHorizon horizon,
+            List<String> markets,
+            Function<String, F> fetch,
+            Function<F, P> parse,
+            ToIntBiFunction<String, P> persist
+    ) {
+        int total = markets.size();
+        AtomicInteger completed = progressOf(horizon, total);
+        if (total == 0) {
+            return new Result(0, 0, 0);
+        }
+
+        Queue<String> pending = new ConcurrentLinkedQueue<>(markets);
+        BlockingQueue<Stage<F>> fetched = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Stage<P>> parsed = new ArrayBlockingQueue<>(queueCapacity);
+
+        // fetch 단계: parallelism 개의 워커가 남은 마켓을 하나씩 가져가서 처리
+        // 예외 종류와 상관없이 마켓마다 반드시 Stage 하나를 내보내야 persist 단계가 멈추지 않음
+        int workers = Math.min(parallelism, total);
+        int started = 0;
+        RejectedExecutionException rejection = null;
+        for (int i = 0; i < workers; i++) {
+            try {
+                CompletableFuture.runAsync(() -> {
+                    try {
+                        String market;
+                        while ((market = pending.poll()) != null) {
+                            Stage<F> stage;
+                            try {
+                                stage = Stage.success(market, fetch.apply(market));
+                            } catch (Throwable e) {
+                                stage = Stage.failure(market, e);
+                            }
+                            fetched.put(stage);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }, candleSyncExecutor);
+                started++;
+            } catch (RejectedExecutionException e) {
+                rejection = e;
+            }
+        }
+
+        // 워커가 하나도 실행되지 못하면 남은 마켓은 큐를 거치지 않고 바로 실패 처리
+        List<Stage<P>> undispatched = new ArrayList<>();
+        if (started == 0) {
+            String market;
+            while ((market = pending.poll()) != null) {
+                undispatched.add(Stage.failure(market, rejection));
+            }
+        } else if (started < workers) {
+            log.warn("{} 캔들 동기화 fetch 워커 {}/{}개만 실행됨 - 실행자 포화", horizon.getLabel(), started, workers);
+        }
+        int queued = total - undispatched.size();
+
+        // parse 단계: fetch 된 마켓 수만큼 꺼내서 변환 후 다음 큐로 전달
+        // 실행자가 작업을 거절하면 persist 단계(호출자 스레드)가 직접 변환함
+        boolean inlineParse = false;
+        if (queued > 0) {
+            try {
+                CompletableFuture.runAsync(() -> {
+                    try {
+                        for (int i = 0; i < queued; i++) {
+                            parsed.put(parseStage(fetched.take(), parse));
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }, candleSyncExecutor);
+            } catch (RejectedExecutionException e) {
+                log.warn("{} 캔들 동기화 parse 작업 거절 - 호출자 스레드에서 변환", horizon.getLabel());
+                inlineParse = true;
+            }
+        }
+
+        // persist 단계: 호출자 스레드에서 순서대로 저장
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long startedAt = System.nanoTime();
+        int succeeded = 0;
+        int failed = 0;
+        long rows = 0;
+
+        try {
+            for (int i = 0; i < total; i++) {
+                Stage<P> stage;
+                if (i < undispatched.size()) {
+                    stage = undispatched.get(i);
+                } else if (inlineParse) {
+                    stage = parseStage(fetched.take(), parse);
+                } else {
+                    stage = parsed.take();
+                }
+                try {
+                    if (stage.error() != null) {
+                        throw stage.error();
+                    }
+                    int saved = persist.applyAsInt(stage.market(), stage.value());
+                    rows += saved;
+                    succeeded++;
+                    meterRegistry.counter("candle.backfill.rows", "horizon", horizon.getKey()).increment(saved);
+                    meterRegistry.counter("candle.backfill.markets", "horizon", horizon.getKey(), "outcome", "success").increment();
+                } catch (Throwable e) {
+                    failed++;
+                    meterRegistry.counter("candle.backfill.markets", "horizon", horizon.getKey(), "outcome", "failure").increment();
+                    log.error("{} 캔들 동기화 실패 - {}", horizon.getLabel(), stage.market(), e);
+                }
+
+                int done = completed.incrementAndGet();
+                if (done % PROGRESS_LOG_INTERVAL == 0 || done == total) {
+                    double seconds = Math.max((System.nanoTime() - startedAt) / 1e9, 0.001);
+                    log.info("{} 캔들 동기화 진행 {}/{} - {} markets/s, {} rows/s",
+                            horizon.getLabel(), done, total,
+                            String.format("%.1f", done / seconds), String.format("%.1f", rows / seconds));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.clear();
+            throw new RuntimeException(horizon.getLabel() + " 캔들 동기화 중단", e);
+        } finally {
+            sample.stop(meterRegistry.timer("candle.backfill.duration", "horizon", horizon.getKey()));
+        }
+
+        log.info("{} 캔들 동기화 완료 - 성공: {}개, 실패: {}개, 저장: {}개 ({}ms)",
+                horizon.getLabel(), succeeded, failed, rows,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        return new Result(succeeded, failed, rows);
+    }
+
+    private static <F, P> Stage<P> parseStage(Stage<F> stage, Function<F, P> parse) {
+        if (stage.error() != null) {
+            return Stage.failure(stage.market(), stage.error());
+        }
+        try {
+            return Stage.success(stage.market(), parse.apply(stage.value()));
+        } catch (Throwable e) {
+            return Stage.failure(stage.market(), e);
+        }
+    }
+
+    // 기간별 진행률 게이지 (완료 마켓 수 / 전체 마켓 수), 처음 사용할 때 한 번만 등록
+    private AtomicInteger progressOf(CandleHorizon horizon, int total) {
+        AtomicInteger completed = completedMarkets.computeIfAbsent(horizon, h ->
+                meterRegistry.gauge("candle.backfill.completed.markets", Tags.of("horizon", h.getKey()), new AtomicInteger()));
+        AtomicInteger expected = totalMarkets.computeIfAbsent(horizon, h ->
+                meterRegistry.gauge("candle.backfill.total.markets", Tags.of("horizon", h.getKey()), new AtomicInteger()));
+        completed.set(0);
+        expected.set(total);
+        return completed;
+    }
+}
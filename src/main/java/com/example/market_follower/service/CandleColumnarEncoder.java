@@ -0,0 +1,287 @@
+package com.example.market_follower.service;
+
+import com.example.market_follower.model.MarketScope;
+import com.example.market_follower.model.candle.BaseCandle;
+import com.example.market_follower.model.candle.CandleHorizon;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+import static com.example.market_follower.service.VarInts.writeVarLong;
+import static com.example.market_follower.service.VarInts.zigzag;
+
+// 대용량 캔들 응답의 컬럼 형식 인코더
+// 마켓+기간 단위로 묶어 필드명/마켓명을 한 번만 쓰고, 값은 병렬 배열로 전송
+// - t: 첫 캔들 UTC epoch 초(base) 기준, 이전 캔들과의 차이(초)
+// - o/h/l/c: 10^scale 을 곱한 정수 (scale 은 시리즈마다 다름, long 범위를 넘으면 scale 을 낮춤)
+// - v/p: 누적 거래량/누적 거래 금액 (double)
+// KST 시각은 UTC + 9시간, 기간별 추가 필드(unit, change_rate 등)는 포함하지 않음
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CandleColumnarEncoder {
+    public static final String COLUMNAR_JSON = "application/vnd.market-follower.columnar+json";
+    public static final String COLUMNAR_BINARY = "application/vnd.market-follower.columnar";
+
+    // 바이너리 형식 첫 4바이트
+    private static final byte[] MAGIC = "MFC1".getBytes(StandardCharsets.US_ASCII);
+    private static final int MAX_PRICE_SCALE = 8;
+
+    private final CandleExportService candleExportService;
+    private final ObjectMapper objectMapper;
+
+    // {"upbit_candle_7d":[{"market":"KRW-BTC","base":..,"scale":..,"t":[..],"o":[..],...}, ...], "upbit_candle_30d":[...], ...}
+    public void writeJson(MarketScope scope, LocalDateTime since, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+
+            CandleHorizon[] current = {null};
+            encode(scope, since, series -> {
+                if (series.horizon != current[0]) {
+                    if (current[0] != null) {
+                        generator.writeEndArray();
+                    }
+                    generator.writeArrayFieldStart(series.horizon.getTableName());
+                    current[0] = series.horizon;
+                }
+                writeJsonSeries(generator, series);
+            });
+
+            if (current[0] != null) {
+                generator.writeEndArray();
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    // 바이너리 형식 (big-endian)
+    // 헤더: "MFC1"
+    // 블록: int32 블록 길이(이 4바이트 제외) + 블록 본문, 길이 0 이면 끝
+    // 블록 본문: uint8 기간(0=7d,1=30d,2=3m,3=1y,4=5y), uint16 마켓 길이 + UTF-8 마켓, int32 개수 n,
+    //          int64 base(epoch 초), uint8 scale,
+    //          varint × n 시간 차이, zigzag varint × n × 4 가격(o,h,l,c 각 열에서 이전 값과의 차이),
+    //          float64 × n 누적 거래량, float64 × n 누적 거래 금액
+    public void writeBinary(MarketScope scope, LocalDateTime since, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.write(MAGIC);
+
+        ByteArrayOutputStream block = new ByteArrayOutputStream(16 * 1024);
+        DataOutputStream blockData = new DataOutputStream(block);
+
+        encode(scope, since, series -> {
+            block.reset();
+            writeBinarySeries(blockData, series);
+            blockData.flush();
+            data.writeInt(block.size());
+            block.writeTo(data);
+        });
+
+        data.writeInt(0);
+        data.flush();
+    }
+
+    @FunctionalInterface
+    private interface SeriesSink {
+        void accept(Series series) throws IOException;
+    }
+
+    // 마켓/시간순으로 들어오는 캔들을 (기간, 마켓) 시리즈 단위로 모아 sink 로 전달
+    // 한 번에 메모리에 올라가는 건 시리즈 하나뿐
+    private void encode(MarketScope scope, LocalDateTime since, SeriesSink sink) throws IOException {
+        long startedAt = System.currentTimeMillis();
+        Series series = new Series();
+        int[] seriesCount = {0};
+
+        candleExportService.forEachCandle(scope, since, (horizon, candle) -> {
+            if (!series.isFor(horizon, candle.getMarket())) {
+                if (emit(series, sink)) {
+                    seriesCount[0]++;
+                }
+                series.reset(horizon, candle.getMarket());
+            }
+            series.add(candle);
+        });
+        if (emit(series, sink)) {
+            seriesCount[0]++;
+        }
+
+        log.info("{} 마켓 캔들 컬럼 형식 인코딩 완료 - {}개 시리즈 ({}ms)",
+                scope.label(), seriesCount[0], System.currentTimeMillis() - startedAt);
+    }
+
+    // scale 0 으로도 long 범위를 넘는 가격이 있는 시리즈는 보내지 않음
+    private boolean emit(Series series, SeriesSink sink) throws IOException {
+        if (series.size == 0) {
+            return false;
+        }
+        series.scale = series.priceScale();
+        if (series.scale < 0) {
+            log.warn("{} {} 캔들 가격이 정수 범위를 넘어 컬럼 형식에서 제외", series.horizon.getLabel(), series.market);
+            return false;
+        }
+        sink.accept(series);
+        return true;
+    }
+
+    private void writeJsonSeries(JsonGenerator generator, Series series) throws IOException {
+        int scale = series.scale;
+
+        generator.writeStartObject();
+        generator.writeStringField("market", series.market);
+        generator.writeNumberField("base", series.epochSeconds[0]);
+        generator.writeNumberField("scale", scale);
+
+        generator.writeArrayFieldStart("t");
+        for (int i = 0; i < series.size; i++) {
+            generator.writeNumber(i == 0 ? 0 : series.epochSeconds[i] - series.epochSeconds[i - 1]);
+        }
+        generator.writeEndArray();
+
+        writeJsonPrices(generator, "o", series.open, series.size, scale);
+        writeJsonPrices(generator, "h", series.high, series.size, scale);
+        writeJsonPrices(generator, "l", series.low, series.size, scale);
+        writeJsonPrices(generator, "c", series.close, series.size, scale);
+
+        generator.writeFieldName("v");
+        generator.writeArray(series.volume, 0, series.size);
+        generator.writeFieldName("p");
+        generator.writeArray(series.accTradePrice, 0, series.size);
+        generator.writeEndObject();
+    }
+
+    private void writeJsonPrices(JsonGenerator generator, String field, BigDecimal[] prices, int size, int scale) throws IOException {
+        generator.writeArrayFieldStart(field);
+        for (int i = 0; i < size; i++) {
+            generator.writeNumber(scaled(prices[i], scale));
+        }
+        generator.writeEndArray();
+    }
+
+    private void writeBinarySeries(DataOutputStream out, Series series) throws IOException {
+        int scale = series.scale;
+        byte[] market = series.market.getBytes(StandardCharsets.UTF_8);
+
+        out.writeByte(series.horizon.ordinal());
+        out.writeShort(market.length);
+        out.write(market);
+        out.writeInt(series.size);
+        out.writeLong(series.epochSeconds[0]);
+        out.writeByte(scale);
+
+        for (int i = 0; i < series.size; i++) {
+            writeVarLong(out, i == 0 ? 0 : series.epochSeconds[i] - series.epochSeconds[i - 1]);
+        }
+        for (BigDecimal[] column : new BigDecimal[][]{series.open, series.high, series.low, series.close}) {
+            long previous = 0;
+            for (int i = 0; i < series.size; i++) {
+                long value = scaled(column[i], scale);
+                writeVarLong(out, zigzag(value - previous));
+                previous = value;
+            }
+        }
+        for (int i = 0; i < series.size; i++) {
+            out.writeDouble(series.volume[i]);
+        }
+        for (int i = 0; i < series.size; i++) {
+            out.writeDouble(series.accTradePrice[i]);
+        }
+    }
+
+    // long 범위를 넘으면 ArithmeticException (priceScale 에서 미리 걸러짐)
+    private static long scaled(BigDecimal price, int scale) {
+        return price.setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    // (기간, 마켓) 하나의 캔들 시리즈, 배열은 재사용
+    private static final class Series {
+        private CandleHorizon horizon;
+        private String market;
+        private int size;
+        private int scale;
+        private long[] epochSeconds = new long[512];
+        private BigDecimal[] open = new BigDecimal[512];
+        private BigDecimal[] high = new BigDecimal[512];
+        private BigDecimal[] low = new BigDecimal[512];
+        private BigDecimal[] close = new BigDecimal[512];
+        private double[] volume = new double[512];
+        private double[] accTradePrice = new double[512];
+
+        boolean isFor(CandleHorizon horizon, String market) {
+            return this.horizon == horizon && market.equals(this.market);
+        }
+
+        void reset(CandleHorizon horizon, String market) {
+            this.horizon = horizon;
+            this.market = market;
+            this.size = 0;
+        }
+
+        void add(BaseCandle candle) {
+            if (size == epochSeconds.length) {
+                int capacity = size * 2;
+                epochSeconds = Arrays.copyOf(epochSeconds, capacity);
+                open = Arrays.copyOf(open, capacity);
+                high = Arrays.copyOf(high, capacity);
+                low = Arrays.copyOf(low, capacity);
+                close = Arrays.copyOf(close, capacity);
+                volume = Arrays.copyOf(volume, capacity);
+                accTradePrice = Arrays.copyOf(accTradePrice, capacity);
+            }
+            epochSeconds[size] = candle.getCandleDateTimeUtc().toEpochSecond(ZoneOffset.UTC);
+            open[size] = candle.getOpeningPrice();
+            high[size] = candle.getHighPrice();
+            low[size] = candle.getLowPrice();
+            close[size] = candle.getTradePrice();
+            volume[size] = candle.getCandleAccTradeVolume().doubleValue();
+            accTradePrice[size] = candle.getCandleAccTradePrice().doubleValue();
+            size++;
+        }
+
+        // 시리즈 가격을 손실 없이 표현하는 최소 소수 자릿수 (최대 8)
+        // 그 자릿수로 long 범위를 넘는 가격이 있으면 넘지 않을 때까지 낮춤 (0 으로도 넘으면 -1)
+        int priceScale() {
+            int scale = 0;
+            for (int i = 0; i < size && scale < MAX_PRICE_SCALE; i++) {
+                scale = Math.max(scale, significantScale(open[i]));
+                scale = Math.max(scale, significantScale(high[i]));
+                scale = Math.max(scale, significantScale(low[i]));
+                scale = Math.max(scale, significantScale(close[i]));
+            }
+            for (scale = Math.min(scale, MAX_PRICE_SCALE); scale >= 0; scale--) {
+                if (fitsLong(scale)) {
+                    return scale;
+                }
+            }
+            return -1;
+        }
+
+        private boolean fitsLong(int scale) {
+            try {
+                for (int i = 0; i < size; i++) {
+                    scaled(open[i], scale);
+                    scaled(high[i], scale);
+                    scaled(low[i], scale);
+                    scaled(close[i], scale);
+                }
+                return true;
+            } catch (ArithmeticException e) {
+                return false;
+            }
+        }
+
+        private static int significantScale(BigDecimal price) {
+            return Math.max(0, price.stripTrailingZeros().scale());
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.market_follower.service;
+
+import com.example.market_follower.model.MarketScope;
+import com.example.market_follower.model.candle.BaseCandle;
+import com.example.market_follower.model.candle.CandleHorizon;
+import com.example.market_follower.repository.TradableCoinRepository;
+import com.example.market_follower.repository.candle.*;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// 대용량 캔들 응답을 한 번에 메모리에 올리지 않고 DB 커서에서 읽는 즉시 내보냄
+@Slf4j
+@Service
+public class CandleExportService {
+    private static final int FLUSH_INTERVAL = 500;
+    private static final long KST_OFFSET_HOURS = 9;
+    // 범위 조건을 생략했을 때 쓰는 DATETIME 최소/최대 값
+    private static final LocalDateTime MIN_DATE_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_DATE_TIME = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TradableCoinRepository tradableCoinRepository;
+    private final Map<CandleHorizon, BaseCandleRepository<? extends BaseCandle>> repositories = new EnumMap<>(CandleHorizon.class);
+
+    public CandleExportService(
+            ObjectMapper objectMapper,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            TradableCoinRepository tradableCoinRepository,
+            UpbitCandle7dRepository upbitCandle7dRepository,
+            UpbitCandle30dRepository upbitCandle30dRepository,
+            UpbitCandle3mRepository upbitCandle3mRepository,
+            UpbitCandle1yRepository upbitCandle1yRepository,
+            UpbitCandle5yRepository upbitCandle5yRepository
+    ) {
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.tradableCoinRepository = tradableCoinRepository;
+
+        repositories.put(CandleHorizon.SEVEN_DAYS, upbitCandle7dRepository);
+        repositories.put(CandleHorizon.THIRTY_DAYS, upbitCandle30dRepository);
+        repositories.put(CandleHorizon.THREE_MONTHS, upbitCandle3mRepository);
+        repositories.put(CandleHorizon.ONE_YEAR, upbitCandle1yRepository);
+        repositories.put(CandleHorizon.FIVE_YEARS, upbitCandle5yRepository);
+    }
+
+    @FunctionalInterface
+    public interface CandleVisitor {
+        void visit(CandleHorizon horizon, BaseCandle candle) throws IOException;
+    }
+
+    // 기간별로 (마켓, 시간) 순서대로 캔들을 하나씩 visitor 에 전달
+    // since 가 null 이면 전체, 아니면 KST 기준 since 이후 캔들만
+    public void forEachCandle(MarketScope scope, LocalDateTime since, CandleVisitor visitor) throws IOException {
+        forEachCandle(List.of(CandleHorizon.values()), scope, since, visitor);
+    }
+
+    // 한 기간의 캔들만 (마켓, 시간) 순서대로 전달
+    public void forEachCandle(CandleHorizon horizon, MarketScope scope, LocalDateTime since, CandleVisitor visitor) throws IOException {
+        forEachCandle(List.of(horizon), scope, since, visitor);
+    }
+
+    // 호가 화폐 기준 대상 마켓 (tradable_coin 의 quote_currency 가 아직 채워지지 않았으면 비어 있음)
+    public List<String> marketsOf(MarketScope scope) {
+        return tradableCoinRepository.findMarketsByQuoteCurrencyIn(scope.quoteCurrencies());
+    }
+
+    // 대상 마켓은 tradable_coin 의 호가 화폐로 먼저 구하고 캔들은 마켓 목록(IN)으로 조회
+    // (market LIKE/NOT LIKE 대신 마켓별 인덱스 범위 조회)
+    private void forEachCandle(List<CandleHorizon> horizons, MarketScope scope, LocalDateTime since,
+                               CandleVisitor visitor) throws IOException {
+        List<String> markets = marketsOf(scope);
+        if (markets.isEmpty()) {
+            return;
+        }
+
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                for (CandleHorizon horizon : horizons) {
+                    try (Stream<? extends BaseCandle> candles = open(repositories.get(horizon), markets, since)) {
+                        candles.forEach(candle -> {
+                            try {
+                                visitor.visit(horizon, candle);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                            // 이미 내보낸 엔티티는 영속성 컨텍스트에서 분리해 메모리 사용량을 일정하게 유지
+                            entityManager.detach(candle);
+                        });
+                    }
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // 한 마켓 캔들 조회 결과, nextCursor 는 다음 페이지 요청에 넘길 값 (마지막 캔들 KST 시각, 다음 페이지가 없으면 null)
+    public record CandlePage(String market, String horizon, List<? extends BaseCandle> candles, LocalDateTime nextCursor) {
+    }
+
+    // 한 마켓의 KST [from, to] 범위 캔들을 시간순으로 limit 개 조회, cursor 가 있으면 그 이후부터
+    // 다음 페이지가 있는지 알기 위해 limit + 1 개를 읽음
+    public CandlePage findPage(CandleHorizon horizon, String market, LocalDateTime from, LocalDateTime to,
+                               LocalDateTime cursor, int limit) {
+        List<? extends BaseCandle> rows = repositories.get(horizon).findPageByMarket(
+                market,
+                from == null ? MIN_DATE_TIME : from.minusHours(KST_OFFSET_HOURS),
+                cursor == null ? MIN_DATE_TIME : cursor.minusHours(KST_OFFSET_HOURS),
+                to == null ? MAX_DATE_TIME : to.minusHours(KST_OFFSET_HOURS),
+                Limit.of(limit + 1));
+
+        if (rows.size() <= limit) {
+            return new CandlePage(market, horizon.getKey(), rows, null);
+        }
+        List<? extends BaseCandle> candles = rows.subList(0, limit);
+        return new CandlePage(market, horizon.getKey(), candles, candles.get(limit - 1).getCandleDateTimeKst());
+    }
+
+    // 한 줄에 캔들 하나씩 NDJSON 으로 출력: {"table":"upbit_candle_7d","candle":{...}}
+    public void writeNdjson(MarketScope scope, LocalDateTime since, OutputStream out) throws IOException {
+        long startedAt = System.currentTimeMillis();
+        long[] rows = {0};
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            forEachCandle(scope, since, (horizon, candle) -> {
+                generator.writeStartObject();
+                generator.writeStringField("table", horizon.getTableName());
+                generator.writeFieldName("candle");
+                generator.writeObject(candle);
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+
+                // 첫 줄은 바로 내보내고 이후에는 일정 개수마다 flush
+                if (rows[0]++ % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            });
+        }
+
+        log.info("{} 마켓 캔들 NDJSON 스트리밍 완료 - {}개 ({}ms)",
+                scope.label(), rows[0], System.currentTimeMillis() - startedAt);
+    }
+
+    private Stream<? extends BaseCandle> open(BaseCandleRepository<? extends BaseCandle> repository,
+                                              List<String> markets, LocalDateTime since) {
+        return since == null
+                ? repository.streamByMarketIn(markets)
+                : repository.streamByMarketInAndCandleDateTimeKstGreaterThanEqual(markets, since);
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.market_follower.service;
+
+import com.example.market_follower.model.candle.*;
+import com.example.market_follower.repository.candle.UpbitCandle1yRepository;
+import com.example.market_follower.repository.candle.UpbitCandle7dRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+// 이미 저장된 더 작은 단위 캔들로 큰 단위 캔들을 계산
+// - 30일(4시간봉) <- 7일(1시간봉)
+// - 3달(일봉)     <- 1년(일봉) 그대로 복사
+// - 5년(주봉)     <- 1년(일봉), 월요일(UTC) 시작 주 단위
+// 원본 보관 기간이 닿지 않는 구간(30일/5년 전체 재적재)만 Upbit 에서 직접 받음
+// 마지막으로 저장된 버킷은 계산 당시 원본이 덜 쌓였을 수 있으므로 매번 다시 계산해서 덮어씀
+// 진행 중인 이번 주 주봉도 어제까지의 일봉으로 계산해서 저장 (Upbit 주봉 API 와 같게)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CandleRollupEngine {
+    private final UpbitCandle7dRepository upbitCandle7dRepository;
+    private final UpbitCandle1yRepository upbitCandle1yRepository;
+    private final MeterRegistry meterRegistry;
+
+    // market 의 after 버킷부터(null 이면 보관 기간 전체) todayStart 이전 구간을 계산
+    @FunctionalInterface
+    public interface Rollup<E extends BaseCandle> {
+        List<E> compute(String market, LocalDateTime after, LocalDateTime todayStart);
+    }
+
+    public CandleHorizon sourceOf(CandleHorizon target) {
+        return switch (target) {
+            case THIRTY_DAYS -> CandleHorizon.SEVEN_DAYS;
+            case THREE_MONTHS, FIVE_YEARS -> CandleHorizon.ONE_YEAR;
+            default -> null;
+        };
+    }
+
+    // 계산에 필요한 구간을 원본이 모두 보관하고 있는지
+    public boolean canRollup(CandleHorizon target, LocalDateTime after, LocalDateTime todayStart) {
+        CandleHorizon source = sourceOf(target);
+        if (source == null) {
+            return false;
+        }
+        LocalDateTime needFrom = after == null ? target.windowStart(todayStart) : after;
+        return !needFrom.isBefore(source.windowStart(todayStart));
+    }
+
+    public List<UpbitCandle30d> rollup30d(String market, LocalDateTime after, LocalDateTime todayStart) {
+        CandleHorizon target = CandleHorizon.THIRTY_DAYS;
+        List<UpbitCandle7d> hourly = upbitCandle7dRepository.findByMarketAndCandleDateTimeUtcRange(
+                market, sourceStart(target, after, todayStart, this::fourHourBucket), todayStart);
+
+        return counted(target, aggregate(target, hourly, this::fourHourBucket, after, todayStart).stream()
+                .map(bucket -> UpbitCandle30d.builder()
+                        .market(market)
+                        .candleDateTimeUtc(bucket.start)
+                        .candleDateTimeKst(bucket.start.plusHours(9))
+                        .openingPrice(bucket.open)
+                        .highPrice(bucket.high)
+                        .lowPrice(bucket.low)
+                        .tradePrice(bucket.close)
+                        .timestamp(bucket.timestamp)
+                        .candleAccTradePrice(bucket.accTradePrice)
+                        .candleAccTradeVolume(bucket.accTradeVolume)
+                        .unit((int) target.getInterval().toMinutes())
+                        .build())
+                .toList());
+    }
+
+    public List<UpbitCandle3m> rollup3m(String market, LocalDateTime after, LocalDateTime todayStart) {
+        CandleHorizon target = CandleHorizon.THREE_MONTHS;
+        LocalDateTime windowStart = target.windowStart(todayStart);
+        List<UpbitCandle1y> daily = upbitCandle1yRepository.findByMarketAndCandleDateTimeUtcRange(
+                market, after == null ? windowStart : after, todayStart);
+
+        return counted(target, daily.stream()
+                .map(day -> UpbitCandle3m.builder()
+                        .market(day.getMarket())
+                        .candleDateTimeUtc(day.getCandleDateTimeUtc())
+                        .candleDateTimeKst(day.getCandleDateTimeKst())
+                        .openingPrice(day.getOpeningPrice())
+                        .highPrice(day.getHighPrice())
+                        .lowPrice(day.getLowPrice())
+                        .tradePrice(day.getTradePrice())
+                        .timestamp(day.getTimestamp())
+                        .candleAccTradePrice(day.getCandleAccTradePrice())
+                        .candleAccTradeVolume(day.getCandleAccTradeVolume())
+                        .prevClosingPrice(day.getPrevClosingPrice())
+                        .changePrice(day.getChangePrice())
+                        .changeRate(day.getChangeRate())
+                        .build())
+                .toList());
+    }
+
+    public List<UpbitCandle5y> rollup5y(String market, LocalDateTime after, LocalDateTime todayStart) {
+        CandleHorizon target = CandleHorizon.FIVE_YEARS;
+        List<UpbitCandle1y> daily = upbitCandle1yRepository.findByMarketAndCandleDateTimeUtcRange(
+                market, sourceStart(target, after, todayStart, this::weekBucket), todayStart);
+
+        return counted(target, aggregate(target, daily, this::weekBucket, after, todayStart).stream()
+                .map(bucket -> UpbitCandle5y.builder()
+                        .market(market)
+                        .candleDateTimeUtc(bucket.start)
+                        .candleDateTimeKst(bucket.start.plusHours(9))
+                        .openingPrice(bucket.open)
+                        .highPrice(bucket.high)
+                        .lowPrice(bucket.low)
+                        .tradePrice(bucket.close)
+                        .timestamp(bucket.timestamp)
+                        .candleAccTradePrice(bucket.accTradePrice)
+                        .candleAccTradeVolume(bucket.accTradeVolume)
+                        .firstDayOfPeriod(bucket.start.toLocalDate())
+                        .build())
+                .toList());
+    }
+
+    // Upbit 4시간봉은 UTC 0, 4, 8, 12, 16, 20시 시작
+    private LocalDateTime fourHourBucket(LocalDateTime utc) {
+        LocalDateTime hour = utc.truncatedTo(ChronoUnit.HOURS);
+        return hour.withHour(hour.getHour() - hour.getHour() % 4);
+    }
+
+    // Upbit 주봉은 월요일(UTC) 00시 시작
+    private LocalDateTime weekBucket(LocalDateTime utc) {
+        return utc.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+    }
+
+    // 원본 조회 시작 시각 (첫 버킷의 시작, 증분이면 마지막으로 저장된 버킷의 시작)
+    private LocalDateTime sourceStart(CandleHorizon target, LocalDateTime after, LocalDateTime todayStart,
+                                      UnaryOperator<LocalDateTime> bucketOf) {
+        LocalDateTime from = after == null ? target.windowStart(todayStart) : after;
+        return bucketOf.apply(from);
+    }
+
+    // 시간순 원본 캔들을 버킷별 OHLCV 로 합치고, 보관 범위 안에서 todayStart 전에 시작한 버킷을 반환 (after 버킷 포함)
+    private List<Bucket> aggregate(CandleHorizon target, List<? extends BaseCandle> candles,
+                                   UnaryOperator<LocalDateTime> bucketOf, LocalDateTime after, LocalDateTime todayStart) {
+        Map<LocalDateTime, Bucket> buckets = new LinkedHashMap<>();
+        for (BaseCandle candle : candles) {
+            buckets.computeIfAbsent(bucketOf.apply(candle.getCandleDateTimeUtc()), Bucket::new).add(candle);
+        }
+
+        LocalDateTime windowStart = target.windowStart(todayStart);
+        List<Bucket> result = new ArrayList<>(buckets.size());
+        for (Bucket bucket : buckets.values()) {
+            if (!bucket.start.isBefore(windowStart) &&
+                    (after == null || !bucket.start.isBefore(after)) &&
+                    bucket.start.isBefore(todayStart)) {
+                result.add(bucket);
+            }
+        }
+        return result;
+    }
+
+    private <E extends BaseCandle> List<E> counted(CandleHorizon target, List<E> candles) {
+        meterRegistry.counter("candle.rollup.rows", "horizon", target.getKey()).increment(candles.size());
+        return candles;
+    }
+
+    private static final class Bucket {
+        private final LocalDateTime start;
+        private BigDecimal open;
+        private BigDecimal high;
+        private BigDecimal low;
+        private BigDecimal close;
+        private Long timestamp;
+        private BigDecimal accTradePrice = BigDecimal.ZERO;
+        private BigDecimal accTradeVolume = BigDecimal.ZERO;
+
+        Bucket(LocalDateTime start) {
+            this.start = start;
+        }
+
+        // 시간순으로 호출되므로 처음 캔들의 시가가 시가, 마지막 캔들의 종가가 종가
+        void add(BaseCandle candle) {
+            if (open == null) {
+                open = candle.getOpeningPrice();
+                high = candle.getHighPrice();
+                low = candle.getLowPrice();
+            } else {
+                high = high.max(candle.getHighPrice());
+                low = low.min(candle.getLowPrice());
+            }
+            close = candle.getTradePrice();
+            timestamp = candle.getTimestamp();
+            accTradePrice = accTradePrice.add(orZero(candle.getCandleAccTradePrice()));
+            accTradeVolume = accTradeVolume.add(orZero(candle.getCandleAccTradeVolume()));
+        }
+
+        // 누적 거래대금/거래량이 비어 있는 원본 캔들은 거래 없음으로 취급
+        private static BigDecimal orZero(BigDecimal value) {
+            return value == null ? BigDecimal.ZERO : value;
+        }
+    }
+}
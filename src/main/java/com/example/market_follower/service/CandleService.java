@@ -1,33 +1,43 @@
 package com.example.market_follower.service;
 
+import com.example.market_follower.client.UpbitApiClient;
 import com.example.market_follower.dto.upbit.candle.*;
+import com.example.market_follower.model.MarketScope;
 import com.example.market_follower.model.candle.*;
 import com.example.market_follower.repository.TradableCoinRepository;
 import com.example.market_follower.repository.candle.*;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class CandleService {
-    private final StringRedisTemplate redisTemplate;
-    private final ObjectMapper objectMapper;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private static final int MAX_CANDLES_PER_REQUEST = 200;
+    private static final List<CandleHorizon> SYNC_ORDER = List.of(
+            CandleHorizon.SEVEN_DAYS, CandleHorizon.ONE_YEAR,
+            CandleHorizon.THIRTY_DAYS, CandleHorizon.THREE_MONTHS, CandleHorizon.FIVE_YEARS);
+    private static final DateTimeFormatter UPBIT_TO_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final int SYNC_PROGRESS_RETENTION_DAYS = 7;
+
+    private final UpbitApiClient upbitApiClient;
     private final UpbitCandle7dRepository upbitCandle7dRepository;
     private final UpbitCandle30dRepository upbitCandle30dRepository;
     private final UpbitCandle3mRepository upbitCandle3mRepository;
@@ -35,6 +45,19 @@ public class CandleService {
     private final UpbitCandle5yRepository upbitCandle5yRepository;
     private final TradableCoinRepository tradableCoinRepository;
     private final MarketService marketService;
+    private final CandleBackfillPipeline candleBackfillPipeline;
+    private final CandleRollupEngine candleRollupEngine;
+    private final CandleBulkWriter candleBulkWriter;
+    private final CandleSnapshotCache candleSnapshotCache;
+    private final DailyCandleStore dailyCandleStore;
+    private final MeterRegistry meterRegistry;
+    private final CandleSyncProgressRepository candleSyncProgressRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CandleRetentionManager candleRetentionManager;
+
+    // 증분 동기화 시 허용하는 캔들 누락 비율 (이보다 많이 비어 있으면 전체 재적재)
+    @Value("${candle.sync.gap-tolerance:0.1}")
+    private double gapTolerance;
 
     private LocalDateTime parseDateTime(String dateTimeString) {
         if (dateTimeString == null) {  return null; }
@@ -48,466 +71,325 @@ public class CandleService {
         }
     }
 
-    // 7일 데이터 동기화 - 오늘 00시 기준 정확히 7일 범위
-    private void sync7d(String coin) throws InterruptedException {
-        LocalDateTime todayStart = LocalDateTime.now().toLocalDate().atStartOfDay();
-        LocalDateTime sevenDaysAgoStart = todayStart.minusDays(7);
-
-        log.info("7일 캔들 동기화 범위: {} ~ {}", sevenDaysAgoStart, todayStart);
-
-        // 범위를 벗어나는 데이터 삭제
-        upbitCandle7dRepository.deleteByMarketAndCandleDateTimeUtcOutsideRange(
-                coin, sevenDaysAgoStart, todayStart);
-
-        // 현재 DB에 있는 시간들 조회 (범위 내)
-        Set<LocalDateTime> existingDates = new HashSet<>(
-                upbitCandle7dRepository.findCandleDateTimeUtcByMarketAndCandleDateTimeUtcBetween(
-                        coin, sevenDaysAgoStart, todayStart));
-
-        // API에서 178개 요청 (1시간 간격, 7일치)
-        String url = "https://api.upbit.com/v1/candles/minutes/60?market=" + coin + "&count=178";
-        UpbitCandle7dDto[] dtos = restTemplate.getForObject(url, UpbitCandle7dDto[].class);
-
-        if (dtos != null) {
-            List<UpbitCandle7d> saveList = new ArrayList<>();
-
-            for (UpbitCandle7dDto dto : dtos) {
-                LocalDateTime candleDateTimeUtc = parseDateTime(dto.getCandleDateTimeUtc());
-
-                if (candleDateTimeUtc != null &&
-                        !candleDateTimeUtc.isBefore(sevenDaysAgoStart) &&
-                        candleDateTimeUtc.isBefore(todayStart) &&
-                        !existingDates.contains(candleDateTimeUtc)) {
-
-                    UpbitCandle7d entity = UpbitCandle7d.builder()
-                            .market(dto.getMarket())
-                            .candleDateTimeUtc(candleDateTimeUtc)
-                            .candleDateTimeKst(parseDateTime(dto.getCandleDateTimeKst()))
-                            .openingPrice(dto.getOpeningPrice())
-                            .highPrice(dto.getHighPrice())
-                            .lowPrice(dto.getLowPrice())
-                            .tradePrice(dto.getTradePrice())
-                            .timestamp(dto.getTimestamp())
-                            .candleAccTradePrice(dto.getCandleAccTradePrice())
-                            .candleAccTradeVolume(dto.getCandleAccTradeVolume())
-                            .unit(dto.getUnit())
-                            .build();
-                    saveList.add(entity);
-                }
-            }
+    // 마켓별 동기화 단위: storedUntil 이 null 이면 전체 재적재, 아니면 storedUntil 이후 캔들만 다룸
+    private record CandleBatch<T>(List<T> candles, LocalDateTime storedUntil) {
+        boolean fullRefill() {
+            return storedUntil == null;
+        }
+    }
 
-            if (!saveList.isEmpty()) {
-                upbitCandle7dRepository.saveAll(saveList);
-            }
+    // DB에 저장된 범위로 증분 동기화 시작 시각 결정
+    // 처음 보는 마켓(신규 상장)이거나 중간에 누락 구간이 있으면 null 을 반환해 전체 재적재
+    private LocalDateTime incrementalFrom(CandleHorizon horizon, CandleCoverage coverage) {
+        if (coverage == null) {
+            return null;
+        }
 
-            log.info("7일 캔들 데이터 동기화 완료 - {} 코인, 저장: {}개", coin, saveList.size());
+        // 거래가 없던 구간은 Upbit 에서도 캔들이 없으므로 gapTolerance 만큼의 누락은 허용
+        long expected = Duration.between(coverage.getOldest(), coverage.getNewest()).dividedBy(horizon.getInterval()) + 1;
+        if (coverage.getStored() < expected * (1 - gapTolerance)) {
+            log.info("{} 캔들 누락 감지 - {} (저장: {}개, 예상: {}개)",
+                    horizon.getLabel(), coverage.getMarket(), coverage.getStored(), expected);
+            return null;
         }
-        Thread.sleep(500);
+        return coverage.getNewest();
     }
 
-    // 30일 데이터 동기화 - 오늘 00시 기준 정확히 30일 범위
-    private void sync30d(String coin) throws InterruptedException {
-        LocalDateTime todayStart = LocalDateTime.now().toLocalDate().atStartOfDay();
-        LocalDateTime thirtyDaysAgoStart = todayStart.minusDays(30);
-
-        log.info("30일 캔들 동기화 범위: {} ~ {}", thirtyDaysAgoStart, todayStart);
-
-        // 범위를 벗어나는 데이터 삭제
-        upbitCandle30dRepository.deleteByMarketAndCandleDateTimeUtcOutsideRange(
-                coin, thirtyDaysAgoStart, todayStart);
-
-        // 현재 DB에 있는 시간들 조회 (범위 내)
-        Set<LocalDateTime> existingDates = new HashSet<>(
-                upbitCandle30dRepository.findCandleDateTimeUtcByMarketAndCandleDateTimeUtcBetween(
-                        coin, thirtyDaysAgoStart, todayStart));
-
-        // API에서 30일 데이터 요청 (4시간 단위)
-        String url = "https://api.upbit.com/v1/candles/minutes/240?market=" + coin + "&count=190";
-        UpbitCandle30dDto[] dtos = restTemplate.getForObject(url, UpbitCandle30dDto[].class);
-
-        if (dtos != null) {
-            List<UpbitCandle30d> saveList = new ArrayList<>();
-
-            for (UpbitCandle30dDto dto : dtos) {
-                LocalDateTime candleDateTimeUtc = parseDateTime(dto.getCandleDateTimeUtc());
-
-                if (candleDateTimeUtc != null &&
-                        !candleDateTimeUtc.isBefore(thirtyDaysAgoStart) &&
-                        candleDateTimeUtc.isBefore(todayStart) &&
-                        !existingDates.contains(candleDateTimeUtc)) {
-
-                    UpbitCandle30d entity = UpbitCandle30d.builder()
-                            .market(dto.getMarket())
-                            .candleDateTimeUtc(candleDateTimeUtc)
-                            .candleDateTimeKst(parseDateTime(dto.getCandleDateTimeKst()))
-                            .openingPrice(dto.getOpeningPrice())
-                            .highPrice(dto.getHighPrice())
-                            .lowPrice(dto.getLowPrice())
-                            .tradePrice(dto.getTradePrice())
-                            .timestamp(dto.getTimestamp())
-                            .candleAccTradePrice(dto.getCandleAccTradePrice())
-                            .candleAccTradeVolume(dto.getCandleAccTradeVolume())
-                            .unit(dto.getUnit())
-                            .build();
-                    saveList.add(entity);
-                }
-            }
+    // storedUntil 이후 ~ todayStart 이전에 시작하는 캔들 개수
+    // 마지막으로 저장된 캔들이 아직 진행 중(이번 주 주봉)이면 그 캔들도 다시 받아 덮어씀
+    private int missingCount(CandleHorizon horizon, LocalDateTime storedUntil, LocalDateTime todayStart) {
+        LocalDateTime next = storedUntil.plus(horizon.getInterval());
+        LocalDateTime from = next.isAfter(todayStart) ? storedUntil : next;
+        long intervalMillis = horizon.getInterval().toMillis();
+        long slots = (Duration.between(from, todayStart).toMillis() + intervalMillis - 1) / intervalMillis;
+        return (int) Math.max(0, Math.min(slots, horizon.getFullCount()));
+    }
 
-            if (!saveList.isEmpty()) {
-                upbitCandle30dRepository.saveAll(saveList);
-            }
+    // Upbit 캔들 API에서 to 이전 캔들을 최신순으로 count개 가져옴 (요청당 최대 200개, 이후 to 를 앞당겨 이전 페이지 요청)
+    private <D> List<D> fetchCandles(CandleHorizon horizon, String market, int count, LocalDateTime to,
+                                     Class<D[]> dtoType, Function<D, String> utcOf) {
+        List<D> candles = new ArrayList<>(count);
+        String toParam = to.format(UPBIT_TO_FORMAT);
 
-            log.info("30일 캔들 데이터 동기화 완료 - {} 코인, 저장: {}개", coin, saveList.size());
-        }
-        Thread.sleep(500);
-    }
+        while (candles.size() < count) {
+            int requestCount = Math.min(count - candles.size(), MAX_CANDLES_PER_REQUEST);
+            String path = horizon.getEndpoint() + "?market=" + market + "&count=" + requestCount + "&to=" + toParam;
 
-    // 3달 데이터 동기화 - 오늘 00시 기준 정확히 90일 범위
-    private void sync3m(String coin) throws InterruptedException {
-        LocalDateTime todayStart = LocalDateTime.now().toLocalDate().atStartOfDay();
-        LocalDateTime ninetyDaysAgoStart = todayStart.minusDays(90);
-
-        log.info("3달 캔들 동기화 범위: {} ~ {}", ninetyDaysAgoStart, todayStart);
-
-        // 범위를 벗어나는 데이터 삭제
-        upbitCandle3mRepository.deleteByMarketAndCandleDateTimeUtcOutsideRange(
-                coin, ninetyDaysAgoStart, todayStart);
-
-        // 현재 DB에 있는 시간들 조회 (범위 내)
-        Set<LocalDateTime> existingDates = new HashSet<>(
-                upbitCandle3mRepository.findCandleDateTimeUtcByMarketAndCandleDateTimeUtcBetween(
-                        coin, ninetyDaysAgoStart, todayStart));
-
-        // API에서 90일 데이터 요청 (일 단위)
-        String url = "https://api.upbit.com/v1/candles/days?market=" + coin + "&count=100";
-        UpbitCandle3mDto[] dtos = restTemplate.getForObject(url, UpbitCandle3mDto[].class);
-
-        if (dtos != null) {
-            List<UpbitCandle3m> saveList = new ArrayList<>();
-
-            for (UpbitCandle3mDto dto : dtos) {
-                LocalDateTime candleDateTimeUtc = parseDateTime(dto.getCandleDateTimeUtc());
-
-                if (candleDateTimeUtc != null &&
-                        !candleDateTimeUtc.isBefore(ninetyDaysAgoStart) &&
-                        candleDateTimeUtc.isBefore(todayStart) &&
-                        !existingDates.contains(candleDateTimeUtc)) {
-
-                    UpbitCandle3m entity = UpbitCandle3m.builder()
-                            .market(dto.getMarket())
-                            .candleDateTimeUtc(candleDateTimeUtc)
-                            .candleDateTimeKst(parseDateTime(dto.getCandleDateTimeKst()))
-                            .openingPrice(dto.getOpeningPrice())
-                            .highPrice(dto.getHighPrice())
-                            .lowPrice(dto.getLowPrice())
-                            .tradePrice(dto.getTradePrice())
-                            .timestamp(dto.getTimestamp())
-                            .candleAccTradePrice(dto.getCandleAccTradePrice())
-                            .candleAccTradeVolume(dto.getCandleAccTradeVolume())
-                            .prevClosingPrice(dto.getPrevClosingPrice())
-                            .changePrice(dto.getChangePrice())
-                            .changeRate(dto.getChangeRate())
-                            .build();
-                    saveList.add(entity);
-                }
-            }
+            D[] dtos = upbitApiClient.get(path, dtoType);
+            if (dtos == null || dtos.length == 0) { break; }
+            candles.addAll(Arrays.asList(dtos));
 
-            if (!saveList.isEmpty()) {
-                upbitCandle3mRepository.saveAll(saveList);
-            }
+            // 요청보다 적게 왔으면 상장 이후 데이터를 모두 받은 것
+            if (dtos.length < requestCount) { break; }
 
-            log.info("3달 캔들 데이터 동기화 완료 - {} 코인, 저장: {}개", coin, saveList.size());
+            // to 는 exclusive 이므로 이번 페이지의 가장 오래된 캔들 시각을 그대로 사용
+            toParam = parseDateTime(utcOf.apply(dtos[dtos.length - 1])).format(UPBIT_TO_FORMAT);
         }
-        Thread.sleep(500);
+        return candles;
     }
 
-    // 1년 데이터 동기화 - 오늘 00시 기준 정확히 365일 범위
-    private void sync1y(String coin) throws InterruptedException {
-        LocalDateTime todayStart = LocalDateTime.now().toLocalDate().atStartOfDay();
-        LocalDateTime oneYearAgoStart = todayStart.minusDays(365);
-
-        log.info("1년 캔들 동기화 범위: {} ~ {}", oneYearAgoStart, todayStart);
-
-        // 범위를 벗어나는 데이터 삭제
-        upbitCandle1yRepository.deleteByMarketAndCandleDateTimeUtcOutsideRange(
-                coin, oneYearAgoStart, todayStart);
-
-        // 현재 DB에 있는 시간들 조회 (범위 내)
-        Set<LocalDateTime> existingDates = new HashSet<>(
-                upbitCandle1yRepository.findCandleDateTimeUtcByMarketAndCandleDateTimeUtcBetween(
-                        coin, oneYearAgoStart, todayStart));
-
-        List<UpbitCandle1y> entities = new ArrayList<>();
-
-        // 첫 번째 요청: 최신 200일
-        String url1 = "https://api.upbit.com/v1/candles/days?market=" + coin + "&count=200";
-        UpbitCandle1yDto[] dtos1 = restTemplate.getForObject(url1, UpbitCandle1yDto[].class);
-
-        if (dtos1 != null && dtos1.length > 0) {
-            // 첫 번째 배치 처리
-            for (UpbitCandle1yDto dto : dtos1) {
-                LocalDateTime candleDateTimeUtc = parseDateTime(dto.getCandleDateTimeUtc());
-
-                if (candleDateTimeUtc != null &&
-                        !candleDateTimeUtc.isBefore(oneYearAgoStart) &&
-                        candleDateTimeUtc.isBefore(todayStart) &&
-                        !existingDates.contains(candleDateTimeUtc)) {
-
-                    UpbitCandle1y entity = UpbitCandle1y.builder()
-                            .market(dto.getMarket())
-                            .candleDateTimeUtc(candleDateTimeUtc)
-                            .candleDateTimeKst(parseDateTime(dto.getCandleDateTimeKst()))
-                            .openingPrice(dto.getOpeningPrice())
-                            .highPrice(dto.getHighPrice())
-                            .lowPrice(dto.getLowPrice())
-                            .tradePrice(dto.getTradePrice())
-                            .timestamp(dto.getTimestamp())
-                            .candleAccTradePrice(dto.getCandleAccTradePrice())
-                            .candleAccTradeVolume(dto.getCandleAccTradeVolume())
-                            .prevClosingPrice(dto.getPrevClosingPrice())
-                            .changePrice(dto.getChangePrice())
-                            .changeRate(dto.getChangeRate())
-                            .build();
-                    entities.add(entity);
-                    existingDates.add(candleDateTimeUtc);
-                }
-            }
-            Thread.sleep(500);
-
-            // 두 번째 요청: 나머지 165일
-            String lastDateTimeUtc = dtos1[dtos1.length - 1].getCandleDateTimeUtc();
-            LocalDateTime lastDateTime = parseDateTime(lastDateTimeUtc);
-            LocalDateTime beforeDateTime = lastDateTime.minusDays(1);
-            String beforeDate = beforeDateTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss"));
-
-            String url2 = "https://api.upbit.com/v1/candles/days?market=" + coin + "&count=175&to=" + beforeDate;
-            UpbitCandle1yDto[] dtos2 = restTemplate.getForObject(url2, UpbitCandle1yDto[].class);
-
-            if (dtos2 != null) {
-                for (UpbitCandle1yDto dto : dtos2) {
-                    LocalDateTime candleDateTimeUtc = parseDateTime(dto.getCandleDateTimeUtc());
-
-                    if (candleDateTimeUtc != null &&
-                            !candleDateTimeUtc.isBefore(oneYearAgoStart) &&
-                            candleDateTimeUtc.isBefore(todayStart) &&
-                            !existingDates.contains(candleDateTimeUtc)) {
-
-                        UpbitCandle1y entity = UpbitCandle1y.builder()
-                                .market(dto.getMarket())
-                                .candleDateTimeUtc(candleDateTimeUtc)
-                                .candleDateTimeKst(parseDateTime(dto.getCandleDateTimeKst()))
-                                .openingPrice(dto.getOpeningPrice())
-                                .highPrice(dto.getHighPrice())
-                                .lowPrice(dto.getLowPrice())
-                                .tradePrice(dto.getTradePrice())
-                                .timestamp(dto.getTimestamp())
-                                .candleAccTradePrice(dto.getCandleAccTradePrice())
-                                .candleAccTradeVolume(dto.getCandleAccTradeVolume())
-                                .prevClosingPrice(dto.getPrevClosingPrice())
-                                .changePrice(dto.getChangePrice())
-                                .changeRate(dto.getChangeRate())
-                                .build();
-                        entities.add(entity);
-                        existingDates.add(candleDateTimeUtc);
-                    }
-                }
+    // DTO -> 엔티티 변환 후 windowStart 이후 todayStart 전에 시작한 캔들 중 마지막으로 저장된 캔들부터 남김
+    // 진행 중인 이번 주 주봉도 저장하고, 다음 동기화 때 다시 받아 덮어씀 (마지막 캔들은 upsert 로 갱신)
+    private <D, E extends BaseCandle> CandleBatch<E> toEntities(CandleHorizon horizon, CandleBatch<D> batch, Function<D, E> mapper,
+                                                                LocalDateTime windowStart, LocalDateTime todayStart) {
+        List<E> entities = new ArrayList<>(batch.candles().size());
+        Set<LocalDateTime> seen = new HashSet<>();
+
+        for (D dto : batch.candles()) {
+            E entity = mapper.apply(dto);
+            LocalDateTime candleDateTimeUtc = entity.getCandleDateTimeUtc();
+
+            if (candleDateTimeUtc != null &&
+                    !candleDateTimeUtc.isBefore(windowStart) &&
+                    candleDateTimeUtc.isBefore(todayStart) &&
+                    (batch.fullRefill() || !candleDateTimeUtc.isBefore(batch.storedUntil())) &&
+                    seen.add(candleDateTimeUtc)) {
+                entities.add(entity);
             }
-            Thread.sleep(500);
         }
+        return new CandleBatch<>(entities, batch.storedUntil());
+    }
 
-        // 배치 저장
-        if (!entities.isEmpty()) {
-            int batchSize = 100;
-            for (int i = 0; i < entities.size(); i += batchSize) {
-                int end = Math.min(i + batchSize, entities.size());
-                upbitCandle1yRepository.saveAll(entities.subList(i, end));
-            }
-            log.info("1년 캔들 데이터 동기화 완료 - {} 코인, 저장: {}개", coin, entities.size());
-        }
+    // 아직 끝나지 않은 구간의 캔들을 지운 뒤 (market, candle_date_time_utc) 기준 upsert, 저장한 개수 반환
+    // 전체 재적재도 upsert 로 덮어쓰므로 기존 데이터를 먼저 조회하거나 지울 필요 없음
+    // (보관 기간이 지난 캔들은 작업 시작 시 removeOldCandles 에서 한 번에 정리)
+    // 마켓 하나가 한 트랜잭션: 진행 상황 기록까지 함께 커밋되므로 중간에 실패해도 끝난 마켓은 남고,
+    // 같은 마켓을 다시 처리해도 upsert 라 결과가 같음
+    private <E extends BaseCandle> int persistCandles(CandleHorizon horizon, BaseCandleRepository<E> repository, String market,
+                                                      CandleBatch<E> batch, LocalDateTime todayStart) {
+        Integer saved = transactionTemplate.execute(status -> {
+            repository.deleteByMarketAndCandleDateTimeUtcAfter(market, todayStart);
+            int rows = candleBulkWriter.upsert(horizon, batch.candles());
+            candleSyncProgressRepository.save(CandleSyncProgress.builder()
+                    .jobDate(todayStart.toLocalDate())
+                    .horizon(horizon.getKey())
+                    .market(market)
+                    .rowsSaved(rows)
+                    .syncedUntil(todayStart)
+                    .build());
+            return rows;
+        });
+        return saved == null ? 0 : saved;
     }
 
-    // 5년 데이터 동기화 - 오늘 00시 기준 정확히 5년 범위
-    private void sync5y(String coin) throws InterruptedException {
-        LocalDateTime todayStart = LocalDateTime.now().toLocalDate().atStartOfDay();
-        LocalDateTime fiveYearsAgoStart = todayStart.minusYears(5);
-
-        log.info("5년 캔들 동기화 범위: {} ~ {}", fiveYearsAgoStart, todayStart);
-
-        // 범위를 벗어나는 데이터 삭제
-        upbitCandle5yRepository.deleteByMarketAndCandleDateTimeUtcOutsideRange(
-                coin, fiveYearsAgoStart, todayStart);
-
-        // 현재 DB에 있는 시간들 조회 (범위 내)
-        Set<LocalDateTime> existingDates = new HashSet<>(
-                upbitCandle5yRepository.findCandleDateTimeUtcByMarketAndCandleDateTimeUtcBetween(
-                        coin, fiveYearsAgoStart, todayStart));
-
-        List<UpbitCandle5y> entities = new ArrayList<>();
-
-        // 첫 번째 요청: 최신 200주
-        String url1 = "https://api.upbit.com/v1/candles/weeks?market=" + coin + "&count=200";
-        UpbitCandle5yDto[] dtos1 = restTemplate.getForObject(url1, UpbitCandle5yDto[].class);
-
-        if (dtos1 != null && dtos1.length > 0) {
-            for (UpbitCandle5yDto dto : dtos1) {
-                LocalDateTime candleDateTimeUtc = parseDateTime(dto.getCandleDateTimeUtc());
-
-                if (candleDateTimeUtc != null &&
-                        !candleDateTimeUtc.isBefore(fiveYearsAgoStart) &&
-                        candleDateTimeUtc.isBefore(todayStart) &&
-                        !existingDates.contains(candleDateTimeUtc)) {
-
-                    UpbitCandle5y entity = UpbitCandle5y.builder()
-                            .market(dto.getMarket())
-                            .candleDateTimeUtc(candleDateTimeUtc)
-                            .candleDateTimeKst(parseDateTime(dto.getCandleDateTimeKst()))
-                            .openingPrice(dto.getOpeningPrice())
-                            .highPrice(dto.getHighPrice())
-                            .lowPrice(dto.getLowPrice())
-                            .tradePrice(dto.getTradePrice())
-                            .timestamp(dto.getTimestamp())
-                            .candleAccTradePrice(dto.getCandleAccTradePrice())
-                            .candleAccTradeVolume(dto.getCandleAccTradeVolume())
-                            .firstDayOfPeriod(dto.getFirstDayOfPeriod())
-                            .build();
-                    entities.add(entity);
-                    existingDates.add(candleDateTimeUtc);
-                }
-            }
-            Thread.sleep(500);
-
-            // 두 번째 요청: 나머지 주 데이터 (5년은 약 260주이므로 추가 60주)
-            String lastDateTimeUtc = dtos1[dtos1.length - 1].getCandleDateTimeUtc();
-            LocalDateTime lastDateTime = parseDateTime(lastDateTimeUtc);
-            LocalDateTime beforeDateTime = lastDateTime.minusDays(7);
-            String beforeDate = beforeDateTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss"));
-
-            String url2 = "https://api.upbit.com/v1/candles/weeks?market=" + coin + "&count=70&to=" + beforeDate;
-            UpbitCandle5yDto[] dtos2 = restTemplate.getForObject(url2, UpbitCandle5yDto[].class);
-
-            if (dtos2 != null) {
-                for (UpbitCandle5yDto dto : dtos2) {
-                    LocalDateTime candleDateTimeUtc = parseDateTime(dto.getCandleDateTimeUtc());
-
-                    if (candleDateTimeUtc != null &&
-                            !candleDateTimeUtc.isBefore(fiveYearsAgoStart) &&
-                            candleDateTimeUtc.isBefore(todayStart) &&
-                            !existingDates.contains(candleDateTimeUtc)) {
-
-                        UpbitCandle5y entity = UpbitCandle5y.builder()
-                                .market(dto.getMarket())
-                                .candleDateTimeUtc(candleDateTimeUtc)
-                                .candleDateTimeKst(parseDateTime(dto.getCandleDateTimeKst()))
-                                .openingPrice(dto.getOpeningPrice())
-                                .highPrice(dto.getHighPrice())
-                                .lowPrice(dto.getLowPrice())
-                                .tradePrice(dto.getTradePrice())
-                                .timestamp(dto.getTimestamp())
-                                .candleAccTradePrice(dto.getCandleAccTradePrice())
-                                .candleAccTradeVolume(dto.getCandleAccTradeVolume())
-                                .firstDayOfPeriod(dto.getFirstDayOfPeriod())
-                                .build();
-                        entities.add(entity);
-                        existingDates.add(candleDateTimeUtc);
-                    }
-                }
-            }
-            Thread.sleep(500);
-        }
+    private UpbitCandle7d to7dEntity(UpbitCandle7dDto dto) {
+        return UpbitCandle7d.builder()
+                .market(dto.getMarket())
+                .candleDateTimeUtc(parseDateTime(dto.getCandleDateTimeUtc()))
+                .candleDateTimeKst(parseDateTime(dto.getCandleDateTimeKst()))
+                .openingPrice(dto.getOpeningPrice())
+                .highPrice(dto.getHighPrice())
+                .lowPrice(dto.getLowPrice())
+                .tradePrice(dto.getTradePrice())
+                .timestamp(dto.getTimestamp())
+                .candleAccTradePrice(dto.getCandleAccTradePrice())
+                .candleAccTradeVolume(dto.getCandleAccTradeVolume())
+                .unit(dto.getUnit())
+                .build();
+    }
 
-        // 배치 저장
-        if (!entities.isEmpty()) {
-            int batchSize = 100;
-            for (int i = 0; i < entities.size(); i += batchSize) {
-                int end = Math.min(i + batchSize, entities.size());
-                upbitCandle5yRepository.saveAll(entities.subList(i, end));
-            }
-            log.info("5년 캔들 데이터 동기화 완료 - {} 코인, 저장: {}개", coin, entities.size());
-        }
+    private UpbitCandle30d to30dEntity(UpbitCandle30dDto dto) {
+        return UpbitCandle30d.builder()
+                .market(dto.getMarket())
+                .candleDateTimeUtc(parseDateTime(dto.getCandleDateTimeUtc()))
+                .candleDateTimeKst(parseDateTime(dto.getCandleDateTimeKst()))
+                .openingPrice(dto.getOpeningPrice())
+                .highPrice(dto.getHighPrice())
+                .lowPrice(dto.getLowPrice())
+                .tradePrice(dto.getTradePrice())
+                .timestamp(dto.getTimestamp())
+                .candleAccTradePrice(dto.getCandleAccTradePrice())
+                .candleAccTradeVolume(dto.getCandleAccTradeVolume())
+                .unit(dto.getUnit())
+                .build();
     }
 
-    @Transactional
-    public void removeOldCandles() {
-        LocalDateTime todayStart = LocalDateTime.now().toLocalDate().atStartOfDay();
+    private UpbitCandle3m to3mEntity(UpbitCandle3mDto dto) {
+        return UpbitCandle3m.builder()
+                .market(dto.getMarket())
+                .candleDateTimeUtc(parseDateTime(dto.getCandleDateTimeUtc()))
+                .candleDateTimeKst(parseDateTime(dto.getCandleDateTimeKst()))
+                .openingPrice(dto.getOpeningPrice())
+                .highPrice(dto.getHighPrice())
+                .lowPrice(dto.getLowPrice())
+                .tradePrice(dto.getTradePrice())
+                .timestamp(dto.getTimestamp())
+                .candleAccTradePrice(dto.getCandleAccTradePrice())
+                .candleAccTradeVolume(dto.getCandleAccTradeVolume())
+                .prevClosingPrice(dto.getPrevClosingPrice())
+                .changePrice(dto.getChangePrice())
+                .changeRate(dto.getChangeRate())
+                .build();
+    }
 
-        // 각 타입별로 정확한 범위 기준으로 오래된 데이터 삭제
-        LocalDateTime sevenDaysAgoStart = todayStart.minusDays(7);
-        LocalDateTime thirtyDaysAgoStart = todayStart.minusDays(30);
-        LocalDateTime ninetyDaysAgoStart = todayStart.minusDays(90);
-        LocalDateTime oneYearAgoStart = todayStart.minusDays(365);
-        LocalDateTime fiveYearsAgoStart = todayStart.minusYears(5);
-
-        upbitCandle7dRepository.deleteByMarketAndCandleDateTimeUtcBefore(null, sevenDaysAgoStart);
-        upbitCandle30dRepository.deleteByMarketAndCandleDateTimeUtcBefore(null, thirtyDaysAgoStart);
-        upbitCandle3mRepository.deleteByMarketAndCandleDateTimeUtcBefore(null, ninetyDaysAgoStart);
-        upbitCandle1yRepository.deleteByMarketAndCandleDateTimeUtcBefore(null, oneYearAgoStart);
-        upbitCandle5yRepository.deleteByMarketAndCandleDateTimeUtcBefore(null, fiveYearsAgoStart);
-
-        log.info("오래된 캔들 데이터 삭제 완료 - 7일: {}, 30일: {}, 3달: {}, 1년: {}, 5년: {}",
-                sevenDaysAgoStart, thirtyDaysAgoStart, ninetyDaysAgoStart, oneYearAgoStart, fiveYearsAgoStart);
+    private UpbitCandle1y to1yEntity(UpbitCandle1yDto dto) {
+        return UpbitCandle1y.builder()
+                .market(dto.getMarket())
+                .candleDateTimeUtc(parseDateTime(dto.getCandleDateTimeUtc()))
+                .candleDateTimeKst(parseDateTime(dto.getCandleDateTimeKst()))
+                .openingPrice(dto.getOpeningPrice())
+                .highPrice(dto.getHighPrice())
+                .lowPrice(dto.getLowPrice())
+                .tradePrice(dto.getTradePrice())
+                .timestamp(dto.getTimestamp())
+                .candleAccTradePrice(dto.getCandleAccTradePrice())
+                .candleAccTradeVolume(dto.getCandleAccTradeVolume())
+                .prevClosingPrice(dto.getPrevClosingPrice())
+                .changePrice(dto.getChangePrice())
+                .changeRate(dto.getChangeRate())
+                .build();
     }
 
-    private void syncCandlesByType(String type) throws InterruptedException {
-        List<String> coins = tradableCoinRepository.findAllMarkets().stream().toList();
+    private UpbitCandle5y to5yEntity(UpbitCandle5yDto dto) {
+        return UpbitCandle5y.builder()
+                .market(dto.getMarket())
+                .candleDateTimeUtc(parseDateTime(dto.getCandleDateTimeUtc()))
+                .candleDateTimeKst(parseDateTime(dto.getCandleDateTimeKst()))
+                .openingPrice(dto.getOpeningPrice())
+                .highPrice(dto.getHighPrice())
+                .lowPrice(dto.getLowPrice())
+                .tradePrice(dto.getTradePrice())
+                .timestamp(dto.getTimestamp())
+                .candleAccTradePrice(dto.getCandleAccTradePrice())
+                .candleAccTradeVolume(dto.getCandleAccTradeVolume())
+                .firstDayOfPeriod(dto.getFirstDayOfPeriod())
+                .build();
+    }
 
-        int batchSize = 30; // 30개씩 처리
-        int totalBatches = (coins.size() + batchSize - 1) / batchSize;
+    // 기간별 보관 시작 시각 이전 캔들 삭제 (MySQL 은 파티션 DROP, 그 외는 청크 DELETE)
+    public void removeOldCandles() {
+        LocalDateTime todayStart = LocalDateTime.now().toLocalDate().atStartOfDay();
 
-        for (int batchIndex = 0; batchIndex < totalBatches; batchIndex++) {
-            int startIdx = batchIndex * batchSize;
-            int endIdx = Math.min(startIdx + batchSize, coins.size());
-            List<String> batch = coins.subList(startIdx, endIdx);
+        for (CandleHorizon horizon : CandleHorizon.values()) {
+            LocalDateTime windowStart = horizon.windowStart(todayStart);
+            long deleted = candleRetentionManager.purgeBefore(horizon, windowStart);
+            log.info("{} 오래된 캔들 데이터 삭제 완료 - {} 이전, 행 단위 삭제: {}개", horizon.getLabel(), windowStart, deleted);
+        }
+    }
 
-            log.info("{} 캔들 동기화 배치 {}/{} - {}개 코인", type, batchIndex + 1, totalBatches, batch.size());
+    // 한 기간(horizon)의 모든 코인을 fetch -> parse -> persist 파이프라인으로 동기화
+    // DB에 이미 있는 마지막 캔들 이후만 요청하고, 신규 상장/누락 구간이 있는 코인만 전체 기간을 다시 받음
+    // rollup 이 있으면 원본 기간이 오늘 동기화를 마쳤고 원본 캔들로 계산 가능한 코인은 Upbit 대신 로컬에서 계산
+    private <D, E extends BaseCandle> void syncCandles(CandleHorizon horizon, BaseCandleRepository<E> repository,
+                                                       Class<D[]> dtoType, Function<D, String> utcOf, Function<D, E> mapper,
+                                                       CandleRollupEngine.Rollup<E> rollup) {
+        LocalDateTime todayStart = LocalDateTime.now().toLocalDate().atStartOfDay();
+        LocalDateTime windowStart = horizon.windowStart(todayStart);
+
+        // 오늘 작업에서 이미 저장이 끝난 마켓은 건너뜀 (작업이 중간에 멈춘 뒤 다시 실행된 경우)
+        Set<String> completed = new HashSet<>(
+                candleSyncProgressRepository.findCompletedMarkets(todayStart.toLocalDate(), horizon.getKey()));
+        List<String> coins = tradableCoinRepository.findAllMarkets().stream()
+                .filter(coin -> !completed.contains(coin))
+                .toList();
+        if (!completed.isEmpty()) {
+            log.info("{} 캔들 동기화 - 오늘 이미 끝난 {}개 코인 건너뜀", horizon.getLabel(), completed.size());
+        }
 
-            int count = startIdx + 1;
-            for (String coin : batch) {
-                log.info("{} 캔들 동기화 - {}/{}", type, count, coins.size());
+        Map<String, LocalDateTime> storedUntil = new HashMap<>();
+        for (CandleCoverage coverage : repository.findCoverageBetween(windowStart, todayStart)) {
+            LocalDateTime from = incrementalFrom(horizon, coverage);
+            if (from != null) {
+                storedUntil.put(coverage.getMarket(), from);
+            }
+        }
 
-                switch (type) {
-                    case "7d" -> sync7d(coin);
-                    case "30d" -> sync30d(coin);
-                    case "3m" -> sync3m(coin);
-                    case "1y" -> sync1y(coin);
-                    case "5y" -> sync5y(coin);
-                }
-                count++;
+        long upToDate = coins.stream()
+                .filter(storedUntil::containsKey)
+                .filter(coin -> missingCount(horizon, storedUntil.get(coin), todayStart) == 0)
+                .count();
+        log.info("{} 캔들 동기화 범위: {} ~ {} - 증분: {}개, 전체 재적재: {}개, 최신 상태: {}개",
+                horizon.getLabel(), windowStart, todayStart,
+                storedUntil.size() - upToDate, coins.size() - storedUntil.size(), upToDate);
+
+        // 원본 동기화가 실패한 코인은 원본이 비어 있을 수 있으므로 Upbit 에서 직접 받음
+        Set<String> sourceSynced = rollup == null ? Set.of() : new HashSet<>(
+                candleSyncProgressRepository.findCompletedMarkets(
+                        todayStart.toLocalDate(), candleRollupEngine.sourceOf(horizon).getKey()));
+
+        List<String> fetchCoins = new ArrayList<>();
+        int rolledUp = 0;
+        long rolledUpRows = 0;
+        for (String coin : coins) {
+            LocalDateTime from = storedUntil.get(coin);
+            if (rollup == null || !sourceSynced.contains(coin) ||
+                    !candleRollupEngine.canRollup(horizon, from, todayStart)) {
+                fetchCoins.add(coin);
+                continue;
+            }
+            // 최신 상태여도 마지막 버킷은 다시 계산 (로컬 계산이라 Upbit 요청 없음)
+            try {
+                List<E> entities = rollup.compute(coin, from, todayStart);
+                rolledUpRows += persistCandles(horizon, repository, coin, new CandleBatch<>(entities, from), todayStart);
+                rolledUp++;
+            } catch (RuntimeException e) {
+                log.error("{} 캔들 롤업 실패 - {}", horizon.getLabel(), coin, e);
             }
+        }
+        if (rollup != null) {
+            log.info("{} 캔들 롤업 완료 - {}개 코인, 저장: {}개 (Upbit 요청 대상: {}개 코인)",
+                    horizon.getLabel(), rolledUp, rolledUpRows, fetchCoins.size());
+        }
 
-            // 배치 완료 후 메모리 정리
-            System.gc();
-            log.info("{} 캔들 배치 {}/{} 완료 - 메모리 정리 중...", type, batchIndex + 1, totalBatches);
-            Thread.sleep(3000); // 3초 대기로 메모리 정리 시간 확보
+        candleBackfillPipeline.<CandleBatch<D>, CandleBatch<E>>run(horizon, fetchCoins,
+                coin -> {
+                    LocalDateTime from = storedUntil.get(coin);
+                    int count = from == null ? horizon.getFullCount() : missingCount(horizon, from, todayStart);
+                    return new CandleBatch<>(fetchCandles(horizon, coin, count, todayStart, dtoType, utcOf), from);
+                },
+                batch -> toEntities(horizon, batch, mapper, windowStart, todayStart),
+                (coin, batch) -> persistCandles(horizon, repository, coin, batch, todayStart));
+    }
+
+    private void syncCandlesByType(CandleHorizon horizon) {
+        switch (horizon) {
+            case SEVEN_DAYS -> syncCandles(horizon, upbitCandle7dRepository,
+                    UpbitCandle7dDto[].class, UpbitCandle7dDto::getCandleDateTimeUtc, this::to7dEntity, null);
+            case THIRTY_DAYS -> syncCandles(horizon, upbitCandle30dRepository,
+                    UpbitCandle30dDto[].class, UpbitCandle30dDto::getCandleDateTimeUtc, this::to30dEntity,
+                    candleRollupEngine::rollup30d);
+            case THREE_MONTHS -> syncCandles(horizon, upbitCandle3mRepository,
+                    UpbitCandle3mDto[].class, UpbitCandle3mDto::getCandleDateTimeUtc, this::to3mEntity,
+                    candleRollupEngine::rollup3m);
+            case ONE_YEAR -> syncCandles(horizon, upbitCandle1yRepository,
+                    UpbitCandle1yDto[].class, UpbitCandle1yDto::getCandleDateTimeUtc, this::to1yEntity, null);
+            case FIVE_YEARS -> syncCandles(horizon, upbitCandle5yRepository,
+                    UpbitCandle5yDto[].class, UpbitCandle5yDto::getCandleDateTimeUtc, this::to5yEntity,
+                    candleRollupEngine::rollup5y);
         }
     }
 
     // 매일 9시 5분에 실행 (0초 5분 9시 매일)
+    // 전체를 하나의 트랜잭션으로 묶지 않고 마켓별 저장을 각각 짧은 트랜잭션으로 커밋 (삭제 단계는 파티션 DROP/청크 DELETE)
+    // (수 시간 걸리는 API 호출 동안 트랜잭션을 열어 두지 않고, 진행 중에도 저장된 마켓은 바로 조회됨)
     @Scheduled(cron = "0 5 9 * * ?")
-    @Transactional
     public void updateAllCandleData() {
         log.info("매일 캔들 데이터 업데이트 시작");
 
         try {
+            // 오래된 진행 상황 기록 정리
+            candleSyncProgressRepository.deleteByJobDateBefore(LocalDate.now().minusDays(SYNC_PROGRESS_RETENTION_DAYS));
+
             deleteInvalidCandles();     // 유효하지 않은 캔들 데이터 삭제 (상장폐지된 코인 등)
             removeOldCandles();         // 오래된 데이터 삭제
 
-            // 각 타입별 동기화
-            syncCandlesByType("7d");
-            syncCandlesByType("30d");
-            syncCandlesByType("3m");
-            syncCandlesByType("1y");
-            syncCandlesByType("5y");
+            // 각 타입별 동기화 (롤업 원본인 7일/1년을 먼저 동기화)
+            for (CandleHorizon horizon : SYNC_ORDER) {
+                syncCandlesByType(horizon);
+            }
 
             log.info("매일 캔들 데이터 업데이트 완료");
         } catch (Exception e) {
             log.error("캔들 데이터 업데이트 중 오류 발생", e);
             throw new RuntimeException("캔들 데이터 업데이트 실패", e);
+        } finally {
+            // 모든 기간이 끝난 뒤(중간에 실패해도 저장된 만큼) /candle/all 스냅샷을 한 번만 다시 만듦
+            candleSnapshotCache.requestRebuild();
         }
     }
 
-    @Transactional
     public void deleteInvalidCandles() {
-        List<String> coins = tradableCoinRepository.findAllMarkets().stream().toList();
+        Set<String> coins = new HashSet<>(tradableCoinRepository.findAllMarkets());
 
         if (coins.isEmpty()) {
             log.warn("No tradable coins, skipping deletion");
@@ -515,195 +397,135 @@ public class CandleService {
         }
 
         try {
-            upbitCandle7dRepository.deleteByMarketNotIn(coins);
-            upbitCandle30dRepository.deleteByMarketNotIn(coins);
-            upbitCandle3mRepository.deleteByMarketNotIn(coins);
-            upbitCandle1yRepository.deleteByMarketNotIn(coins);
-            upbitCandle5yRepository.deleteByMarketNotIn(coins);
+            for (CandleHorizon horizon : CandleHorizon.values()) {
+                candleRetentionManager.deleteMarketsNotIn(horizon, coins);
+            }
         } catch (Exception e) {
-            log.error("Exception during invalid candles deletion, rolling back", e);
+            log.error("Exception during invalid candles deletion", e);
             throw new RuntimeException(e);
         }
     }
 
     @Async("taskExecutor")
-    public CompletableFuture<Map<String, Object>> getAllCandleDataAsync(boolean is_krw_market) {
-        log.info("{} 마켓 전체 캔들 데이터 비동기 조회 시작", is_krw_market ? "KRW" : "비KRW");
+    public CompletableFuture<Map<String, Object>> getAllCandleDataAsync(MarketScope scope) {
+        log.info("{} 마켓 전체 캔들 데이터 비동기 조회 시작", scope.label());
 
         return CompletableFuture.supplyAsync(() -> {
-            Map<String, Object> data = new HashMap<>();
-
-            if (is_krw_market) {
-                // 각 테이블별로 병렬 조회
-                CompletableFuture<List<?>> candle7d = CompletableFuture.supplyAsync(() ->
-                        upbitCandle7dRepository.findByMarketStartingWith("KRW-"));
-                CompletableFuture<List<?>> candle30d = CompletableFuture.supplyAsync(() ->
-                        upbitCandle30dRepository.findByMarketStartingWith("KRW-"));
-                CompletableFuture<List<?>> candle3m = CompletableFuture.supplyAsync(() ->
-                        upbitCandle3mRepository.findByMarketStartingWith("KRW-"));
-                CompletableFuture<List<?>> candle1y = CompletableFuture.supplyAsync(() ->
-                        upbitCandle1yRepository.findByMarketStartingWith("KRW-"));
-                CompletableFuture<List<?>> candle5y = CompletableFuture.supplyAsync(() ->
-                        upbitCandle5yRepository.findByMarketStartingWith("KRW-"));
-
-                // 모든 조회 완료까지 대기
-                CompletableFuture.allOf(candle7d, candle30d, candle3m, candle1y, candle5y).join();
-
-                try {
-                    data.put("upbit_candle_7d", candle7d.get());
-                    data.put("upbit_candle_30d", candle30d.get());
-                    data.put("upbit_candle_3m", candle3m.get());
-                    data.put("upbit_candle_1y", candle1y.get());
-                    data.put("upbit_candle_5y", candle5y.get());
-                } catch (Exception e) {
-                    log.error("KRW 마켓 병렬 조회 중 오류", e);
-                    throw new RuntimeException(e);
-                }
-            } else {
-                // 비KRW 마켓 병렬 조회
-                CompletableFuture<List<?>> candle7d = CompletableFuture.supplyAsync(() ->
-                        upbitCandle7dRepository.findByMarketNotStartingWith("KRW-"));
-                CompletableFuture<List<?>> candle30d = CompletableFuture.supplyAsync(() ->
-                        upbitCandle30dRepository.findByMarketNotStartingWith("KRW-"));
-                CompletableFuture<List<?>> candle3m = CompletableFuture.supplyAsync(() ->
-                        upbitCandle3mRepository.findByMarketNotStartingWith("KRW-"));
-                CompletableFuture<List<?>> candle1y = CompletableFuture.supplyAsync(() ->
-                        upbitCandle1yRepository.findByMarketNotStartingWith("KRW-"));
-                CompletableFuture<List<?>> candle5y = CompletableFuture.supplyAsync(() ->
-                        upbitCandle5yRepository.findByMarketNotStartingWith("KRW-"));
-
-                CompletableFuture.allOf(candle7d, candle30d, candle3m, candle1y, candle5y).join();
-
-                try {
-                    data.put("upbit_candle_7d", candle7d.get());
-                    data.put("upbit_candle_30d", candle30d.get());
-                    data.put("upbit_candle_3m", candle3m.get());
-                    data.put("upbit_candle_1y", candle1y.get());
-                    data.put("upbit_candle_5y", candle5y.get());
-                } catch (Exception e) {
-                    log.error("비KRW 마켓 병렬 조회 중 오류", e);
-                    throw new RuntimeException(e);
-                }
-            }
+            List<String> markets = tradableCoinRepository.findMarketsByQuoteCurrencyIn(scope.quoteCurrencies());
+            Map<String, Object> data = findAllTables(scope.label() + " 마켓",
+                    repository -> markets.isEmpty() ? List.of() : repository.findByMarketIn(markets));
 
-            log.info("{} 마켓 전체 캔들 데이터 비동기 조회 완료", is_krw_market ? "KRW" : "비KRW");
+            log.info("{} 마켓 전체 캔들 데이터 비동기 조회 완료", scope.label());
             return data;
         });
     }
 
     @Async("taskExecutor")
-    public CompletableFuture<Map<String, Object>> getAllCandleDataSinceAsync(String period, boolean is_krw_market) {
-        log.info("{} 마켓 {} 이후 캔들 데이터 비동기 조회 시작", is_krw_market ? "KRW" : "비KRW", period);
+    public CompletableFuture<Map<String, Object>> getAllCandleDataSinceAsync(String period, MarketScope scope) {
+        log.info("{} 마켓 {} 이후 캔들 데이터 비동기 조회 시작", scope.label(), period);
 
         return CompletableFuture.supplyAsync(() -> {
-            Map<String, Object> data = new HashMap<>();
             LocalDateTime fromDateTime = LocalDate.parse(period).atStartOfDay();
+            List<String> markets = tradableCoinRepository.findMarketsByQuoteCurrencyIn(scope.quoteCurrencies());
+            Map<String, Object> data = findAllTables(scope.label() + " 마켓 " + period + " 이후",
+                    repository -> markets.isEmpty()
+                            ? List.of()
+                            : repository.findByMarketInAndCandleDateTimeKstGreaterThanEqual(markets, fromDateTime));
 
-            if (is_krw_market) {
-                // KRW 마켓 병렬 조회
-                CompletableFuture<List<?>> candle7d = CompletableFuture.supplyAsync(() ->
-                        upbitCandle7dRepository.findByMarketStartingWithAndCandleDateTimeKstGreaterThanEqual("KRW-", fromDateTime));
-                CompletableFuture<List<?>> candle30d = CompletableFuture.supplyAsync(() ->
-                        upbitCandle30dRepository.findByMarketStartingWithAndCandleDateTimeKstGreaterThanEqual("KRW-", fromDateTime));
-                CompletableFuture<List<?>> candle3m = CompletableFuture.supplyAsync(() ->
-                        upbitCandle3mRepository.findByMarketStartingWithAndCandleDateTimeKstGreaterThanEqual("KRW-", fromDateTime));
-                CompletableFuture<List<?>> candle1y = CompletableFuture.supplyAsync(() ->
-                        upbitCandle1yRepository.findByMarketStartingWithAndCandleDateTimeKstGreaterThanEqual("KRW-", fromDateTime));
-                CompletableFuture<List<?>> candle5y = CompletableFuture.supplyAsync(() ->
-                        upbitCandle5yRepository.findByMarketStartingWithAndCandleDateTimeKstGreaterThanEqual("KRW-", fromDateTime));
-
-                CompletableFuture.allOf(candle7d, candle30d, candle3m, candle1y, candle5y).join();
-
-                try {
-                    data.put("upbit_candle_7d", candle7d.get());
-                    data.put("upbit_candle_30d", candle30d.get());
-                    data.put("upbit_candle_3m", candle3m.get());
-                    data.put("upbit_candle_1y", candle1y.get());
-                    data.put("upbit_candle_5y", candle5y.get());
-                } catch (Exception e) {
-                    log.error("KRW 마켓 {} 이후 병렬 조회 중 오류", period, e);
-                    throw new RuntimeException(e);
-                }
-            } else {
-                // 비KRW 마켓 병렬 조회
-                CompletableFuture<List<?>> candle7d = CompletableFuture.supplyAsync(() ->
-                        upbitCandle7dRepository.findByMarketNotStartingWithAndCandleDateTimeKstGreaterThanEqual("KRW-", fromDateTime));
-                CompletableFuture<List<?>> candle30d = CompletableFuture.supplyAsync(() ->
-                        upbitCandle30dRepository.findByMarketNotStartingWithAndCandleDateTimeKstGreaterThanEqual("KRW-", fromDateTime));
-                CompletableFuture<List<?>> candle3m = CompletableFuture.supplyAsync(() ->
-                        upbitCandle3mRepository.findByMarketNotStartingWithAndCandleDateTimeKstGreaterThanEqual("KRW-", fromDateTime));
-                CompletableFuture<List<?>> candle1y = CompletableFuture.supplyAsync(() ->
-                        upbitCandle1yRepository.findByMarketNotStartingWithAndCandleDateTimeKstGreaterThanEqual("KRW-", fromDateTime));
-                CompletableFuture<List<?>> candle5y = CompletableFuture.supplyAsync(() ->
-                        upbitCandle5yRepository.findByMarketNotStartingWithAndCandleDateTimeKstGreaterThanEqual("KRW-", fromDateTime));
-
-                CompletableFuture.allOf(candle7d, candle30d, candle3m, candle1y, candle5y).join();
-
-                try {
-                    data.put("upbit_candle_7d", candle7d.get());
-                    data.put("upbit_candle_30d", candle30d.get());
-                    data.put("upbit_candle_3m", candle3m.get());
-                    data.put("upbit_candle_1y", candle1y.get());
-                    data.put("upbit_candle_5y", candle5y.get());
-                } catch (Exception e) {
-                    log.error("비KRW 마켓 {} 이후 병렬 조회 중 오류", period, e);
-                    throw new RuntimeException(e);
-                }
-            }
-
-            log.info("{} 마켓 {} 이후 캔들 데이터 비동기 조회 완료", is_krw_market ? "KRW" : "비KRW", period);
+            log.info("{} 마켓 {} 이후 캔들 데이터 비동기 조회 완료", scope.label(), period);
             return data;
         });
     }
 
-    // 특정 코인의 1 Day 캔들 반환
-    public List<Map<String, Object>> getDailyCandleData(String market) {
+    // 각 테이블별로 병렬 조회 후 테이블명 -> 캔들 목록으로 모음
+    private Map<String, Object> findAllTables(String description,
+                                              Function<BaseCandleRepository<? extends BaseCandle>, List<?>> query) {
+        Map<CandleHorizon, CompletableFuture<List<?>>> futures = new EnumMap<>(CandleHorizon.class);
+        for (CandleHorizon horizon : CandleHorizon.values()) {
+            BaseCandleRepository<? extends BaseCandle> repository = repositoryOf(horizon);
+            futures.put(horizon, CompletableFuture.supplyAsync(() -> query.apply(repository)));
+        }
+
+        // 모든 조회 완료까지 대기
+        CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new)).join();
+
+        Map<String, Object> data = new HashMap<>();
+        try {
+            for (Map.Entry<CandleHorizon, CompletableFuture<List<?>>> entry : futures.entrySet()) {
+                data.put(entry.getKey().getTableName(), entry.getValue().get());
+            }
+        } catch (Exception e) {
+            log.error("{} 병렬 조회 중 오류", description, e);
+            throw new RuntimeException(e);
+        }
+        return data;
+    }
+
+    private BaseCandleRepository<? extends BaseCandle> repositoryOf(CandleHorizon horizon) {
+        return switch (horizon) {
+            case SEVEN_DAYS -> upbitCandle7dRepository;
+            case THIRTY_DAYS -> upbitCandle30dRepository;
+            case THREE_MONTHS -> upbitCandle3mRepository;
+            case ONE_YEAR -> upbitCandle1yRepository;
+            case FIVE_YEARS -> upbitCandle5yRepository;
+        };
+    }
+
+    // 특정 코인의 1 Day 캔들 반환 (from/to 는 KST 기준, null 이면 오늘 전체)
+    public DailyCandleSeries.Slice getDailyCandleData(String market, LocalDateTime from, LocalDateTime to) {
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
-            String redisKey = "upbit:daily:" + market;
-            String jsonData = redisTemplate.opsForValue().get(redisKey);
+            DailyCandleSeries.Slice candles = dailyCandleStore.find(market, LocalDate.now(), from, to);
 
-            if (jsonData == null) {
+            if (candles.size() == 0 && from == null && to == null) {
                 log.error("Redis에 데이터가 없음 - 시스템 오류 의심: {}", market);
-                throw new RuntimeException("1Day 캔들 데이터를 찾을 수 없습니다: " + market);
             }
 
-            List<Map<String, Object>> candles = objectMapper.readValue(
-                    jsonData, new TypeReference<List<Map<String, Object>>>() {}
-            );
-
-            log.info("Redis에서 1Day 캔들 반환 - {} : {}개", market, candles.size());
+            log.debug("1Day 캔들 반환 - {} : {}개", market, candles.size());
             return candles;
-        } catch (Exception e) {
-            log.error("Redis에서 1Day 캔들 조회 실패: {}", market, e);
-            return new ArrayList<>();
+        } finally {
+            sample.stop(meterRegistry.timer("candle.daily.read"));
         }
     }
 
     // 모든 코인에 대해 00시부터 현재까지 5분 캔들을 모두 가져와서 Redis에 저장
     public void initializeAllDailyCandleData() {
-        log.info("모든 코인 Redis 1Day 캔들 초기화 시작");
+        initializeDailyCandleData(tradableCoinRepository.findAllMarkets(), market -> {});
+    }
 
-        try {
-            List<String> coins = tradableCoinRepository.findAllMarkets().stream().toList();
+    // 주어진 순서대로 각 코인의 오늘 5분 캔들을 채움
+    // Redis 에 저장된 마지막 캔들부터 다시 받으므로 중간에 멈췄다가 다시 실행해도 이어서 진행
+    public void initializeDailyCandleData(List<String> markets, Consumer<String> onMarketDone) {
+        log.info("Redis 1Day 캔들 초기화 시작 - {}개 코인", markets.size());
 
+        try {
             LocalDateTime now = LocalDateTime.now();
-            LocalDateTime todayStart = now.toLocalDate().atStartOfDay();
+            LocalDate today = now.toLocalDate();
+            LocalDateTime todayStart = today.atStartOfDay();
 
             // 현재 시간을 5분 단위로 내림
             int minute = now.getHour() * 60 + now.getMinute();
             int roundedTotalMinutes = (minute / 5) * 5;
-            LocalDateTime currentRoundedTime = now
-                    .withHour(0).withMinute(0).withSecond(0).withNano(0).plusMinutes(roundedTotalMinutes);
+            LocalDateTime currentRoundedTime = todayStart.plusMinutes(roundedTotalMinutes);
 
             int count = 1;
-            for (String market : coins) {
-                log.info("Redis 초기화 진행 - {}/{} : {}", count, coins.size(), market);
-                setDailyCandleData(market, todayStart, currentRoundedTime);
+            int resumed = 0;
+            for (String market : markets) {
+                // 마지막 캔들은 저장 당시 진행 중이었을 수 있으므로 그 캔들부터 다시 받음
+                Long latest = dailyCandleStore.findLatestEpochSecond(market, today);
+                LocalDateTime since = todayStart;
+                if (latest != null) {
+                    since = LocalDateTime.ofEpochSecond(latest, 0, ZoneOffset.UTC).plusHours(9);
+                    resumed++;
+                }
+
+                log.debug("Redis 초기화 진행 - {}/{} : {} ({} 이후)", count, markets.size(), market, since);
+                fillDailyCandleData(market, since, currentRoundedTime);
+                onMarketDone.accept(market);
                 count++;
-                Thread.sleep(250); // API 호출 제한 고려
             }
 
-            log.info("모든 코인 Redis 1Day 캔들 초기화 완료 - {}개 코인", coins.size());
+            log.info("Redis 1Day 캔들 초기화 완료 - {}개 코인 (이어받기: {}개)", markets.size(), resumed);
 
         } catch (Exception e) {
             log.error("Redis 1Day 캔들 초기화 실패", e);
@@ -711,105 +533,55 @@ public class CandleService {
         }
     }
 
-    // 특정 코인의 00시부터 현재까지 5분 캔들을 모두 가져와서 Redis에 저장
-    private void setDailyCandleData(String market, LocalDateTime todayStart, LocalDateTime currentTime) {
+    // 특정 코인의 since(KST)부터 현재까지 5분 캔들을 가져와서 Redis에 저장
+    private void fillDailyCandleData(String market, LocalDateTime since, LocalDateTime currentTime) {
         try {
-            // 00시부터 현재시간까지 필요한 5분 캔들 개수 계산
-            long minutesFromStart = java.time.Duration.between(todayStart, currentTime).toMinutes();
-            int candleCount = (int) (minutesFromStart / 5);
-
-            if (candleCount <= 0) {
-                log.warn("유효하지 않은 캔들 개수: {} for {}", candleCount, market);
-                return;
-            }
+            // since 부터 현재 진행 중인 캔들까지 필요한 5분 캔들 개수
+            int remainingCount = (int) (Duration.between(since, currentTime).toMinutes() / 5) + 1;
 
-            // Upbit API에서 5분 캔들 데이터 가져오기 (최대 200개씩)
-            List<Map<String, Object>> allCandles = new ArrayList<>();
-            int remainingCount = candleCount;
-            LocalDateTime toTime = currentTime;
+            // Upbit API에서 5분 캔들 데이터 가져오기 (최대 200개씩, 최신 캔들부터)
+            List<DailyCandle> allCandles = new ArrayList<>();
+            String to = null;
 
             while (remainingCount > 0) {
-                // 캔들 요청 최대 개수가 200임을 반영
-                int requestCount = Math.min(remainingCount, 200);
-                String url = "https://api.upbit.com/v1/candles/minutes/5?market=" + market
-                        + "&count=" + requestCount;
-
-                // 처음엔 현재 시간부터 시작, 이후에는 이전 캔들의 시간으로 갱신
-                if (!toTime.equals(currentTime)) {
-                    String toTimeStr = toTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss"));
-                    url += "&to=" + toTimeStr;
+                int requestCount = Math.min(remainingCount, MAX_CANDLES_PER_REQUEST);
+                String path = "/v1/candles/minutes/5?market=" + market + "&count=" + requestCount;
+                if (to != null) {
+                    path += "&to=" + to;
                 }
-                log.info("API 요청: {} (count: {})", market, requestCount);
-
-                UpbitCandle1dDto[] dtos = restTemplate.getForObject(url, UpbitCandle1dDto[].class);
 
+                UpbitCandle1dDto[] dtos = upbitApiClient.get(path, UpbitCandle1dDto[].class);
                 if (dtos == null || dtos.length == 0) { break; }
-                log.info("UpbitCandle1dDto[] 의 크기: {}", dtos != null ? dtos.length : 0);
 
-                List<UpbitCandle1dDto> batch = Arrays.asList(dtos);
-                Collections.reverse(batch);
-
-                for (UpbitCandle1dDto dto : batch) {
+                boolean reachedSince = false;
+                for (UpbitCandle1dDto dto : dtos) {
                     LocalDateTime candleTime = parseDateTime(dto.getCandleDateTimeKst());
-
-                    if (candleTime != null && candleTime.toLocalDate().equals(todayStart.toLocalDate())) {
-                        Map<String, Object> candleMap = convertUpbitCandle1dDtoToMap(dto);
-                        allCandles.add(candleMap);
+                    if (candleTime == null || candleTime.isBefore(since)) {
+                        reachedSince = true;
+                        continue;
                     }
+                    allCandles.add(DailyCandle.from(dto));
                 }
 
-                // 200개 넘는 경우에만 대응하면 됨
-                remainingCount -= 200;
-                toTime = toTime.minusMinutes(1000);
-
-                // 오늘 00시 이전으로 가면 중단
-                if (toTime.isBefore(todayStart)) {
+                // since 이전까지 내려왔거나 더 받을 캔들이 없으면 중단
+                if (reachedSince || dtos.length < requestCount) {
                     break;
                 }
-
-                Thread.sleep(200); // API 호출 제한 고려
+                remainingCount -= dtos.length;
+                // 다음 요청은 이번에 받은 가장 오래된 캔들 이전 (to 는 UTC, 해당 시각 미포함)
+                to = parseDateTime(dtos[dtos.length - 1].getCandleDateTimeUtc()).format(UPBIT_TO_FORMAT);
             }
 
-            // 시간순 정렬 (오래된 것부터)
-            allCandles.sort((a, b) -> {
-                String timeA = (String) a.get("candle_date_time_kst");
-                String timeB = (String) b.get("candle_date_time_kst");
-                return timeA.compareTo(timeB);
-            });
-
-            // Redis에 저장
+            // Redis에 저장 (정렬은 저장소가 시각 기준으로 처리)
             if (!allCandles.isEmpty()) {
-                String redisKey = "upbit:daily:" + market;
-                String jsonData = objectMapper.writeValueAsString(allCandles);
-                redisTemplate.opsForValue().set(redisKey, jsonData);
-
-                log.info("Redis 저장 완료 - {} : {}개 캔들 ({}~{})",
-                        market, allCandles.size(),
-                        allCandles.get(0).get("candle_date_time_kst"),
-                        allCandles.get(allCandles.size() - 1).get("candle_date_time_kst"));
+                dailyCandleStore.saveAll(market, allCandles);
+                log.debug("Redis 저장 완료 - {} : {}개 캔들", market, allCandles.size());
             }
         }  catch (Exception e) {
             log.error("전체 일일 캔들 데이터 갱신 실패: {}", market, e);
         }
     }
 
-    // UpbitCandle1dDto 를 Map<String, Object> 형태로 변환
-    private Map<String, Object> convertUpbitCandle1dDtoToMap(UpbitCandle1dDto dto) {
-        Map<String, Object> map = new HashMap<>();
-        map.put("market", dto.getMarket());
-        map.put("candle_date_time_utc", dto.getCandleDateTimeUtc());
-        map.put("candle_date_time_kst", dto.getCandleDateTimeKst());
-        map.put("opening_price", dto.getOpeningPrice());
-        map.put("high_price", dto.getHighPrice());
-        map.put("low_price", dto.getLowPrice());
-        map.put("trade_price", dto.getTradePrice());
-        map.put("timestamp", dto.getTimestamp());
-        map.put("candle_acc_trade_price", dto.getCandleAccTradePrice());
-        map.put("candle_acc_trade_volume", dto.getCandleAccTradeVolume());
-        map.put("unit", dto.getUnit());
-        return map;
-    }
-
     // 매일 08:58 에 Redis 1 Day 캔들 정리
     @Scheduled(cron = "0 58 8 * * ?")
     public void cleanupDailyCandleData() {
@@ -818,10 +590,10 @@ public class CandleService {
         try {
             List<String> coins = tradableCoinRepository.findAllMarkets().stream().toList();
 
-            for (String coin : coins) {
-                String redisKey = "upbit:daily:" + coin;
-                redisTemplate.delete(redisKey);
-            }
+            // 날짜가 바뀐 직후 실행되므로 전날 키까지 함께 삭제 (남은 키는 TTL 로 만료)
+            LocalDate today = LocalDate.now();
+            dailyCandleStore.deleteAll(coins, today);
+            dailyCandleStore.deleteAll(coins, today.minusDays(1));
 
             log.info("Redis 1Day 캔들 데이터 정리 완료 - {}개 코인", coins.size());
         } catch (Exception e) {
@@ -829,62 +601,29 @@ public class CandleService {
         }
     }
 
-    // 5분마다 실행되는 스케줄러 - 모든 코인의 최신 5분 캔들을 Redis에 저장
-    @Scheduled(initialDelay = 600000, fixedRate = 300000) // 5분마다 실행 (300,000ms)
-    public void updateAllDailyCandleData() {
-        log.info("Redis 1Day 캔들 데이터 업데이트 시작");
-
-        try {
-            List<String> coins = tradableCoinRepository.findAllMarkets().stream().toList();
-
-            for (String coin : coins) {
-                updateDailyCandleData(coin);
-                Thread.sleep(250); // API 호출 제한 고려
-            }
-
-            log.info("Redis 1Day 캔들 데이터 업데이트 완료");
-        } catch (Exception e) {
-            log.error("Redis 1Day 캔들 데이터 업데이트 중 오류 발생", e);
-        }
+    // 완성된 5분 캔들 하나를 Redis 1Day 캔들에 반영 (같은 시각 캔들이 있으면 교체)
+    public void saveDailyCandle(DailyCandle candle) {
+        dailyCandleStore.save(candle);
     }
 
-    // 특정 코인의 최신 5분 캔들을 Redis에 저장
-    private void updateDailyCandleData(String coin) {
-        try {
-            // 최신 5분 캔들 1개만 가져오기
-            String url = "https://api.upbit.com/v1/candles/minutes/5?market=" + coin + "&count=1";
-            UpbitCandle1dDto[] dtos = restTemplate.getForObject(url, UpbitCandle1dDto[].class);
-
-            if (dtos != null && dtos.length > 0) {
-                UpbitCandle1dDto dto = dtos[0];
-
-                // Redis에서 기존 데이터 가져오기
-                String redisKey = "upbit:daily:" + coin;
-                String existingData = redisTemplate.opsForValue().get(redisKey);
-
-                List<Map<String, Object>> candles;
-                if (existingData != null) {
-                    candles = objectMapper.readValue(existingData, new TypeReference<List<Map<String, Object>>>() {});
-                } else {
-                    candles = new ArrayList<>();
-                }
-
-                // 새 캔들 추가 (중복 체크는 시간으로)
-                Map<String, Object> newCandle = convertUpbitCandle1dDtoToMap(dto);
-                String newCandleTime = (String) newCandle.get("candle_date_time_kst");
-
-                // 마지막 캔들과 시간이 다르면 추가
-                if (candles.isEmpty() ||
-                        !newCandleTime.equals(candles.get(candles.size() - 1).get("candle_date_time_kst"))) {
-                    candles.add(newCandle);
-                }
+    // 티커로 구간 전체를 보지 못한 5분 캔들(서버 재시작 직후, 티커가 끊겼던 구간 등)을 Upbit API 로 받아 채움
+    // toUtc 는 마지막 구간이 끝나는 시각, count 는 그 앞으로 채울 구간 수 (Upbit 의 to 는 해당 시각 이전 캔들을 반환)
+    // 체결이 없던 구간은 Upbit 도 캔들이 없어 더 이전 캔들이 오므로 범위 밖 캔들은 버림
+    public void backfillDailyCandle(String market, LocalDateTime toUtc, int count) {
+        String path = "/v1/candles/minutes/5?market=" + market + "&count=" + count + "&to=" + toUtc.format(UPBIT_TO_FORMAT);
+        UpbitCandle1dDto[] dtos = upbitApiClient.get(path, UpbitCandle1dDto[].class);
+        if (dtos == null) {
+            return;
+        }
 
-                // Redis에 다시 저장
-                String jsonData = objectMapper.writeValueAsString(candles);
-                redisTemplate.opsForValue().set(redisKey, jsonData);
+        long fromEpochSecond = toUtc.minusMinutes(5L * count).toEpochSecond(ZoneOffset.UTC);
+        List<DailyCandle> candles = new ArrayList<>(dtos.length);
+        for (UpbitCandle1dDto dto : dtos) {
+            DailyCandle candle = DailyCandle.from(dto);
+            if (candle.epochSecond() >= fromEpochSecond) {
+                candles.add(candle);
             }
-        } catch (Exception e) {
-            log.error("5분봉 캔들 데이터 업데이트 실패: {}", coin, e);
         }
+        dailyCandleStore.saveAll(market, candles);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,220 @@
+package com.example.market_follower.service;
+
+import com.example.market_follower.model.MarketScope;
+import com.example.market_follower.model.candle.CandleHorizon;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+// /candle/all 응답을 미리 gzip 으로 압축해 메모리에 들고 있는 스냅샷 캐시
+// 7일~5년 캔들은 하루 한 번 updateAllCandleData 에서만 바뀌므로 기간별 동기화가 끝날 때마다 만들어 두고,
+// 요청마다 DB 전체 조회/직렬화 대신 만들어 둔 바이트를 그대로 내려줌
+// - 마켓 범위(KRW/비KRW/BTC/USDT)별 전체 응답 스냅샷 + 기간별 스냅샷
+// - ETag 는 압축 전 내용의 CRC32 라서 데이터가 그대로면 재생성/재시작 후에도 같은 값
+// - 대상 마켓이 하나도 없는 범위(거래 가능 코인 갱신 전 등)는 빈 스냅샷을 만들지 않고 DB 조회로 넘김
+@Slf4j
+@Component
+public class CandleSnapshotCache {
+    private final CandleExportService candleExportService;
+    private final ObjectMapper objectMapper;
+    private final Executor taskExecutor;
+    private final MeterRegistry meterRegistry;
+
+    // 재생성 중에도 이전 스냅샷을 계속 제공하고, 완성되면 참조만 교체
+    private volatile Map<MarketScope, MarketGroup> groups = Map.of();
+    private final AtomicBoolean building = new AtomicBoolean();
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+
+    public CandleSnapshotCache(
+            CandleExportService candleExportService,
+            ObjectMapper objectMapper,
+            @Qualifier("taskExecutor") Executor taskExecutor,
+            MeterRegistry meterRegistry
+    ) {
+        this.candleExportService = candleExportService;
+        this.objectMapper = objectMapper;
+        this.taskExecutor = taskExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // gzip 으로 압축된 JSON 과 ETag
+    public record Snapshot(String etag, byte[] gzip, long size, LocalDateTime builtAt) {
+        // If-None-Match 헤더(여러 값, *, W/ 접두사 포함)가 이 스냅샷을 가리키는지
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private record MarketGroup(Snapshot all, Map<CandleHorizon, Snapshot> horizons) {}
+
+    // /candle/all 전체 응답 스냅샷 (아직 만들어지지 않았거나 대상 마켓이 없으면 null)
+    public Snapshot getAll(MarketScope scope) {
+        MarketGroup group = groups.get(scope);
+        return group == null ? null : group.all();
+    }
+
+    // 기간 하나의 캔들 배열 스냅샷 (아직 만들어지지 않았으면 null)
+    public Snapshot get(MarketScope scope, CandleHorizon horizon) {
+        MarketGroup group = groups.get(scope);
+        return group == null ? null : group.horizons().get(horizon);
+    }
+
+    public void recordRequest(String result) {
+        meterRegistry.counter("candle.snapshot.requests", "result", result).increment();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        requestRebuild();
+    }
+
+    // 백그라운드에서 재생성, 이미 만드는 중이면 끝난 뒤 한 번 더 만듦 (요청이 여러 번 와도 한 번으로 합침)
+    public void requestRebuild() {
+        rebuildRequested.set(true);
+        if (building.compareAndSet(false, true)) {
+            taskExecutor.execute(this::rebuildWhileRequested);
+        }
+    }
+
+    private void rebuildWhileRequested() {
+        try {
+            while (rebuildRequested.getAndSet(false)) {
+                rebuild();
+            }
+        } finally {
+            building.set(false);
+        }
+        // 종료 직전에 들어온 요청 처리
+        if (rebuildRequested.get()) {
+            requestRebuild();
+        }
+    }
+
+    private void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        try {
+            Map<MarketScope, MarketGroup> rebuilt = new HashMap<>();
+            for (MarketScope scope : MarketScope.ALL) {
+                if (candleExportService.marketsOf(scope).isEmpty()) {
+                    log.warn("{} 대상 마켓이 없어 캔들 스냅샷 생략", scope.label());
+                    continue;
+                }
+                rebuilt.put(scope, build(scope));
+            }
+            groups = Map.copyOf(rebuilt);
+
+            long compressed = rebuilt.values().stream().mapToLong(group -> group.all().gzip().length).sum();
+            long original = rebuilt.values().stream().mapToLong(group -> group.all().size()).sum();
+            log.info("캔들 스냅샷 생성 완료 - 원본 {}KB, 압축 {}KB ({}ms)",
+                    original / 1024, compressed / 1024, System.currentTimeMillis() - startedAt);
+        } catch (Exception e) {
+            // 실패하면 이전 스냅샷을 그대로 유지
+            log.error("캔들 스냅샷 생성 실패", e);
+        }
+    }
+
+    // 캔들을 한 번씩만 직렬화해서 전체 응답 스냅샷과 기간별 스냅샷에 같이 씀
+    private MarketGroup build(MarketScope scope) throws IOException {
+        Map<CandleHorizon, Snapshot> horizons = new EnumMap<>(CandleHorizon.class);
+        BlobWriter all = new BlobWriter();
+        ByteArrayOutputStream row = new ByteArrayOutputStream(512);
+
+        all.write("{");
+        for (CandleHorizon horizon : CandleHorizon.values()) {
+            BlobWriter single = new BlobWriter();
+            boolean[] first = {true};
+
+            if (horizon.ordinal() > 0) {
+                all.write(",");
+            }
+            all.write("\"" + horizon.getTableName() + "\":[");
+            single.write("[");
+
+            candleExportService.forEachCandle(horizon, scope, null, (h, candle) -> {
+                row.reset();
+                objectMapper.writeValue(row, candle);
+                if (!first[0]) {
+                    all.write(",");
+                    single.write(",");
+                }
+                row.writeTo(all);
+                row.writeTo(single);
+                first[0] = false;
+            });
+
+            all.write("]");
+            single.write("]");
+            horizons.put(horizon, single.finish(scope, horizon.getKey()));
+        }
+        all.write("}");
+
+        return new MarketGroup(all.finish(scope, "all"), Collections.unmodifiableMap(horizons));
+    }
+
+    // gzip 압축 + 압축 전 내용 CRC32/크기 계산
+    private static final class BlobWriter extends OutputStream {
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * 1024);
+        private final CRC32 crc = new CRC32();
+        private final GZIPOutputStream gzip;
+        private final CheckedOutputStream out;
+        private long size;
+
+        BlobWriter() throws IOException {
+            this.gzip = new GZIPOutputStream(buffer, 64 * 1024);
+            this.out = new CheckedOutputStream(gzip, crc);
+        }
+
+        void write(String ascii) throws IOException {
+            write(ascii.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            size++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            size += len;
+        }
+
+        Snapshot finish(MarketScope scope, String name) throws IOException {
+            gzip.finish();
+            String etag = String.format("\"%s-%s-%08x-%d\"", scope.key(), name, crc.getValue(), size);
+            return new Snapshot(etag, buffer.toByteArray(), size, LocalDateTime.now());
+        }
+    }
+}
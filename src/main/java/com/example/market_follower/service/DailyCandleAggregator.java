@@ -0,0 +1,242 @@
+package com.example.market_follower.service;
+
+import com.example.market_follower.dto.upbit.UpbitTickerDto;
+import com.example.market_follower.model.MarketSlots;
+import com.example.market_follower.model.candle.DailyCandle;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Kafka 로 들어오는 티커로 오늘의 5분 캔들을 직접 만드는 집계기
+// 코인마다 Upbit 5분 캔들 API 를 주기적으로 호출하는 대신, 이미 받고 있는 티커로 캔들을 만들고
+// 5분 구간이 끝나면 완성된 캔들을 1Day 캔들 저장소(Redis)에 기록
+// - 시가/종가: 구간 안 첫/마지막 체결가, 고가/저가: 체결가와 당일 고가/저가 갱신분
+// - 거래량/거래대금: 티커의 누적 거래량(acc_trade_volume), 누적 거래대금(acc_trade_price) 차이
+// - 서버 시작 직후처럼 구간 처음부터 보지 못한 캔들만 Upbit API 로 한 번 받아 채움
+// - 체결 없이 지나간 구간은 캔들이 없는 것이 정상 (Upbit 도 거래 없는 구간은 캔들을 만들지 않음)
+// - 티커 자체가 한 구간 넘게 끊겼다가 들어오면 새 구간은 partial 로, 건너뛴 구간들은 API 한 번으로 채움
+//   (체결이 없어도 1분마다 keyframe 티커가 오므로, 마지막 티커 수신 시각으로 끊김 여부를 판단)
+// - 마켓별 상태는 마켓 ID 위치의 배열 칸에 저장
+@Slf4j
+@Component
+public class DailyCandleAggregator {
+    private static final long BUCKET_MILLIS = Duration.ofMinutes(5).toMillis();
+    // Upbit 캔들 API 한 번에 받을 수 있는 최대 개수
+    private static final int MAX_GAP_BUCKETS = 200;
+
+    private final CandleService candleService;
+    private final MarketDictionary marketDictionary;
+    private final MeterRegistry meterRegistry;
+    private final long closeDelayMillis;
+
+    private final MarketSlots<MarketState> markets = new MarketSlots<>();
+    // 완성된 캔들은 Kafka 리스너 스레드가 아닌 flush 스케줄러에서 저장
+    private final Queue<Bucket> closedBuckets = new ConcurrentLinkedQueue<>();
+
+    public DailyCandleAggregator(
+            CandleService candleService,
+            MarketDictionary marketDictionary,
+            MeterRegistry meterRegistry,
+            @Value("${candle.daily.close-delay-ms:2000}") long closeDelayMillis
+    ) {
+        this.candleService = candleService;
+        this.marketDictionary = marketDictionary;
+        this.meterRegistry = meterRegistry;
+        this.closeDelayMillis = closeDelayMillis;
+    }
+
+    public void onTicker(UpbitTickerDto ticker) {
+        String market = ticker.getMarket();
+        MarketState state = markets.computeIfAbsent(marketDictionary.idOf(market), id -> new MarketState(market));
+        synchronized (state) {
+            state.apply(ticker, closedBuckets);
+        }
+    }
+
+    // 다음 구간 체결이 없어도 시간이 지나면 캔들을 닫음 (티커 지연을 고려해 closeDelay 만큼 더 기다림)
+    @Scheduled(fixedDelay = 1000)
+    public void flushClosedBuckets() {
+        long cutoff = System.currentTimeMillis() - closeDelayMillis;
+        markets.forEach((id, state) -> {
+            Bucket closed;
+            synchronized (state) {
+                closed = state.closeIfEndedBefore(cutoff);
+            }
+            if (closed != null) {
+                closedBuckets.add(closed);
+            }
+        });
+
+        Bucket bucket;
+        while ((bucket = closedBuckets.poll()) != null) {
+            write(bucket);
+        }
+    }
+
+    private void write(Bucket bucket) {
+        try {
+            if (bucket.partial) {
+                // 구간 일부만 본 캔들(또는 건너뛴 구간들)은 Upbit 에서 해당 구간 캔들만 받아 채움
+                candleService.backfillDailyCandle(bucket.market,
+                        utcOf(bucket.start + bucket.span * BUCKET_MILLIS), bucket.span);
+                meterRegistry.counter("candle.daily.bars", "source", "rest").increment();
+            } else {
+                candleService.saveDailyCandle(toCandle(bucket));
+                meterRegistry.counter("candle.daily.bars", "source", "ticker").increment();
+            }
+        } catch (Exception e) {
+            log.error("5분봉 캔들 저장 실패: {} {}", bucket.market, utcOf(bucket.start), e);
+        }
+    }
+
+    private DailyCandle toCandle(Bucket bucket) {
+        return new DailyCandle(
+                bucket.market,
+                (int) (bucket.start / 60_000),
+                bucket.open,
+                bucket.high,
+                bucket.low,
+                bucket.close,
+                bucket.lastTradeTimestamp,
+                bucket.accTradePrice,
+                bucket.accTradeVolume);
+    }
+
+    private static LocalDateTime utcOf(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+
+    // 진행 중인 5분 구간 하나 (span 은 건너뛴 구간 표시용, 보통 1)
+    private static final class Bucket {
+        private final String market;
+        private final long start;
+        private final boolean partial;
+        private int span = 1;
+        private double open;
+        private double high;
+        private double low;
+        private double close;
+        private double accTradeVolume;
+        private double accTradePrice;
+        private long lastTradeTimestamp;
+
+        Bucket(String market, long start, double price, boolean partial) {
+            this.market = market;
+            this.start = start;
+            this.partial = partial;
+            this.open = price;
+            this.high = price;
+            this.low = price;
+            this.close = price;
+        }
+
+        // start 부터 span 개 구간의 티커를 받지 못했음을 나타내는 표시 (API 로 채움)
+        static Bucket gap(String market, long start, int span) {
+            Bucket gap = new Bucket(market, start, 0, true);
+            gap.span = span;
+            return gap;
+        }
+    }
+
+    // 마켓별 직전 티커 값과 진행 중인 구간
+    private static final class MarketState {
+        private final String market;
+        private boolean seen;
+        private long lastTradeTimestamp;
+        // 체결 여부와 관계없이 마지막으로 받은 티커의 Upbit 시각
+        private long lastReceivedTimestamp;
+        private double lastAccTradeVolume;
+        private double lastAccTradePrice;
+        private double lastDayHigh;
+        private double lastDayLow;
+        private Bucket bucket;
+
+        MarketState(String market) {
+            this.market = market;
+        }
+
+        // 티커를 반영하고, 새 구간으로 넘어가면서 닫힌 구간(건너뛴 구간 표시 포함)을 closed 에 추가
+        void apply(UpbitTickerDto ticker, Queue<Bucket> closed) {
+            long tradeTimestamp = ticker.getTradeTimestamp();
+            long receivedTimestamp = ticker.getUpbitTimestamp() > 0 ? ticker.getUpbitTimestamp() : tradeTimestamp;
+            long previousReceived = lastReceivedTimestamp;
+            lastReceivedTimestamp = Math.max(lastReceivedTimestamp, receivedTimestamp);
+            // 새 체결이 없거나(keyframe) 다른 파티션에서 늦게 도착한 티커는 수신 시각만 기록
+            if (seen && tradeTimestamp <= lastTradeTimestamp) {
+                return;
+            }
+
+            long start = tradeTimestamp - tradeTimestamp % BUCKET_MILLIS;
+            if (bucket != null && bucket.start != start) {
+                closed.add(bucket);
+                bucket = null;
+            }
+
+            // 직전 체결 구간과 이번 구간 사이에 빈 구간이 있어도, 그동안 티커가 계속 왔다면 체결이 없었던 것
+            // 티커가 한 구간 넘게 끊겼을 때만 그동안의 체결을 놓쳤을 수 있음
+            // (누적 거래량 차이와 당일 고가/저가 변화가 어느 구간 것인지 알 수 없으므로 새 구간도 partial)
+            boolean gap = false;
+            if (seen && receivedTimestamp - previousReceived > BUCKET_MILLIS) {
+                long lastStart = lastTradeTimestamp - lastTradeTimestamp % BUCKET_MILLIS;
+                long skipped = (start - lastStart) / BUCKET_MILLIS - 1;
+                if (skipped > 0) {
+                    int span = (int) Math.min(skipped, MAX_GAP_BUCKETS);
+                    closed.add(Bucket.gap(market, start - span * BUCKET_MILLIS, span));
+                    gap = true;
+                }
+            }
+
+            double price = ticker.getTradePrice();
+            if (bucket == null) {
+                // 처음 보는 마켓은 구간 시작부터 봤는지 알 수 없으므로 partial
+                bucket = new Bucket(market, start, price, !seen || gap);
+            }
+            bucket.high = Math.max(bucket.high, price);
+            bucket.low = Math.min(bucket.low, price);
+            bucket.close = price;
+            bucket.lastTradeTimestamp = tradeTimestamp;
+
+            if (seen) {
+                // 직전 티커 사이에 당일 고가/저가가 바뀌었다면 그 체결은 이 구간에서 일어난 것
+                if (ticker.getHighPrice() > lastDayHigh) {
+                    bucket.high = Math.max(bucket.high, ticker.getHighPrice());
+                }
+                if (ticker.getLowPrice() < lastDayLow) {
+                    bucket.low = Math.min(bucket.low, ticker.getLowPrice());
+                }
+                bucket.accTradeVolume += delta(ticker.getAccTradeVolume(), lastAccTradeVolume);
+                bucket.accTradePrice += delta(ticker.getAccTradePrice(), lastAccTradePrice);
+            }
+
+            seen = true;
+            lastTradeTimestamp = tradeTimestamp;
+            lastAccTradeVolume = ticker.getAccTradeVolume();
+            lastAccTradePrice = ticker.getAccTradePrice();
+            lastDayHigh = ticker.getHighPrice();
+            lastDayLow = ticker.getLowPrice();
+        }
+
+        Bucket closeIfEndedBefore(long cutoff) {
+            if (bucket == null || bucket.start + BUCKET_MILLIS > cutoff) {
+                return null;
+            }
+            Bucket closed = bucket;
+            bucket = null;
+            return closed;
+        }
+
+        // 누적값은 UTC 0시에 초기화되므로 줄어들었으면 새 누적값 전체가 증가분
+        private static double delta(double current, double previous) {
+            return current >= previous ? current - previous : current;
+        }
+    }
+}
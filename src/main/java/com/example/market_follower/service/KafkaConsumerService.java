@@ -1,15 +1,17 @@
 package com.example.market_follower.service;
 
+import com.example.market_follower.config.KafkaTopicConfig;
 import com.example.market_follower.dto.upbit.UpbitOrderbookDto;
 import com.example.market_follower.dto.upbit.UpbitTickerDto;
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.example.market_follower.model.MarketSlots;
+import com.example.market_follower.model.MarketTimestamps;
+import com.example.market_follower.repository.MarketDataStore;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.data.redis.core.Cursor;
-import org.springframework.data.redis.core.ScanOptions;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -17,6 +19,7 @@ import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.util.*;
+import java.util.function.Consumer;
 
 @Slf4j
 @Service
@@ -24,56 +27,80 @@ import java.util.*;
 public class KafkaConsumerService {
 
     private final ObjectMapper objectMapper;
-    private final StringRedisTemplate redisTemplate;       // Redis로 인메모리 캐시에 저장 후 Websocket으로 발송
+    private final MarketDataStore marketDataStore;         // 마켓별 최신 티커/호가 Redis hash
     private final SimpMessagingTemplate messagingTemplate; // STOMP WebSocket 발송용
+    private final OrderbookService orderbookService;       // 호가 갱신 시 대기 주문 체결 확인
+    private final DailyCandleAggregator dailyCandleAggregator; // 티커로 오늘의 5분 캔들 생성
+    private final TickerSnapshotCache tickerSnapshotCache;     // 마켓별 최신 티커 메모리 스냅샷
+    private final MarketDictionary marketDictionary;
+    private final MarketDataCodec marketDataCodec;         // Kafka 레코드 바이너리/JSON 디코딩
+    private final MeterRegistry meterRegistry;
+
+    // 마켓별로 받은 가장 최근 호가 timestamp (컨슈머 스레드 사이에 순서가 뒤바뀐 호가를 버리기 위함)
+    private final MarketTimestamps orderbookTimestamps = new MarketTimestamps();
+
+    // 마켓별 마지막으로 WebSocket 으로 보낸 값 (바뀐 마켓만 다시 보내기 위함, 각 발송 작업은 한 번에 하나씩만 실행)
+    private final MarketSlots<UpbitTickerDto> broadcastTickers = new MarketSlots<>();
+    private final MarketSlots<String> broadcastOrderbooks = new MarketSlots<>();
+    private long broadcastTickerVersion = -1;
+    private long lastOrderbookKeyframeAt;
+
+    // 이 주기마다 바뀌지 않은 호가도 모두 다시 보냄 (중간에 구독한 클라이언트용)
+    @Value("${market.kafka.keyframe-interval:PT1M}")
+    private Duration keyframeInterval;
 
     // Kafka에서 받은 메시지를 Redis에 최신 상태로 저장만 하고 WebSocket 발송은 주기별로 처리
-    @KafkaListener(topics = "upbit-ticker-topic", groupId = "upbit-group", concurrency = "3")
-    public void consumeTicker(String message) {
+    // 레코드는 마켓당 한 건(key: 마켓 코드)이고, poll 한 번에 받은 레코드를 한꺼번에 처리
+    @KafkaListener(topics = KafkaTopicConfig.TICKER_TOPIC, groupId = "upbit-group", batch = "true",
+            concurrency = "${market.kafka.consumer-concurrency:3}")
+    public void consumeTicker(List<byte[]> messages) {
         try {
             // Kafka에서 받은 메시지를 객체로 변환
-            List<UpbitTickerDto> tickers = objectMapper.readValue(message, new TypeReference<List<UpbitTickerDto>>() {});
-            log.info("Kafa Consumer received {} tickers", tickers.size());
+            List<UpbitTickerDto> tickers = new ArrayList<>(messages.size());
+            for (byte[] message : messages) {
+                decode(message, "ticker", payload -> marketDataCodec.decodeTickers(payload, tickers::add));
+            }
+            log.info("Kafka Consumer received {} tickers", tickers.size());
 
-            // 1. 먼저 모든 데이터를 Redis에 저장 (최신 상태 유지)
+            // 1. 메모리 스냅샷 갱신 후 Redis hash에도 한 번에 저장 (재시작/다른 인스턴스용)
+            //    이미 받은 티커보다 오래된 티커(다른 스레드가 늦게 처리한 메시지)는 버림
+            Map<String, MarketDataStore.Entry> values = new HashMap<>();
+            int stale = 0;
             for (UpbitTickerDto dto : tickers) {
+                if (!tickerSnapshotCache.update(dto)) {
+                    stale++;
+                    continue;
+                }
                 try {
-                    String key = "upbit:ticker:" + dto.getMarket();
-                    String jsonValue = objectMapper.writeValueAsString(dto);
-                    redisTemplate.opsForValue().set(key, jsonValue, Duration.ofMinutes(3));
+                    values.put(dto.getMarket(), new MarketDataStore.Entry(objectMapper.writeValueAsString(dto), dto.getUpbitTimestamp()));
                 } catch (Exception e) {
-                    log.error("Failed to save ticker to Redis: {}", dto.getMarket(), e);
+                    log.error("Failed to serialize ticker: {}", dto.getMarket(), e);
                 }
+                dailyCandleAggregator.onTicker(dto);
             }
+            countStale("ticker", "memory", stale);
+            countStale("ticker", "redis", marketDataStore.saveAll(MarketDataStore.TICKER_KEY, values));
         } catch (Exception e) {
             log.error("Failed to process Kafka message", e);
         }
     }
 
-    // 2. WebSocket 발송을 10초마다 실행, Redis에서 최신 데이터만 조회
+    // 2. WebSocket 발송을 10초마다 실행, 메모리 스냅샷의 최신 데이터 사용
+    //    직전 발송 이후 스냅샷이 바뀌지 않았으면 보내지 않고, 개별 코인은 바뀐 코인만 전송
     @Scheduled(initialDelay = 130000, fixedRate = 10000) // 10초마다 발송
     public void broadcastLatestTickers() {
         try {
-            List<UpbitTickerDto> latestTickers = new ArrayList<>();
-
-            // SCAN으로 안전하게 키 조회
-            try (Cursor<byte[]> cursor = redisTemplate.getConnectionFactory()
-                    .getConnection()
-                    .scan(ScanOptions.scanOptions().match("upbit:ticker:*").count(1000).build())) {
-
-                while (cursor.hasNext()) {
-                    String key = new String(cursor.next());
-                    String json = redisTemplate.opsForValue().get(key);
-                    if (json != null) {
-                        latestTickers.add(objectMapper.readValue(json, UpbitTickerDto.class));
-                    }
-                }
-            }
+            TickerSnapshotCache.Snapshot snapshot = tickerSnapshotCache.snapshot();
+            List<UpbitTickerDto> latestTickers = snapshot.tickers();
 
             if (latestTickers.isEmpty()) {
-                log.warn("No tickers found in Redis to broadcast");
+                log.warn("No tickers found in snapshot to broadcast");
                 return;
             }
+            if (snapshot.version() == broadcastTickerVersion) {
+                return;
+            }
+            broadcastTickerVersion = snapshot.version();
 
             // 전체 리스트는 한 번만 전송
             try {
@@ -83,8 +110,13 @@ public class KafkaConsumerService {
                 log.error("Failed to send all tickers via WebSocket", e);
             }
 
-            // 개별 코인 데이터도 각각 전송
+            // 개별 코인 데이터는 지난 발송 이후 갱신된 코인만 전송
             for (UpbitTickerDto dto : latestTickers) {
+                int id = marketDictionary.idOf(dto.getMarket());
+                if (broadcastTickers.get(id) == dto) {
+                    continue;
+                }
+                broadcastTickers.set(id, dto);
                 try {
                     messagingTemplate.convertAndSend("/topic/ticker/" + dto.getMarket(), dto);
                 } catch (Exception e) {
@@ -96,21 +128,38 @@ public class KafkaConsumerService {
         }
     }
 
-    @KafkaListener(topics = "upbit-orderbook-topic", groupId = "upbit-group", concurrency = "3")
-    public void consumeOrderbook(String message) {
+    @KafkaListener(topics = KafkaTopicConfig.ORDERBOOK_TOPIC, groupId = "upbit-group", batch = "true",
+            concurrency = "${market.kafka.consumer-concurrency:3}")
+    public void consumeOrderbook(List<byte[]> messages) {
         try {
-            List<UpbitOrderbookDto> orderbooks = objectMapper.readValue(message, new TypeReference<List<UpbitOrderbookDto>>() {});
+            List<UpbitOrderbookDto> orderbooks = new ArrayList<>(messages.size());
+            for (byte[] message : messages) {
+                decode(message, "orderbook", payload -> marketDataCodec.decodeOrderbooks(payload, orderbooks::add));
+            }
             log.info("Kafka Consumer received {} orderbooks", orderbooks.size());
 
+            Map<String, MarketDataStore.Entry> values = new HashMap<>();
+            List<UpbitOrderbookDto> accepted = new ArrayList<>(orderbooks.size());
+            int stale = 0;
             for (UpbitOrderbookDto dto : orderbooks) {
+                if (!orderbookTimestamps.advance(marketDictionary.idOf(dto.getMarket()), dto.getTimestamp())) {
+                    stale++;
+                    continue;
+                }
+                accepted.add(dto);
                 try {
-                    String key = "upbit:orderbook:" + dto.getMarket();
-                    String jsonValue = objectMapper.writeValueAsString(dto);
-                    redisTemplate.opsForValue().set(key, jsonValue, Duration.ofMinutes(3));
+                    values.put(dto.getMarket(), new MarketDataStore.Entry(objectMapper.writeValueAsString(dto), dto.getTimestamp()));
                 } catch (Exception e) {
-                    log.error("Failed to save orderbook to Redis: {}", dto.getMarket(), e);
+                    log.error("Failed to serialize orderbook: {}", dto.getMarket(), e);
                 }
             }
+            countStale("orderbook", "memory", stale);
+            // 체결 확인이 Redis 호가를 다시 읽을 수 있으므로 먼저 저장
+            countStale("orderbook", "redis", marketDataStore.saveAll(MarketDataStore.ORDERBOOK_KEY, values));
+
+            for (UpbitOrderbookDto dto : accepted) {
+                orderbookService.onOrderbookUpdate(dto);
+            }
         } catch (Exception e) {
             log.error("Failed to process orderbook Kafka message", e);
         }
@@ -121,21 +170,24 @@ public class KafkaConsumerService {
         try {
             List<UpbitOrderbookDto> latestOrderbooks = new ArrayList<>();
 
-            // keys()로 모든 키 조회 (작은 규모 Redis에서만 사용)
-            Set<String> keys = redisTemplate.keys("upbit:orderbook:*");
-            if (keys != null) {
-                for (String key : keys) {
-                    String json = redisTemplate.opsForValue().get(key);
-                    if (json != null) {
-                        latestOrderbooks.add(objectMapper.readValue(json, UpbitOrderbookDto.class));
-                    }
-                }
-            }
-
-            if (latestOrderbooks.isEmpty()) {
+            // HGETALL 한 번으로 모든 마켓 호가 조회, 지난 발송 때와 같은 호가는 파싱/전송하지 않음
+            Map<String, String> orderbooks = marketDataStore.findAll(MarketDataStore.ORDERBOOK_KEY);
+            if (orderbooks.isEmpty()) {
                 log.warn("No orderbooks found in Redis to broadcast");
                 return;
             }
+            boolean keyframe = System.currentTimeMillis() - lastOrderbookKeyframeAt >= keyframeInterval.toMillis();
+            if (keyframe) {
+                lastOrderbookKeyframeAt = System.currentTimeMillis();
+            }
+            for (Map.Entry<String, String> entry : orderbooks.entrySet()) {
+                int id = marketDictionary.idOf(entry.getKey());
+                if (!keyframe && entry.getValue().equals(broadcastOrderbooks.get(id))) {
+                    continue;
+                }
+                latestOrderbooks.add(objectMapper.readValue(entry.getValue(), UpbitOrderbookDto.class));
+                broadcastOrderbooks.set(id, entry.getValue());
+            }
 
             // Orderbook은 전체 전송이 필요 없음
 
@@ -148,4 +200,20 @@ public class KafkaConsumerService {
             log.error("Failed to broadcast latest orderbooks via WebSocket", e);
         }
     }
+
+    // 오래되어 버린 데이터 수 (tier: memory - 이 프로세스에서 걸러냄, redis - Redis 스크립트에서 걸러냄)
+    private void countStale(String type, String tier, long count) {
+        if (count > 0) {
+            meterRegistry.counter("market.data.stale.dropped", "type", type, "tier", tier).increment(count);
+        }
+    }
+
+    // 레코드 하나씩 디코딩, 실패한 레코드만 건너뜀
+    private void decode(byte[] message, String type, Consumer<byte[]> decoder) {
+        try {
+            decoder.accept(message);
+        } catch (Exception e) {
+            log.error("Failed to decode Kafka {} message", type, e);
+        }
+    }
 }
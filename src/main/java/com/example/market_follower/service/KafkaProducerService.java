@@ -1,32 +1,53 @@
 package com.example.market_follower.service;
 
+import com.example.market_follower.client.UpbitApiClient;
+import com.example.market_follower.config.KafkaTopicConfig;
 import com.example.market_follower.dto.upbit.UpbitOrderbookDto;
 import com.example.market_follower.dto.upbit.UpbitTickerDto;
+import com.example.market_follower.model.MarketSlots;
 import com.example.market_follower.model.TradableCoin;
 import com.example.market_follower.repository.TradableCoinRepository;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.producer.BufferExhaustedException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Objects;
 
+// Upbit 시세/호가를 10초마다 받아 Kafka 로 전송
+// 마켓별로 마지막에 보낸 값의 fingerprint 를 기억해 두고 바뀐 마켓만 보냄 (거래가 없는 마켓은 보내지 않음)
+// - 시세: 마지막 체결 시각(trade_timestamp), 호가: 호가 단위/총 잔량의 해시
+// - keyframe-interval 마다 모든 마켓을 보내, 중간에 붙은 컨슈머/유실된 레코드와 24시간 누적값 등을 다시 맞춤
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class KafkaProducerService {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final MarketDataCodec marketDataCodec;
     private final ObjectMapper objectMapper;
-    private final RestTemplate restTemplate = new RestTemplate();
-    private final String topic = "upbit-ticker-topic";
+    private final UpbitApiClient upbitApiClient;
     private final TradableCoinRepository tradableCoinRepository;
     private final MarketService marketService;
+    private final MarketDictionary marketDictionary;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${market.kafka.keyframe-interval:PT1M}")
+    private Duration keyframeInterval;
+
+    // 마켓별 마지막으로 보낸 fingerprint (각 전송 작업은 스케줄러에서 한 번에 하나씩만 실행)
+    private final MarketSlots<Long> tickerFingerprints = new MarketSlots<>();
+    private final MarketSlots<Long> orderbookFingerprints = new MarketSlots<>();
+    private long lastTickerKeyframeAt;
+    private long lastOrderbookKeyframeAt;
 
     private volatile boolean isUpdating = false;
 
@@ -65,23 +86,30 @@ public class KafkaProducerService {
             }
 
             String marketsParam = String.join(",", markets);
-            String url = "https://api.upbit.com/v1/orderbook?markets=" + marketsParam;
+            String path = "/v1/orderbook?markets=" + marketsParam;
             
-            String jsonResponse = restTemplate.getForObject(url, String.class);
+            String jsonResponse = upbitApiClient.get(path, String.class);
 
             List<UpbitOrderbookDto> orderbookList = objectMapper.readValue(jsonResponse, new TypeReference<List<UpbitOrderbookDto>>() {});
 
-            int mid = orderbookList.size() / 2;
-
-            // 첫 번째 절반
-            List<UpbitOrderbookDto> firstHalf = orderbookList.subList(0, mid);
-            kafkaTemplate.send("upbit-orderbook-topic", objectMapper.writeValueAsString(firstHalf));
+            boolean keyframe = isKeyframeDue(lastOrderbookKeyframeAt);
+            if (keyframe) {
+                lastOrderbookKeyframeAt = System.currentTimeMillis();
+            }
 
-            // 두 번째 절반
-            List<UpbitOrderbookDto> secondHalf = orderbookList.subList(mid, orderbookList.size());
-            kafkaTemplate.send("upbit-orderbook-topic", objectMapper.writeValueAsString(secondHalf));
+            // 마켓 코드를 key 로 마켓당 한 건씩 전송 (같은 마켓은 같은 파티션에 순서대로 쌓임)
+            int sent = 0;
+            for (UpbitOrderbookDto orderbook : orderbookList) {
+                long fingerprint = 31L * Objects.hash(orderbook.getTotalAskSize(), orderbook.getTotalBidSize())
+                        + Objects.hashCode(orderbook.getOrderbookUnits());
+                if (markSent(orderbookFingerprints, orderbook.getMarket(), fingerprint, keyframe)) {
+                    kafkaTemplate.send(KafkaTopicConfig.ORDERBOOK_TOPIC, orderbook.getMarket(), marketDataCodec.encode(orderbook));
+                    sent++;
+                }
+            }
+            countRecords("orderbook", sent, orderbookList.size() - sent);
 
-            log.info("Sent orderbook data in 2 batches to Kafka, total coins: {}", orderbookList.size());
+            log.info("Sent orderbook data for {} of {} coins to Kafka{}", sent, orderbookList.size(), keyframe ? " (keyframe)" : "");
         } catch (BufferExhaustedException e) {
             log.error("Buffer exhausted: {}", e.getMessage());
             throw e;
@@ -119,14 +147,26 @@ public class KafkaProducerService {
             }
 
             String marketsParam = String.join(",", markets);
-            String url = "https://api.upbit.com/v1/ticker?markets=" + marketsParam;
-            String jsonResponse = restTemplate.getForObject(url, String.class);
+            String path = "/v1/ticker?markets=" + marketsParam;
+            String jsonResponse = upbitApiClient.get(path, String.class);
 
             List<UpbitTickerDto> tickerList = objectMapper.readValue(jsonResponse, new TypeReference<List<UpbitTickerDto>>() {});
-            String message = objectMapper.writeValueAsString(tickerList);
-            kafkaTemplate.send(topic, message);
+            boolean keyframe = isKeyframeDue(lastTickerKeyframeAt);
+            if (keyframe) {
+                lastTickerKeyframeAt = System.currentTimeMillis();
+            }
 
-            log.info("Sent ticker data for {} coins to Kafka", tickerList.size());
+            // 마켓 코드를 key 로 마켓당 한 건씩 전송, 새 체결이 있었던 마켓만
+            int sent = 0;
+            for (UpbitTickerDto ticker : tickerList) {
+                if (markSent(tickerFingerprints, ticker.getMarket(), ticker.getTradeTimestamp(), keyframe)) {
+                    kafkaTemplate.send(KafkaTopicConfig.TICKER_TOPIC, ticker.getMarket(), marketDataCodec.encode(ticker));
+                    sent++;
+                }
+            }
+            countRecords("ticker", sent, tickerList.size() - sent);
+
+            log.info("Sent ticker data for {} of {} coins to Kafka{}", sent, tickerList.size(), keyframe ? " (keyframe)" : "");
         } catch (BufferExhaustedException e) {
             log.error("Buffer exhausted: {}", e.getMessage());
             throw e;
@@ -134,4 +174,25 @@ public class KafkaProducerService {
             log.error("Error fetching or sending ticker data", e);
         }
     }
+
+    private boolean isKeyframeDue(long lastKeyframeAt) {
+        return System.currentTimeMillis() - lastKeyframeAt >= keyframeInterval.toMillis();
+    }
+
+    // 마지막으로 보낸 fingerprint 와 다르면(또는 keyframe 이면) 기록하고 true
+    // 전송 실패로 빠진 레코드는 다음 keyframe 에서 다시 보내짐
+    private boolean markSent(MarketSlots<Long> sent, String market, long fingerprint, boolean keyframe) {
+        int id = marketDictionary.idOf(market);
+        Long previous = sent.get(id);
+        if (!keyframe && previous != null && previous == fingerprint) {
+            return false;
+        }
+        sent.set(id, fingerprint);
+        return true;
+    }
+
+    private void countRecords(String type, int sent, int unchanged) {
+        meterRegistry.counter("market.kafka.records", "type", type, "result", "sent").increment(sent);
+        meterRegistry.counter("market.kafka.records", "type", type, "result", "unchanged").increment(unchanged);
+    }
 }
@@ -0,0 +1,309 @@
+package com.example.market_follower.service;
+
+import com.example.market_follower.dto.upbit.UpbitOrderbookDto;
+import com.example.market_follower.dto.upbit.UpbitTickerDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.example.market_follower.service.VarInts.readVarLong;
+import static com.example.market_follower.service.VarInts.unzigzag;
+import static com.example.market_follower.service.VarInts.writeVarLong;
+import static com.example.market_follower.service.VarInts.zigzag;
+
+// Kafka 시세/호가 레코드 인코더/디코더
+// market.kafka.format 이 binary 면 아래 바이너리 형식, json 이면 기존 JSON 으로 보냄
+// 받는 쪽은 첫 바이트로 형식을 구분하므로 두 형식(과 배포 전의 JSON 배열 레코드)이 섞여 있어도 읽을 수 있음
+// 바이너리를 읽지 못하는 이전 버전으로 컨슈머를 되돌릴 때는 먼저 프로듀서를 market.kafka.format=json 으로 바꾸고,
+// 토픽에 남은 바이너리 레코드가 모두 소비된 뒤에 되돌려야 함
+//
+// 바이너리 형식 (big-endian)
+// 헤더: uint8 0xB7, uint8 형식 버전(1), uint8 종류(1=티커, 2=호가)
+// 마켓: varint 마켓 ID (MarketDictionary), varint/zigzag 는 VarInts
+// 문자열: varint (UTF-8 바이트 수 + 1) + UTF-8, 0 이면 null
+// 티커 v1: int64 trade_timestamp, int64 timestamp, 문자열 × 4 (trade_date, trade_time, trade_date_kst, trade_time_kst),
+//         int8 change(0=RISE,1=EVEN,2=FALL,-1=없음),
+//         float64 × 16 (opening, high, low, trade, prev_closing, change_price, change_rate, signed_change_price,
+//                       signed_change_rate, trade_volume, acc_trade_price, acc_trade_price_24h, acc_trade_volume,
+//                       acc_trade_volume_24h, highest_52_week_price, lowest_52_week_price),
+//         문자열 × 2 (highest_52_week_date, lowest_52_week_date)
+// 호가 v1: int64 timestamp, float64 total_ask_size, float64 total_bid_size, zigzag varint level,
+//         varint 호가 단위 수 n, n × (소수 × 4: ask_price, bid_price, ask_size, bid_size)
+// 소수: zigzag varint scale, varint 크기 바이트 수(0 이면 null) + unscaled 값(2의 보수 big-endian)
+@Component
+public class MarketDataCodec {
+    private static final int MAGIC = 0xB7;
+    private static final int FORMAT_VERSION = 1;
+    private static final int TYPE_TICKER = 1;
+    private static final int TYPE_ORDERBOOK = 2;
+    private static final String[] CHANGES = {"RISE", "EVEN", "FALL"};
+
+    private final MarketDictionary marketDictionary;
+    private final ObjectMapper objectMapper;
+    private final boolean binary;
+
+    public MarketDataCodec(
+            MarketDictionary marketDictionary,
+            ObjectMapper objectMapper,
+            @Value("${market.kafka.format:binary}") String format
+    ) {
+        this.marketDictionary = marketDictionary;
+        this.objectMapper = objectMapper;
+        this.binary = !"json".equalsIgnoreCase(format);
+    }
+
+    public byte[] encode(UpbitTickerDto ticker) {
+        try {
+            if (!binary) {
+                return objectMapper.writeValueAsBytes(ticker);
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            writeHeader(out, TYPE_TICKER, ticker.getMarket());
+            out.writeLong(ticker.getTradeTimestamp());
+            out.writeLong(ticker.getUpbitTimestamp());
+            writeString(out, ticker.getTradeDate());
+            writeString(out, ticker.getTradeTime());
+            writeString(out, ticker.getTradeDateKst());
+            writeString(out, ticker.getTradeTimeKst());
+            out.writeByte(changeCodeOf(ticker.getChange()));
+            out.writeDouble(ticker.getOpeningPrice());
+            out.writeDouble(ticker.getHighPrice());
+            out.writeDouble(ticker.getLowPrice());
+            out.writeDouble(ticker.getTradePrice());
+            out.writeDouble(ticker.getPrevClosingPrice());
+            out.writeDouble(ticker.getChangePrice());
+            out.writeDouble(ticker.getChangeRate());
+            out.writeDouble(ticker.getSignedChangePrice());
+            out.writeDouble(ticker.getSignedChangeRate());
+            out.writeDouble(ticker.getTradeVolume());
+            out.writeDouble(ticker.getAccTradePrice());
+            out.writeDouble(ticker.getAccTradePrice24h());
+            out.writeDouble(ticker.getAccTradeVolume());
+            out.writeDouble(ticker.getAccTradeVolume24h());
+            out.writeDouble(ticker.getHighest52WeekPrice());
+            out.writeDouble(ticker.getLowest52WeekPrice());
+            writeString(out, ticker.getHighest52WeekDate());
+            writeString(out, ticker.getLowest52WeekDate());
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("티커 인코딩 실패: " + ticker.getMarket(), e);
+        }
+    }
+
+    public byte[] encode(UpbitOrderbookDto orderbook) {
+        try {
+            if (!binary) {
+                return objectMapper.writeValueAsBytes(orderbook);
+            }
+            List<UpbitOrderbookDto.OrderbookUnit> units = orderbook.getOrderbookUnits() == null
+                    ? List.of() : orderbook.getOrderbookUnits();
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + units.size() * 32);
+            DataOutputStream out = new DataOutputStream(bytes);
+            writeHeader(out, TYPE_ORDERBOOK, orderbook.getMarket());
+            out.writeLong(orderbook.getTimestamp());
+            out.writeDouble(orderbook.getTotalAskSize());
+            out.writeDouble(orderbook.getTotalBidSize());
+            writeVarLong(out, zigzag(orderbook.getLevel()));
+            writeVarLong(out, units.size());
+            for (UpbitOrderbookDto.OrderbookUnit unit : units) {
+                writeDecimal(out, unit.getAskPrice());
+                writeDecimal(out, unit.getBidPrice());
+                writeDecimal(out, unit.getAskSize());
+                writeDecimal(out, unit.getBidSize());
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("호가 인코딩 실패: " + orderbook.getMarket(), e);
+        }
+    }
+
+    // 레코드 하나를 디코딩해 sink 로 전달 (JSON 배열 레코드면 원소마다 전달)
+    public void decodeTickers(byte[] payload, Consumer<UpbitTickerDto> sink) {
+        try {
+            if (isBinary(payload)) {
+                DataInputStream in = openBinary(payload, TYPE_TICKER);
+                sink.accept(readTicker(in));
+            } else {
+                readJson(payload, UpbitTickerDto.class, sink);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("티커 디코딩 실패", e);
+        }
+    }
+
+    public void decodeOrderbooks(byte[] payload, Consumer<UpbitOrderbookDto> sink) {
+        try {
+            if (isBinary(payload)) {
+                DataInputStream in = openBinary(payload, TYPE_ORDERBOOK);
+                sink.accept(readOrderbook(in));
+            } else {
+                readJson(payload, UpbitOrderbookDto.class, sink);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("호가 디코딩 실패", e);
+        }
+    }
+
+    private UpbitTickerDto readTicker(DataInputStream in) throws IOException {
+        UpbitTickerDto ticker = new UpbitTickerDto();
+        ticker.setMarket(readMarket(in));
+        ticker.setTradeTimestamp(in.readLong());
+        ticker.setUpbitTimestamp(in.readLong());
+        ticker.setTradeDate(readString(in));
+        ticker.setTradeTime(readString(in));
+        ticker.setTradeDateKst(readString(in));
+        ticker.setTradeTimeKst(readString(in));
+        int change = in.readByte();
+        ticker.setChange(change >= 0 && change < CHANGES.length ? CHANGES[change] : null);
+        ticker.setOpeningPrice(in.readDouble());
+        ticker.setHighPrice(in.readDouble());
+        ticker.setLowPrice(in.readDouble());
+        ticker.setTradePrice(in.readDouble());
+        ticker.setPrevClosingPrice(in.readDouble());
+        ticker.setChangePrice(in.readDouble());
+        ticker.setChangeRate(in.readDouble());
+        ticker.setSignedChangePrice(in.readDouble());
+        ticker.setSignedChangeRate(in.readDouble());
+        ticker.setTradeVolume(in.readDouble());
+        ticker.setAccTradePrice(in.readDouble());
+        ticker.setAccTradePrice24h(in.readDouble());
+        ticker.setAccTradeVolume(in.readDouble());
+        ticker.setAccTradeVolume24h(in.readDouble());
+        ticker.setHighest52WeekPrice(in.readDouble());
+        ticker.setLowest52WeekPrice(in.readDouble());
+        ticker.setHighest52WeekDate(readString(in));
+        ticker.setLowest52WeekDate(readString(in));
+        return ticker;
+    }
+
+    private UpbitOrderbookDto readOrderbook(DataInputStream in) throws IOException {
+        String market = readMarket(in);
+        long timestamp = in.readLong();
+        double totalAskSize = in.readDouble();
+        double totalBidSize = in.readDouble();
+        int level = (int) unzigzag(readVarLong(in));
+        int count = (int) readVarLong(in);
+
+        List<UpbitOrderbookDto.OrderbookUnit> units = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            units.add(UpbitOrderbookDto.OrderbookUnit.builder()
+                    .askPrice(readDecimal(in))
+                    .bidPrice(readDecimal(in))
+                    .askSize(readDecimal(in))
+                    .bidSize(readDecimal(in))
+                    .build());
+        }
+        return UpbitOrderbookDto.builder()
+                .market(market)
+                .timestamp(timestamp)
+                .totalAskSize(totalAskSize)
+                .totalBidSize(totalBidSize)
+                .orderbookUnits(units)
+                .level(level)
+                .build();
+    }
+
+    private <T> void readJson(byte[] payload, Class<T> type, Consumer<T> sink) throws IOException {
+        if (payload.length > 0 && payload[0] == '[') {
+            CollectionType listType = objectMapper.getTypeFactory().constructCollectionType(List.class, type);
+            List<T> values = objectMapper.readValue(payload, listType);
+            values.forEach(sink);
+        } else {
+            sink.accept(objectMapper.readValue(payload, type));
+        }
+    }
+
+    private static boolean isBinary(byte[] payload) {
+        return payload.length > 0 && (payload[0] & 0xFF) == MAGIC;
+    }
+
+    private static DataInputStream openBinary(byte[] payload, int expectedType) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        in.readUnsignedByte();
+        int version = in.readUnsignedByte();
+        int type = in.readUnsignedByte();
+        if (version != FORMAT_VERSION || type != expectedType) {
+            throw new IOException("지원하지 않는 형식 - 버전 " + version + ", 종류 " + type);
+        }
+        return in;
+    }
+
+    private void writeHeader(DataOutputStream out, int type, String market) throws IOException {
+        out.writeByte(MAGIC);
+        out.writeByte(FORMAT_VERSION);
+        out.writeByte(type);
+        writeVarLong(out, marketDictionary.idOf(market));
+    }
+
+    private String readMarket(DataInputStream in) throws IOException {
+        int id = (int) readVarLong(in);
+        String market = marketDictionary.marketOf(id);
+        if (market == null) {
+            throw new IOException("알 수 없는 마켓 ID: " + id);
+        }
+        return market;
+    }
+
+    private static int changeCodeOf(String change) {
+        for (int i = 0; i < CHANGES.length; i++) {
+            if (CHANGES[i].equals(change)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarLong(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length + 1L);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = (int) readVarLong(in);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length - 1];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        if (value == null) {
+            writeVarLong(out, 0);
+            writeVarLong(out, 0);
+            return;
+        }
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        writeVarLong(out, zigzag(value.scale()));
+        writeVarLong(out, unscaled.length);
+        out.write(unscaled);
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        int scale = (int) unzigzag(readVarLong(in));
+        int length = (int) readVarLong(in);
+        if (length == 0) {
+            return null;
+        }
+        byte[] unscaled = new byte[length];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+}
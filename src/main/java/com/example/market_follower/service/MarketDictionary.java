@@ -0,0 +1,122 @@
+package com.example.market_follower.service;
+
+import com.example.market_follower.model.MarketDictionaryEntry;
+import com.example.market_follower.repository.MarketDictionaryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// 마켓 코드("KRW-BTC") <-> 정수 ID 사전
+// 메모리 자료구조(MarketSlots)와 압축 전송 포맷은 ID 를 쓰고, API 응답에서만 다시 마켓 코드로 바꿈
+// - ID 는 market_dictionary 테이블에 저장되어 재시작/여러 인스턴스 사이에서도 같음
+// - 거래 가능 코인 갱신 시 새 마켓을 등록하고, 처음 보는 마켓은 조회 시점에 등록
+@Slf4j
+@Component
+public class MarketDictionary {
+    public static final int NO_ID = -1;
+
+    private final MarketDictionaryRepository marketDictionaryRepository;
+    // 호출한 쪽 트랜잭션이 롤백되어도 등록한 ID 는 남도록 별도 트랜잭션으로 저장
+    private final TransactionTemplate registerTransaction;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile AtomicReferenceArray<String> markets = new AtomicReferenceArray<>(0);
+
+    public MarketDictionary(MarketDictionaryRepository marketDictionaryRepository, PlatformTransactionManager transactionManager) {
+        this.marketDictionaryRepository = marketDictionaryRepository;
+        this.registerTransaction = new TransactionTemplate(transactionManager);
+        this.registerTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // 사전에 있는 마켓만 받는 리스너(OpenOrderIndex 재구성 등)보다 먼저 읽음
+    @EventListener(ApplicationStartedEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void load() {
+        marketDictionaryRepository.findAll().forEach(this::put);
+        log.info("Market dictionary loaded with {} markets", ids.size());
+    }
+
+    // 마켓 ID, 사전에 없으면 등록
+    public int idOf(String market) {
+        Integer id = ids.get(market);
+        return id != null ? id : register(market);
+    }
+
+    // 등록하지 않고 찾기만 함, 없으면 NO_ID
+    public int find(String market) {
+        Integer id = ids.get(market);
+        return id != null ? id : NO_ID;
+    }
+
+    // ID 의 마켓 코드, 없으면 null
+    // 다른 인스턴스가 기동 이후 등록한 ID 일 수 있으므로 메모리에 없으면 DB 에서 한 번 더 찾음
+    public String marketOf(int id) {
+        AtomicReferenceArray<String> current = markets;
+        String market = id >= 0 && id < current.length() ? current.get(id) : null;
+        if (market != null || id <= 0) {
+            return market;
+        }
+        return marketDictionaryRepository.findById(id)
+                .map(entry -> {
+                    put(entry);
+                    return entry.getMarket();
+                })
+                .orElse(null);
+    }
+
+    public void registerAll(Collection<String> newMarkets) {
+        int before = ids.size();
+        for (String market : newMarkets) {
+            idOf(market);
+        }
+        if (ids.size() > before) {
+            log.info("Registered {} new markets in market dictionary", ids.size() - before);
+        }
+    }
+
+    private synchronized int register(String market) {
+        Integer id = ids.get(market);
+        if (id != null) {
+            return id;
+        }
+
+        MarketDictionaryEntry entry;
+        try {
+            entry = registerTransaction.execute(status ->
+                    marketDictionaryRepository.save(MarketDictionaryEntry.builder().market(market).build()));
+        } catch (DataIntegrityViolationException e) {
+            // 다른 인스턴스가 먼저 등록한 경우
+            entry = marketDictionaryRepository.findByMarket(market)
+                    .orElseThrow(() -> new RuntimeException("마켓 사전 등록 실패: " + market, e));
+        }
+        put(entry);
+        return entry.getId();
+    }
+
+    private synchronized void put(MarketDictionaryEntry entry) {
+        int id = entry.getId();
+        AtomicReferenceArray<String> current = markets;
+        if (id >= current.length()) {
+            AtomicReferenceArray<String> grown = new AtomicReferenceArray<>(Math.max(id + 1, current.length() * 2));
+            for (int i = 0; i < current.length(); i++) {
+                grown.set(i, current.get(i));
+            }
+            current = grown;
+        }
+        current.set(id, entry.getMarket());
+        markets = current;
+        ids.put(entry.getMarket(), id);
+    }
+}
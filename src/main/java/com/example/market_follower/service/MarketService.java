@@ -1,9 +1,11 @@
 package com.example.market_follower.service;
 
+import com.example.market_follower.client.UpbitApiClient;
 import com.example.market_follower.dto.upbit.TradableCoinDto;
 import com.example.market_follower.dto.upbit.UpbitMarketApiResponse;
 import com.example.market_follower.dto.upbit.UpbitTickerDto;
 import com.example.market_follower.model.TradableCoin;
+import com.example.market_follower.repository.MarketDataStore;
 import com.example.market_follower.repository.TradableCoinRepository;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -11,17 +13,13 @@ import io.github.cdimascio.dotenv.Dotenv;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -32,8 +30,10 @@ public class MarketService {
     private final TradableCoinRepository tradableCoinRepository;
     private final Dotenv dotenv;
     private final ObjectMapper objectMapper;    // JSON 파싱
-    private final RestTemplate restTemplate = new RestTemplate();   // HTTP 호출
-    private final StringRedisTemplate redisTemplate;
+    private final UpbitApiClient upbitApiClient;
+    private final MarketDictionary marketDictionary;
+    private final TickerSnapshotCache tickerSnapshotCache;
+    private final MarketDataStore marketDataStore;
 
     private String uuidGenerator() {
         return UUID.randomUUID().toString();
@@ -58,6 +58,8 @@ public class MarketService {
                 .market(dto.getMarket())
                 .koreanName(dto.getKoreanName())
                 .englishName(dto.getEnglishName())
+                .quoteCurrency(TradableCoin.quoteCurrencyOf(dto.getMarket()))
+                .baseAsset(TradableCoin.baseAssetOf(dto.getMarket()))
                 .isWarning(dto.getIsWarning())
                 .isCautionPriceFluctuations(dto.getIsCautionPriceFluctuations())
                 .isCautionTradingVolumeSoaring(dto.getIsCautionTradingVolumeSoaring())
@@ -88,7 +90,12 @@ public class MarketService {
         List<String> dtoMarkets = dtos.stream()
             .map(TradableCoinDto::getMarket)
             .toList();
-        
+
+        // 새로 상장된 마켓에 ID 부여 (상장폐지된 마켓의 ID 는 남겨 둠)
+        marketDictionary.registerAll(dtoMarkets);
+        // 상장폐지된 마켓의 티커/호가 필드 정리
+        marketDataStore.retainMarkets(dtoMarkets);
+
         tradableCoinRepository.deleteByMarketNotIn(dtoMarkets);
         log.info("Deleted tradable_coin entries not in the latest API response");
     }
@@ -96,8 +103,8 @@ public class MarketService {
     public List<TradableCoinDto> getAllTradableCoins() {
         try {
             // 1. Upbit 마켓 목록 API 호출
-            String url = "https://api.upbit.com/v1/market/all?isDetails=true";
-            String jsonString = restTemplate.getForObject(url, String.class);
+            String path = "/v1/market/all?isDetails=true";
+            String jsonString = upbitApiClient.get(path, String.class);
 
             List<UpbitMarketApiResponse> apiResponses =
                     objectMapper.readValue(jsonString, new TypeReference<List<UpbitMarketApiResponse>>() {});
@@ -123,35 +130,17 @@ public class MarketService {
         }
     }
 
+    // 메모리 스냅샷에서 조회 (없으면 Redis)
     public UpbitTickerDto getTicker(String market) {
         try {
-            String key = "upbit:ticker:" + market;
-            String json = redisTemplate.opsForValue().get(key);
-            if (json == null) return null;
-            return objectMapper.readValue(json, UpbitTickerDto.class);
+            return tickerSnapshotCache.get(market);
         } catch(Exception e) {
             throw new RuntimeException("Error fetching ticker for market: " + market, e);
         }
     }
 
+    // Kafka 컨슈머가 갱신하는 메모리 스냅샷에서 조회 (Redis 조회 없음)
     public List<UpbitTickerDto> getAllTickers() {
-        try {
-            // Redis에서 전체 마켓 키 패턴 가져오기
-            Set<String> keys = redisTemplate.keys("upbit:ticker:*");
-
-            List<UpbitTickerDto> tickers = new ArrayList<>();
-            if (keys != null) {
-                for (String key : keys) {
-                    String json = redisTemplate.opsForValue().get(key);
-                    if (json != null) {
-                        tickers.add(objectMapper.readValue(json, UpbitTickerDto.class));
-                    }
-                }
-            }
-
-            return tickers;
-        } catch (Exception e) {
-            throw new RuntimeException("Error fetching tickers from Redis", e);
-        }
+        return tickerSnapshotCache.snapshot().tickers();
     }
 }
@@ -0,0 +1,197 @@
+package com.example.market_follower.service;
+
+import com.example.market_follower.model.MarketSlots;
+import com.example.market_follower.model.TradeHistory;
+import com.example.market_follower.repository.TradeHistoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 체결 대기(WAITING) 주문의 마켓별 인메모리 가격 인덱스
+// 매수 주문은 가격 내림차순, 매도 주문은 가격 오름차순으로 정렬되어 있어
+// 최우선 호가가 바뀌었을 때 실제로 체결 조건을 만족하는 주문만 꺼낼 수 있음
+// 마켓별 주문 목록은 마켓 ID(MarketDictionary) 위치의 배열 칸에 두어 호가 수신마다 문자열 해시 조회를 하지 않음
+// 인덱스는 인스턴스마다 따로 있으므로 주기적으로 DB 의 WAITING 주문과 맞춤
+// - 다른 인스턴스에서 접수된 주문 추가, 다른 인스턴스에서 체결/취소된 주문 제거
+// - 기동 시 재구성이 실패해도 다음 주기에 채워짐
+// 체결 자체는 주문 행을 잠그고 상태를 다시 확인하므로 여러 인스턴스가 같은 주문을 평가해도 한 번만 체결됨
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OpenOrderIndex {
+    private final TradeHistoryRepository tradeHistoryRepository;
+    private final MarketDictionary marketDictionary;
+
+    private final MarketSlots<MarketOrders> books = new MarketSlots<>();
+    private final Map<Long, OpenOrder> ordersById = new ConcurrentHashMap<>();
+
+    public record OpenOrder(Long id, String market, TradeHistory.Side side, BigDecimal price) {
+        public static OpenOrder from(TradeHistory order) {
+            return new OpenOrder(order.getId(), order.getMarket(), order.getSide(), order.getPrice());
+        }
+    }
+
+    // 서버 기동 시 trade_history의 WAITING 주문으로 인덱스 재구성
+    @EventListener(ApplicationStartedEvent.class)
+    public void rebuild() {
+        try {
+            reconcile();
+            log.info("Open order index rebuilt with {} waiting orders in {} markets", size(), markets().size());
+        } catch (Exception e) {
+            log.error("Failed to rebuild open order index, retrying on next reconciliation", e);
+        }
+    }
+
+    // DB 의 WAITING 주문과 인덱스를 맞춤
+    // 조회 전에 이미 인덱스에 있던 주문만 제거 대상으로 보므로, 조회 도중 접수되어 추가된 주문은 지우지 않음
+    @Scheduled(initialDelayString = "${order.index.reconcile-ms:60000}", fixedDelayString = "${order.index.reconcile-ms:60000}")
+    public void reconcile() {
+        Set<Long> indexedBefore = new HashSet<>(ordersById.keySet());
+        List<TradeHistory> waitingOrders = tradeHistoryRepository
+                .findByStatusOrderByRequestAtAsc(TradeHistory.TradeStatus.WAITING);
+
+        Set<Long> waitingIds = new HashSet<>();
+        int added = 0;
+        int skipped = 0;
+        for (TradeHistory order : waitingOrders) {
+            waitingIds.add(order.getId());
+            if (!ordersById.containsKey(order.getId())) {
+                if (add(OpenOrder.from(order))) {
+                    added++;
+                } else {
+                    skipped++;
+                }
+            }
+        }
+
+        int removed = 0;
+        for (Long id : indexedBefore) {
+            if (!waitingIds.contains(id)) {
+                remove(id);
+                removed++;
+            }
+        }
+        if (added > 0 || removed > 0) {
+            log.info("Open order index reconciled with DB - added {}, removed {}", added, removed);
+        }
+        if (skipped > 0) {
+            log.warn("Open order index skipped {} waiting orders for unknown markets", skipped);
+        }
+    }
+
+    // 사전에 없는 마켓(거래 가능 코인이 아닌 마켓)의 주문은 사전에 등록하지 않고 건너뜀, 인덱스에 넣었으면 true
+    public boolean add(OpenOrder order) {
+        int marketId = marketDictionary.find(order.market());
+        if (marketId == MarketDictionary.NO_ID) {
+            log.debug("Skipping open order {} for unknown market {}", order.id(), order.market());
+            return false;
+        }
+        if (ordersById.putIfAbsent(order.id(), order) == null) {
+            books.computeIfAbsent(marketId, id -> new MarketOrders()).add(order);
+            return true;
+        }
+        return false;
+    }
+
+    public void remove(Long orderId) {
+        OpenOrder order = ordersById.remove(orderId);
+        if (order != null) {
+            MarketOrders marketOrders = ordersOf(order.market());
+            if (marketOrders != null) {
+                marketOrders.remove(order);
+            }
+        }
+    }
+
+    // 최우선 매도호가 이상으로 매수하려는 주문 + 최우선 매수호가 이하로 매도하려는 주문
+    public List<OpenOrder> findCrossing(String market, BigDecimal bestAsk, BigDecimal bestBid) {
+        MarketOrders marketOrders = ordersOf(market);
+        if (marketOrders == null) {
+            return List.of();
+        }
+        return marketOrders.crossing(bestAsk, bestBid);
+    }
+
+    public boolean hasOrders(String market) {
+        MarketOrders marketOrders = ordersOf(market);
+        return marketOrders != null && marketOrders.size() > 0;
+    }
+
+    public Set<String> markets() {
+        Set<String> markets = new HashSet<>();
+        books.forEach((id, orders) -> {
+            if (orders.size() > 0) {
+                markets.add(marketDictionary.marketOf(id));
+            }
+        });
+        return markets;
+    }
+
+    // 주문이 한 번도 없었던 마켓은 사전에 등록하지 않고 null
+    private MarketOrders ordersOf(String market) {
+        int id = marketDictionary.find(market);
+        return id == MarketDictionary.NO_ID ? null : books.get(id);
+    }
+
+    public int size() {
+        return ordersById.size();
+    }
+
+    private static final class MarketOrders {
+        // 같은 가격 안에서는 접수 순서(FIFO)를 유지
+        private final NavigableMap<BigDecimal, Map<Long, OpenOrder>> bids = new TreeMap<>(Comparator.reverseOrder());
+        private final NavigableMap<BigDecimal, Map<Long, OpenOrder>> asks = new TreeMap<>();
+        private int size;
+
+        synchronized void add(OpenOrder order) {
+            Map<Long, OpenOrder> level = sideOf(order.side()).computeIfAbsent(order.price(), price -> new LinkedHashMap<>());
+            if (level.putIfAbsent(order.id(), order) == null) {
+                size++;
+            }
+        }
+
+        synchronized void remove(OpenOrder order) {
+            NavigableMap<BigDecimal, Map<Long, OpenOrder>> side = sideOf(order.side());
+            Map<Long, OpenOrder> level = side.get(order.price());
+            if (level != null && level.remove(order.id()) != null) {
+                size--;
+                if (level.isEmpty()) {
+                    side.remove(order.price());
+                }
+            }
+        }
+
+        synchronized List<OpenOrder> crossing(BigDecimal bestAsk, BigDecimal bestBid) {
+            List<OpenOrder> result = new ArrayList<>();
+
+            // bids는 내림차순이므로 headMap(bestAsk)는 가격 >= bestAsk 인 매수 주문
+            if (bestAsk != null) {
+                for (Map<Long, OpenOrder> level : bids.headMap(bestAsk, true).values()) {
+                    result.addAll(level.values());
+                }
+            }
+            // asks는 오름차순이므로 headMap(bestBid)는 가격 <= bestBid 인 매도 주문
+            if (bestBid != null) {
+                for (Map<Long, OpenOrder> level : asks.headMap(bestBid, true).values()) {
+                    result.addAll(level.values());
+                }
+            }
+            return result;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        private NavigableMap<BigDecimal, Map<Long, OpenOrder>> sideOf(TradeHistory.Side side) {
+            return side == TradeHistory.Side.BUY ? bids : asks;
+        }
+    }
+}
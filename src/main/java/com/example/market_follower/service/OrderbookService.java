@@ -4,18 +4,24 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 import com.example.market_follower.model.Member;
 import com.example.market_follower.repository.MemberRepository;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import com.fasterxml.jackson.core.JsonProcessingException;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import com.example.market_follower.dto.upbit.HoldingDto;
@@ -26,21 +32,55 @@ import com.example.market_follower.model.Holding;
 import com.example.market_follower.model.TradeHistory;
 import com.example.market_follower.model.Wallet;
 import com.example.market_follower.repository.HoldingRepository;
+import com.example.market_follower.repository.MarketDataStore;
 import com.example.market_follower.repository.TradeHistoryRepository;
 import com.example.market_follower.repository.WalletRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class OrderbookService {
     private final MemberRepository memberRepository;
     private final WalletRepository walletRepository;
     private final TradeHistoryRepository tradeHistoryRepository;
     private final HoldingRepository holdingRepository;
     private final SimpMessagingTemplate messagingTemplate;
-    private final StringRedisTemplate redisTemplate;
+    private final MarketDataStore marketDataStore;
     private final ObjectMapper objectMapper;
+    private final OpenOrderIndex openOrderIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor matchingExecutor;
+
+    // 마켓별로 아직 평가하지 않은 최신 호가 (연속으로 들어온 호가는 마지막 것만 남김)
+    private final Map<String, UpbitOrderbookDto> pendingOrderbooks = new ConcurrentHashMap<>();
+    // 현재 체결 평가 중인 마켓 (같은 마켓을 동시에 두 번 평가하지 않도록)
+    private final Set<String> matchingMarkets = ConcurrentHashMap.newKeySet();
+    // 마켓별 마지막으로 평가한 호가 timestamp (마켓당 평가는 한 스레드에서만 진행)
+    private final Map<String, Long> evaluatedTimestamps = new ConcurrentHashMap<>();
+
+    public OrderbookService(
+            MemberRepository memberRepository,
+            WalletRepository walletRepository,
+            TradeHistoryRepository tradeHistoryRepository,
+            HoldingRepository holdingRepository,
+            SimpMessagingTemplate messagingTemplate,
+            MarketDataStore marketDataStore,
+            ObjectMapper objectMapper,
+            OpenOrderIndex openOrderIndex,
+            TransactionTemplate transactionTemplate,
+            @Qualifier("matchingExecutor") Executor matchingExecutor
+    ) {
+        this.memberRepository = memberRepository;
+        this.walletRepository = walletRepository;
+        this.tradeHistoryRepository = tradeHistoryRepository;
+        this.holdingRepository = holdingRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.marketDataStore = marketDataStore;
+        this.objectMapper = objectMapper;
+        this.openOrderIndex = openOrderIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.matchingExecutor = matchingExecutor;
+    }
 
     @Transactional
     public void requestTrade(
@@ -93,6 +133,7 @@ public class OrderbookService {
                 .status(TradeHistory.TradeStatus.WAITING)
                 .build();
             tradeHistoryRepository.save(tradeHistory);
+            afterCommit(() -> openOrderIndex.add(OpenOrderIndex.OpenOrder.from(tradeHistory)));
             log.info("Trade requested: {}", tradeHistory);
         }
 
@@ -124,100 +165,115 @@ public class OrderbookService {
                 .status(TradeHistory.TradeStatus.WAITING)
                 .build();
             tradeHistoryRepository.save(tradeHistory);
+            afterCommit(() -> openOrderIndex.add(OpenOrderIndex.OpenOrder.from(tradeHistory)));
             log.info("Trade requested: {}", tradeHistory);
         }
     }
 
-    // 5초마다 대기 중인 주문 체결 확인
-    @Scheduled(fixedRate = 5000)
-    @Transactional
-    public void checkOrderExecution() {
-        try {
-            // WAITING 상태인 주문들 조회
-            List<TradeHistory> waitingOrders = tradeHistoryRepository
-                .findByStatusOrderByRequestAtAsc(TradeHistory.TradeStatus.WAITING);
+    // 호가 갱신이 들어오면 해당 마켓의 대기 주문을 즉시 체결 확인
+    public void onOrderbookUpdate(UpbitOrderbookDto orderbook) {
+        String market = orderbook.getMarket();
+        if (market == null || !openOrderIndex.hasOrders(market)) {
+            return;
+        }
 
-            log.debug("Checking {} waiting orders for execution", waitingOrders.size());
+        // 평가 전에 쌓인 호가 중 가장 최근 것만 남김
+        pendingOrderbooks.merge(market, orderbook,
+                (pending, latest) -> latest.getTimestamp() >= pending.getTimestamp() ? latest : pending);
+        if (matchingMarkets.add(market)) {
+            matchingExecutor.execute(() -> drainMarket(market));
+        }
+    }
 
-            for (TradeHistory order : waitingOrders) {
+    private void drainMarket(String market) {
+        try {
+            UpbitOrderbookDto orderbook;
+            while ((orderbook = pendingOrderbooks.remove(market)) != null) {
+                // 이미 평가한 호가보다 오래된 호가는 평가하지 않음 (지난 가격으로 체결되지 않도록)
+                Long evaluated = evaluatedTimestamps.get(market);
+                if (evaluated != null && orderbook.getTimestamp() < evaluated) {
+                    continue;
+                }
+                evaluatedTimestamps.put(market, orderbook.getTimestamp());
                 try {
-                    checkAndExecuteOrder(order);
+                    checkAndExecuteMarket(orderbook);
                 } catch (Exception e) {
-                    log.error("Failed to check order execution for orderId: {}", order.getId(), e);
+                    log.error("Failed to check order execution for market: {}", market, e);
                 }
             }
-        } catch (Exception e) {
-            log.error("Failed to check order executions", e);
+        } finally {
+            matchingMarkets.remove(market);
+            // 평가 중 플래그를 내리는 사이에 새 호가가 들어왔다면 다시 예약
+            if (pendingOrderbooks.containsKey(market) && matchingMarkets.add(market)) {
+                matchingExecutor.execute(() -> drainMarket(market));
+            }
         }
     }
 
-    private void checkAndExecuteOrder(TradeHistory order) {
+    // 호가 스트림이 끊겼을 때를 대비해 30초마다 대기 주문이 있는 마켓만 Redis 호가로 재확인
+    @Scheduled(initialDelay = 30000, fixedDelay = 30000)
+    public void checkOrderExecution() {
         try {
-            // Redis에서 최신 호가 정보 조회
-            String redisKey = "upbit:orderbook:" + order.getMarket();
-            String orderbookJson = redisTemplate.opsForValue().get(redisKey);
-            
-            if (orderbookJson == null) {
-                log.debug("No orderbook data found for market: {}", order.getMarket());
-                return;
-            }
+            Set<String> markets = openOrderIndex.markets();
+            log.debug("Checking {} waiting orders in {} markets for execution", openOrderIndex.size(), markets.size());
 
-            UpbitOrderbookDto orderbook = objectMapper.readValue(orderbookJson, UpbitOrderbookDto.class);
-            
-            boolean shouldExecute = false;
-            BigDecimal executionPrice = order.getPrice();
-
-            // BUY 주문: 매도 호가가 주문 가격보다 낮거나 같으면 체결
-            if (order.getSide() == TradeHistory.Side.BUY) {
-                if (orderbook.getOrderbookUnits() != null && 
-                    !orderbook.getOrderbookUnits().isEmpty()) {
-                    
-                    BigDecimal askPrice = orderbook.getOrderbookUnits().get(0).getAskPrice();
-                    if (askPrice.compareTo(order.getPrice()) <= 0) {
-                        shouldExecute = true;
-                        executionPrice = askPrice; // 실제 체결가로 업데이트
-                    }
-                }
-            }
-            // SELL 주문: 매수 호가가 주문 가격보다 높거나 같으면 체결
-            else if (order.getSide() == TradeHistory.Side.SELL) {
-                if (orderbook.getOrderbookUnits() != null && 
-                    !orderbook.getOrderbookUnits().isEmpty()) {
-                    
-                    BigDecimal bidPrice = orderbook.getOrderbookUnits().get(0).getBidPrice();
-                    if (bidPrice.compareTo(order.getPrice()) >= 0) {
-                        shouldExecute = true;
-                        executionPrice = bidPrice; // 실제 체결가로 업데이트
+            // 대기 주문이 있는 마켓의 호가를 HMGET 한 번으로 조회
+            Map<String, String> orderbooks = marketDataStore.findAll(MarketDataStore.ORDERBOOK_KEY, markets);
+            for (String market : markets) {
+                try {
+                    String orderbookJson = orderbooks.get(market);
+                    if (orderbookJson == null) {
+                        log.debug("No orderbook data found for market: {}", market);
+                        continue;
                     }
+                    onOrderbookUpdate(objectMapper.readValue(orderbookJson, UpbitOrderbookDto.class));
+                } catch (Exception e) {
+                    log.error("Failed to check order execution for market: {}", market, e);
                 }
             }
+        } catch (Exception e) {
+            log.error("Failed to check order executions", e);
+        }
+    }
 
-            if (shouldExecute) {
-                executeOrder(order, executionPrice);
-            }
+    private void checkAndExecuteMarket(UpbitOrderbookDto orderbook) {
+        if (orderbook.getOrderbookUnits() == null || orderbook.getOrderbookUnits().isEmpty()) {
+            return;
+        }
 
-        } catch (Exception e) {
-            log.error("Failed to check execution for order: {}", order.getId(), e);
+        BigDecimal askPrice = orderbook.getOrderbookUnits().get(0).getAskPrice();
+        BigDecimal bidPrice = orderbook.getOrderbookUnits().get(0).getBidPrice();
+
+        // BUY 주문: 매도 호가가 주문 가격보다 낮거나 같으면 체결
+        // SELL 주문: 매수 호가가 주문 가격보다 높거나 같으면 체결
+        for (OpenOrderIndex.OpenOrder order : openOrderIndex.findCrossing(orderbook.getMarket(), askPrice, bidPrice)) {
+            try {
+                // 실제 체결가는 상대 호가, 주문 하나당 트랜잭션 하나
+                BigDecimal executionPrice = order.side() == TradeHistory.Side.BUY ? askPrice : bidPrice;
+                transactionTemplate.executeWithoutResult(status -> executeOrder(order, executionPrice));
+            } catch (Exception e) {
+                log.error("Failed to check execution for order: {}", order.id(), e);
+            }
         }
     }
 
-    @Transactional
-    private void executeOrder(TradeHistory order, BigDecimal executionPrice) {
-        log.info("Executing order: {} at price: {}", order.getId(), executionPrice);
+    private void executeOrder(OpenOrderIndex.OpenOrder order, BigDecimal executionPrice) {
+        log.info("Executing order: {} at price: {}", order.id(), executionPrice);
 
         try {
             // 주문 상태를 다시 조회하여 여전히 WAITING인지 확인 (동시성 제어)
-            TradeHistory currentOrder = tradeHistoryRepository.findByIdWithLock(order.getId())
+            TradeHistory currentOrder = tradeHistoryRepository.findByIdWithLock(order.id())
                 .orElseThrow(() -> new IllegalStateException("Order not found"));
 
             // 이미 취소되거나 체결된 주문인지 확인
             if (currentOrder.getStatus() != TradeHistory.TradeStatus.WAITING) {
                 log.info("Order {} is no longer waiting (status: {}), skipping execution", 
-                    order.getId(), currentOrder.getStatus());
+                    order.id(), currentOrder.getStatus());
+                openOrderIndex.remove(order.id());
                 return;
             }
 
-            if (order.getSide() == TradeHistory.Side.BUY) {
+            if (currentOrder.getSide() == TradeHistory.Side.BUY) {
                 executeBuyOrder(currentOrder, executionPrice);
             } else {
                 executeSellOrder(currentOrder, executionPrice);
@@ -227,26 +283,27 @@ public class OrderbookService {
             currentOrder.setStatus(TradeHistory.TradeStatus.SUCCESS);
             currentOrder.setMatchedAt(LocalDateTime.now());
             tradeHistoryRepository.save(currentOrder);
+            afterCommit(() -> openOrderIndex.remove(order.id()));
 
             notifyOrderExecuted(currentOrder);
 
             log.info("Order executed successfully: {}", currentOrder.getId());
 
         } catch (Exception e) {
-            log.error("Failed to execute order: {}", order.getId(), e);
+            log.error("Failed to execute order: {}", order.id(), e);
             
             // 실행 실패 시에도 최신 상태 확인 후 처리
             try {
-                TradeHistory currentOrder = tradeHistoryRepository.findById(order.getId())
-                    .orElse(order);
+                Optional<TradeHistory> currentOrder = tradeHistoryRepository.findById(order.id());
                 
-                if (currentOrder.getStatus() == TradeHistory.TradeStatus.WAITING) {
-                    currentOrder.setStatus(TradeHistory.TradeStatus.FAILED);
-                    tradeHistoryRepository.save(currentOrder);
-                    refundOrder(currentOrder);
+                if (currentOrder.isPresent() && currentOrder.get().getStatus() == TradeHistory.TradeStatus.WAITING) {
+                    currentOrder.get().setStatus(TradeHistory.TradeStatus.FAILED);
+                    tradeHistoryRepository.save(currentOrder.get());
+                    refundOrder(currentOrder.get());
                 }
+                afterCommit(() -> openOrderIndex.remove(order.id()));
             } catch (Exception refundError) {
-                log.error("Failed to handle execution failure for order: {}", order.getId(), refundError);
+                log.error("Failed to handle execution failure for order: {}", order.id(), refundError);
             }
         }
     }
@@ -354,6 +411,7 @@ public class OrderbookService {
         // 주문 상태를 CANCELLED로 변경
         order.setStatus(TradeHistory.TradeStatus.CANCELLED);
         tradeHistoryRepository.save(order);
+        afterCommit(() -> openOrderIndex.remove(orderId));
 
         // 자금 해제
         refundOrder(order);
@@ -384,6 +442,20 @@ public class OrderbookService {
         }
     }
 
+    // 트랜잭션이 커밋된 뒤에만 인메모리 주문 인덱스에 반영 (롤백된 주문이 인덱스에 남지 않도록)
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
     public Optional<List<HoldingDto>> getAllHoldings(
         org.springframework.security.core.userdetails.User user
     ) {
@@ -433,8 +505,7 @@ public class OrderbookService {
     }
 
     public Optional<UpbitOrderbookDto> getOrderbookByMarket(String market) throws JsonProcessingException {
-        String key = "upbit:orderbook:" + market;
-        String orderbookJson = redisTemplate.opsForValue().get(key);
+        String orderbookJson = marketDataStore.find(MarketDataStore.ORDERBOOK_KEY, market);
 
         if (orderbookJson != null) {
             UpbitOrderbookDto orderbook = objectMapper.readValue(orderbookJson, UpbitOrderbookDto.class);
@@ -0,0 +1,149 @@
+package com.example.market_follower.service;
+
+import com.example.market_follower.dto.upbit.UpbitTickerDto;
+import com.example.market_follower.model.MarketSlots;
+import com.example.market_follower.repository.MarketDataStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 마켓별 최신 티커를 프로세스 메모리에 들고 있는 스냅샷 캐시
+// Kafka 컨슈머가 받은 티커로 바로 갱신하고, Redis 는 재시작/다른 인스턴스를 위한 공유 저장소로만 사용
+// - /market/ticker/all, WebSocket 브로드캐스트는 Redis 조회/JSON 파싱 없이 메모리에서 응답
+// - 티커는 마켓 ID(MarketDictionary) 위치의 배열 칸에 저장
+// - 갱신마다 version 이 올라가고, 전체 목록은 version 이 바뀐 뒤 처음 조회할 때만 다시 만듦
+// - 여러 컨슈머 스레드가 같은 마켓 티커를 순서 없이 넣어도 Upbit timestamp 가 같거나 오래된 티커는 CAS 로 버림
+//   (같은 티커를 다시 넣어도 version 이 오르지 않아 변경분만 브로드캐스트하는 쪽이 다시 보내지 않음)
+// - 인스턴스마다 티커 토픽의 일부 파티션만 받으므로, 다른 인스턴스가 받은 마켓은 백그라운드에서 주기적으로
+//   Redis hash 에서 합침 (조회 경로에서는 Redis 를 읽지 않음)
+@Slf4j
+@Component
+public class TickerSnapshotCache {
+    private final MarketDictionary marketDictionary;
+    private final MarketDataStore marketDataStore;
+    private final ObjectMapper objectMapper;
+
+    private final MarketSlots<UpbitTickerDto> tickers = new MarketSlots<>();
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot = new Snapshot(0, List.of());
+
+    public TickerSnapshotCache(
+            MarketDictionary marketDictionary,
+            MarketDataStore marketDataStore,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry
+    ) {
+        this.marketDictionary = marketDictionary;
+        this.marketDataStore = marketDataStore;
+        this.objectMapper = objectMapper;
+
+        Gauge.builder("ticker.snapshot.version", version, AtomicLong::get)
+                .description("메모리 티커 스냅샷 갱신 횟수")
+                .register(meterRegistry);
+    }
+
+    // 전체 티커 목록과 그 시점의 version (목록은 수정 불가)
+    public record Snapshot(long version, List<UpbitTickerDto> tickers) {}
+
+    // 서버 기동 시 Redis 에 남아 있는 티커로 채움 (Kafka 로 새 티커가 들어오기 전에도 응답할 수 있도록)
+    @EventListener(ApplicationStartedEvent.class)
+    public void loadFromRedis() {
+        int loaded = mergeFromRedis();
+        log.info("Ticker snapshot loaded {} tickers from Redis", loaded);
+    }
+
+    // 다른 인스턴스가 받은 마켓의 티커를 주기적으로 합침
+    @Scheduled(initialDelayString = "${ticker.snapshot.redis-merge-ms:1000}",
+            fixedDelayString = "${ticker.snapshot.redis-merge-ms:1000}")
+    public void mergeOtherInstances() {
+        mergeFromRedis();
+    }
+
+    // Redis hash 전체를 읽어 메모리보다 새로운 티커만 반영, 반영한 개수 반환
+    int mergeFromRedis() {
+        Map<String, String> values;
+        try {
+            values = marketDataStore.findAll(MarketDataStore.TICKER_KEY);
+        } catch (Exception e) {
+            log.warn("Failed to load tickers from Redis", e);
+            return 0;
+        }
+
+        int merged = 0;
+        for (String json : values.values()) {
+            UpbitTickerDto ticker = parse(json);
+            if (ticker != null && update(ticker)) {
+                merged++;
+            }
+        }
+        return merged;
+    }
+
+    // 이미 들고 있는 티커보다 새롭지 않은(같거나 오래된) 티커면 반영하지 않고 false
+    public boolean update(UpbitTickerDto ticker) {
+        int id = marketDictionary.idOf(ticker.getMarket());
+        while (true) {
+            UpbitTickerDto current = tickers.get(id);
+            if (current != null && current.getUpbitTimestamp() >= ticker.getUpbitTimestamp()) {
+                return false;
+            }
+            if (tickers.compareAndSet(id, current, ticker)) {
+                version.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    // 메모리에 없으면 Redis 에서 읽어 채움 (다른 인스턴스만 받은 마켓 등), 둘 다 없으면 null
+    public UpbitTickerDto get(String market) {
+        int id = marketDictionary.find(market);
+        UpbitTickerDto ticker = id == MarketDictionary.NO_ID ? null : tickers.get(id);
+        if (ticker != null) {
+            return ticker;
+        }
+
+        ticker = parse(marketDataStore.find(MarketDataStore.TICKER_KEY, market));
+        if (ticker != null) {
+            update(ticker);
+        }
+        return ticker;
+    }
+
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        long latest = version.get();
+        if (current.version() == latest) {
+            return current;
+        }
+
+        // 목록을 만드는 동안 들어온 갱신은 다음 조회 때 반영되도록 읽기 시작 전 version 을 기록
+        List<UpbitTickerDto> list = new ArrayList<>();
+        tickers.forEach((id, ticker) -> list.add(ticker));
+        Snapshot rebuilt = new Snapshot(latest, Collections.unmodifiableList(list));
+        snapshot = rebuilt;
+        return rebuilt;
+    }
+
+    private UpbitTickerDto parse(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, UpbitTickerDto.class);
+        } catch (Exception e) {
+            log.warn("Failed to parse ticker from Redis", e);
+            return null;
+        }
+    }
+}
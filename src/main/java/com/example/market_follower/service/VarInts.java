@@ -0,0 +1,41 @@
+package com.example.market_follower.service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+// 바이너리 형식(MarketDataCodec, CandleColumnarEncoder)이 함께 쓰는 가변 길이 정수 인코딩
+// - varint: 7비트씩 나눠 쓰고 최상위 비트로 다음 바이트 존재 여부 표시 (protobuf varint 와 동일)
+// - zigzag: 부호 있는 값을 0, -1, 1, -2, ... -> 0, 1, 2, 3, ... 으로 바꿔 작은 음수도 짧게 씀
+final class VarInts {
+    private VarInts() {
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("varint 길이 초과");
+    }
+}
@@ -0,0 +1,78 @@
+-- MySQL 전용 스키마 변경 (spring.sql.init.platform=mysql 일 때 schema.sql 보다 먼저 실행)
+-- schema.sql 은 CREATE TABLE IF NOT EXISTS 라 이미 있는 테이블에는 새 컬럼/인덱스가 반영되지 않으므로
+-- information_schema 로 확인 후 없을 때만 ALTER (테이블이 아직 없으면 schema.sql 이 새로 만듦)
+
+-- ===== 캔들 테이블 KST 시각 인덱스 =====
+-- schema.sql 의 idx_market_datetime_kst (market, candle_date_time_kst) 를 기존 테이블에도 추가
+-- 마켓별 캔들 조회 기능과 함께 추가됨, candleDateTimeKst 조건으로 읽는 /since 조회에서 사용
+SET @ddl = (SELECT IF(
+    EXISTS(SELECT 1 FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'upbit_candle_7d')
+        AND NOT EXISTS(SELECT 1 FROM information_schema.STATISTICS
+                       WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'upbit_candle_7d' AND INDEX_NAME = 'idx_market_datetime_kst'),
+    'ALTER TABLE upbit_candle_7d ADD KEY idx_market_datetime_kst (market, candle_date_time_kst)',
+    'DO 0'));
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = (SELECT IF(
+    EXISTS(SELECT 1 FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'upbit_candle_30d')
+        AND NOT EXISTS(SELECT 1 FROM information_schema.STATISTICS
+                       WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'upbit_candle_30d' AND INDEX_NAME = 'idx_market_datetime_kst'),
+    'ALTER TABLE upbit_candle_30d ADD KEY idx_market_datetime_kst (market, candle_date_time_kst)',
+    'DO 0'));
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = (SELECT IF(
+    EXISTS(SELECT 1 FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'upbit_candle_3m')
+        AND NOT EXISTS(SELECT 1 FROM information_schema.STATISTICS
+                       WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'upbit_candle_3m' AND INDEX_NAME = 'idx_market_datetime_kst'),
+    'ALTER TABLE upbit_candle_3m ADD KEY idx_market_datetime_kst (market, candle_date_time_kst)',
+    'DO 0'));
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = (SELECT IF(
+    EXISTS(SELECT 1 FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'upbit_candle_1y')
+        AND NOT EXISTS(SELECT 1 FROM information_schema.STATISTICS
+                       WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'upbit_candle_1y' AND INDEX_NAME = 'idx_market_datetime_kst'),
+    'ALTER TABLE upbit_candle_1y ADD KEY idx_market_datetime_kst (market, candle_date_time_kst)',
+    'DO 0'));
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = (SELECT IF(
+    EXISTS(SELECT 1 FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'upbit_candle_5y')
+        AND NOT EXISTS(SELECT 1 FROM information_schema.STATISTICS
+                       WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'upbit_candle_5y' AND INDEX_NAME = 'idx_market_datetime_kst'),
+    'ALTER TABLE upbit_candle_5y ADD KEY idx_market_datetime_kst (market, candle_date_time_kst)',
+    'DO 0'));
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- ===== tradable_coin 호가 화폐/거래 대상 자산 컬럼 =====
+-- 값은 기동 시 거래 가능 코인 갱신에서 채워짐
+SET @ddl = (SELECT IF(
+    EXISTS(SELECT 1 FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'tradable_coin')
+        AND NOT EXISTS(SELECT 1 FROM information_schema.COLUMNS
+                       WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'tradable_coin' AND COLUMN_NAME = 'quote_currency'),
+    'ALTER TABLE tradable_coin ADD COLUMN quote_currency VARCHAR(10) NULL AFTER english_name, ADD COLUMN base_asset VARCHAR(20) NULL AFTER quote_currency, ADD KEY idx_quote_currency (quote_currency)',
+    'DO 0'));
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 기존 행의 호가 화폐/거래 대상 자산을 마켓 코드(KRW-BTC)로 채움 (거래 가능 코인 갱신 전에도 범위 조회가 되도록)
+SET @ddl = (SELECT IF(
+    EXISTS(SELECT 1 FROM information_schema.COLUMNS
+           WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'tradable_coin' AND COLUMN_NAME = 'quote_currency'),
+    'UPDATE tradable_coin SET quote_currency = SUBSTRING_INDEX(market, ''-'', 1), base_asset = SUBSTRING_INDEX(market, ''-'', -1) WHERE quote_currency IS NULL',
+    'DO 0'));
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -55,18 +55,29 @@ CREATE TABLE IF NOT EXISTS holding (
     CONSTRAINT fk_holding_member FOREIGN KEY (member_id) REFERENCES member(id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- 마켓 코드 -> 정수 ID 사전 (메모리 자료구조와 압축 전송 포맷에서 마켓 문자열 대신 사용)
+-- 한 번 부여한 ID 는 바뀌거나 재사용되지 않음
+CREATE TABLE IF NOT EXISTS market_dictionary (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    market VARCHAR(20) NOT NULL UNIQUE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
 -- 거래 가능 코인 테이블 생성
 CREATE TABLE IF NOT EXISTS tradable_coin (
     market VARCHAR(20) PRIMARY KEY,
     korean_name VARCHAR(50),
     english_name VARCHAR(50),
+    quote_currency VARCHAR(10),     -- 호가 화폐 (KRW-BTC 의 KRW)
+    base_asset VARCHAR(20),         -- 거래 대상 자산 (KRW-BTC 의 BTC)
     is_warning BOOLEAN,
     is_caution_price_fluctuations BOOLEAN,
     is_caution_trading_volume_soaring BOOLEAN,
     is_caution_deposit_amount_soaring BOOLEAN,
     is_caution_global_price_differences BOOLEAN,
     is_caution_concentration_of_small_accounts BOOLEAN,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    KEY idx_quote_currency (quote_currency)
 );
 
 -- Upbit Ticker 테이블 생성
@@ -106,6 +117,10 @@ CREATE TABLE IF NOT EXISTS upbit_ticker (
     upbit_timestamp BIGINT
 );
 
+-- 캔들 테이블(upbit_candle_*)은 MySQL 에서 candle_date_time_utc 기준 RANGE 파티션으로 보관 기간을 관리
+-- (파티션은 CandleRetentionManager 가 첫 정리 때 만들고 매일 앞으로 쓸 파티션 추가/만료 파티션 삭제,
+--  파티션 키가 모든 유니크 키에 포함되어야 하므로 PK 는 (id, candle_date_time_utc))
+-- 마켓 하나의 기간 조회(/candle/{horizon}/{market})는 uk_market_datetime, KST 시각 조건 조회는 idx_market_datetime_kst 사용
 -- 7일간 1시간 단위 캔들 (168개 데이터)
 CREATE TABLE IF NOT EXISTS upbit_candle_7d (
     id BIGINT NOT NULL AUTO_INCREMENT,
@@ -123,8 +138,9 @@ CREATE TABLE IF NOT EXISTS upbit_candle_7d (
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '생성 시각',
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '수정 시각',
 
-    PRIMARY KEY (id),
-    UNIQUE KEY uk_market_datetime (market, candle_date_time_utc)
+    PRIMARY KEY (id, candle_date_time_utc),
+    UNIQUE KEY uk_market_datetime (market, candle_date_time_utc),
+    KEY idx_market_datetime_kst (market, candle_date_time_kst)
 ) ENGINE=InnoDB
   DEFAULT CHARSET=utf8mb4
   COLLATE=utf8mb4_unicode_ci
@@ -147,8 +163,9 @@ CREATE TABLE IF NOT EXISTS upbit_candle_30d (
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '생성 시각',
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '수정 시각',
 
-    PRIMARY KEY (id),
-    UNIQUE KEY uk_market_datetime (market, candle_date_time_utc)
+    PRIMARY KEY (id, candle_date_time_utc),
+    UNIQUE KEY uk_market_datetime (market, candle_date_time_utc),
+    KEY idx_market_datetime_kst (market, candle_date_time_kst)
 ) ENGINE=InnoDB
   DEFAULT CHARSET=utf8mb4
   COLLATE=utf8mb4_unicode_ci
@@ -173,8 +190,9 @@ CREATE TABLE IF NOT EXISTS upbit_candle_3m (
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '생성 시각',
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '수정 시각',
 
-    PRIMARY KEY (id),
-    UNIQUE KEY uk_market_datetime (market, candle_date_time_utc)
+    PRIMARY KEY (id, candle_date_time_utc),
+    UNIQUE KEY uk_market_datetime (market, candle_date_time_utc),
+    KEY idx_market_datetime_kst (market, candle_date_time_kst)
 ) ENGINE=InnoDB
   DEFAULT CHARSET=utf8mb4
   COLLATE=utf8mb4_unicode_ci
@@ -199,8 +217,9 @@ CREATE TABLE IF NOT EXISTS upbit_candle_1y (
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '생성 시각',
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '수정 시각',
 
-    PRIMARY KEY (id),
-    UNIQUE KEY uk_market_datetime (market, candle_date_time_utc)
+    PRIMARY KEY (id, candle_date_time_utc),
+    UNIQUE KEY uk_market_datetime (market, candle_date_time_utc),
+    KEY idx_market_datetime_kst (market, candle_date_time_kst)
 ) ENGINE=InnoDB
   DEFAULT CHARSET=utf8mb4
   COLLATE=utf8mb4_unicode_ci
@@ -223,9 +242,25 @@ CREATE TABLE IF NOT EXISTS upbit_candle_5y (
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '생성 시각',
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '수정 시각',
 
-    PRIMARY KEY (id),
-    UNIQUE KEY uk_market_datetime (market, candle_date_time_utc)
+    PRIMARY KEY (id, candle_date_time_utc),
+    UNIQUE KEY uk_market_datetime (market, candle_date_time_utc),
+    KEY idx_market_datetime_kst (market, candle_date_time_kst)
 ) ENGINE=InnoDB
   DEFAULT CHARSET=utf8mb4
   COLLATE=utf8mb4_unicode_ci
   COMMENT='5년간 주 단위 캔들 데이터 (365주 × 600코인 = 약 219,000개 레코드)';
+
+-- 매일 캔들 동기화 진행 상황 테이블 (마켓 단위로 커밋, 재시작 시 끝난 마켓은 건너뜀)
+CREATE TABLE IF NOT EXISTS candle_sync_progress (
+    job_date DATE NOT NULL COMMENT '동기화 작업 날짜',
+    horizon VARCHAR(10) NOT NULL COMMENT '캔들 기간 (7d, 30d, 3m, 1y, 5y)',
+    market VARCHAR(20) NOT NULL COMMENT '마켓명 (KRW-BTC)',
+    rows_saved INT NOT NULL DEFAULT 0 COMMENT '저장한 캔들 수',
+    synced_until DATETIME NULL COMMENT '저장 기준 시각 (이 시각 이전에 끝난 캔들까지 저장, UTC)',
+    completed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '완료 시각',
+
+    PRIMARY KEY (job_date, horizon, market)
+) ENGINE=InnoDB
+  DEFAULT CHARSET=utf8mb4
+  COLLATE=utf8mb4_unicode_ci
+  COMMENT='매일 캔들 동기화 작업의 마켓별 진행 상황';
@@ -0,0 +1,136 @@
+package com.example.market_follower.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 로컬 가짜 Upbit 서버(JDK HttpServer)로 속도 제한/재시도 동작 확인
+class UpbitApiClientTest {
+    private HttpServer server;
+    private SimpleMeterRegistry meterRegistry;
+    // 차례대로 보낼 응답 (비면 200 + Remaining-Req 없음)
+    private final Queue<FakeResponse> responses = new ConcurrentLinkedQueue<>();
+    // 요청이 도착한 시각 (가짜 시계 기준)
+    private final List<Long> requestTimes = new CopyOnWriteArrayList<>();
+    // 가짜 시계: 클라이언트가 잠들 때만 앞으로 감
+    private final AtomicLong clockNanos = new AtomicLong();
+    // 클라이언트가 요청한 대기 시간 (ms)
+    private final List<Long> sleptMillis = new CopyOnWriteArrayList<>();
+
+    private record FakeResponse(int status, String remainingReq) {}
+
+    @BeforeEach
+    void setUp() throws IOException {
+        meterRegistry = new SimpleMeterRegistry();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/", exchange -> {
+            requestTimes.add(clockNanos.get());
+            FakeResponse response = responses.poll();
+            int status = response == null ? 200 : response.status();
+            if (response != null && response.remainingReq() != null) {
+                exchange.getResponseHeaders().add("Remaining-Req", response.remainingReq());
+            }
+            byte[] body = (status == 200 ? "[]" : "{\"error\":\"too many requests\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void remainingReqHeaderCapsBucket() {
+        UpbitApiClient client = client(10, 3);
+        // 버킷에는 9개가 남아 있지만 서버가 이번 초에 남은 요청이 없다고 알려줌
+        responses.add(new FakeResponse(200, "group=ticker; min=599; sec=0"));
+
+        client.get("/v1/ticker?markets=KRW-BTC", String.class);
+        client.get("/v1/ticker?markets=KRW-BTC", String.class);
+
+        // 초당 10개 -> 토큰 하나가 다시 차는 데 100ms
+        assertThat(sleptMillis).containsExactly(100L);
+        assertThat(gapMillis(0, 1)).isEqualTo(100);
+    }
+
+    @Test
+    void withoutRemainingReqHeaderBucketAllowsBurst() {
+        UpbitApiClient client = client(10, 3);
+
+        client.get("/v1/ticker?markets=KRW-BTC", String.class);
+        client.get("/v1/ticker?markets=KRW-BTC", String.class);
+
+        assertThat(sleptMillis).isEmpty();
+        assertThat(gapMillis(0, 1)).isZero();
+    }
+
+    @Test
+    void tooManyRequestsDrainsBucketAndRetriesWithBackoff() {
+        UpbitApiClient client = client(10, 3);
+        responses.add(new FakeResponse(429, null));
+
+        String body = client.get("/v1/orderbook?markets=KRW-BTC", String.class);
+
+        assertThat(body).isEqualTo("[]");
+        assertThat(requestTimes).hasSize(2);
+        // 첫 백오프 200ms, 그 사이 토큰이 다시 차므로 추가 대기 없음
+        assertThat(sleptMillis).containsExactly(200L);
+        assertThat(meterRegistry.counter("upbit.api.requests", "group", "orderbook", "outcome", "throttled").count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.counter("upbit.api.requests", "group", "orderbook", "outcome", "success").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void tooManyRequestsGivesUpAfterMaxRetries() {
+        UpbitApiClient client = client(10, 2);
+        for (int i = 0; i < 5; i++) {
+            responses.add(new FakeResponse(429, null));
+        }
+
+        assertThatThrownBy(() -> client.get("/v1/candles/minutes/5?market=KRW-BTC", String.class))
+                .isInstanceOf(HttpClientErrorException.TooManyRequests.class);
+        // 첫 요청 + 재시도 2번, 백오프는 200ms -> 400ms
+        assertThat(requestTimes).hasSize(3);
+        assertThat(sleptMillis).containsExactly(200L, 400L);
+        assertThat(meterRegistry.counter("upbit.api.requests", "group", "candles", "outcome", "throttled").count())
+                .isEqualTo(3);
+    }
+
+    private UpbitApiClient client(int requestsPerSecond, int maxRetries) {
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        return new UpbitApiClient(meterRegistry, baseUrl, requestsPerSecond, maxRetries,
+                clockNanos::get,
+                nanos -> {
+                    sleptMillis.add(TimeUnit.NANOSECONDS.toMillis(nanos));
+                    clockNanos.addAndGet(nanos);
+                });
+    }
+
+    private long gapMillis(int from, int to) {
+        return TimeUnit.NANOSECONDS.toMillis(requestTimes.get(to) - requestTimes.get(from));
+    }
+}
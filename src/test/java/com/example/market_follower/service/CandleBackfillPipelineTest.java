@@ -0,0 +1,103 @@
+package com.example.market_follower.service;
+
+import com.example.market_follower.model.candle.CandleHorizon;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertTimeoutPreemptively;
+
+class CandleBackfillPipelineTest {
+    private static final List<String> MARKETS = IntStream.range(0, 40).mapToObj(i -> "KRW-C" + i).toList();
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void allMarketsSucceed() {
+        CandleBackfillPipeline pipeline = new CandleBackfillPipeline(executor, new SimpleMeterRegistry(), 4, 2);
+
+        CandleBackfillPipeline.Result result = run(pipeline, market -> market, parsed -> 2);
+
+        assertThat(result).isEqualTo(new CandleBackfillPipeline.Result(40, 0, 80));
+    }
+
+    @Test
+    void errorsInFetchAndParseAreCountedAsFailures() {
+        CandleBackfillPipeline pipeline = new CandleBackfillPipeline(executor, new SimpleMeterRegistry(), 4, 2);
+
+        CandleBackfillPipeline.Result result = assertTimeoutPreemptively(Duration.ofSeconds(10), () ->
+                pipeline.run(CandleHorizon.SEVEN_DAYS, MARKETS,
+                        market -> {
+                            // RuntimeException 이 아닌 Error 도 파이프라인을 멈추면 안 됨
+                            if (market.endsWith("1")) {
+                                throw new AssertionError("fetch");
+                            }
+                            return market;
+                        },
+                        fetched -> {
+                            if (fetched.endsWith("2")) {
+                                throw new StackOverflowError();
+                            }
+                            return fetched;
+                        },
+                        (market, parsed) -> 1));
+
+        // 끝자리 1: C1, C11, C21, C31 / 끝자리 2: C2, C12, C22, C32
+        assertThat(result).isEqualTo(new CandleBackfillPipeline.Result(32, 8, 32));
+    }
+
+    @Test
+    void rejectedExecutorFailsEveryMarketWithoutHanging() {
+        CandleBackfillPipeline pipeline = new CandleBackfillPipeline(task -> {
+            throw new RejectedExecutionException("full");
+        }, new SimpleMeterRegistry(), 4, 2);
+
+        CandleBackfillPipeline.Result result = run(pipeline, market -> market, parsed -> 1);
+
+        assertThat(result).isEqualTo(new CandleBackfillPipeline.Result(0, 40, 0));
+    }
+
+    @Test
+    void rejectedParseTaskIsParsedOnCallerThread() {
+        AtomicInteger submitted = new AtomicInteger();
+        // fetch 워커 4개는 받고 parse 작업은 거절
+        CandleBackfillPipeline pipeline = new CandleBackfillPipeline(task -> {
+            if (submitted.incrementAndGet() > 4) {
+                throw new RejectedExecutionException("full");
+            }
+            executor.execute(task);
+        }, new SimpleMeterRegistry(), 4, 2);
+
+        CandleBackfillPipeline.Result result = run(pipeline, market -> market, parsed -> 1);
+
+        assertThat(result).isEqualTo(new CandleBackfillPipeline.Result(40, 0, 40));
+    }
+
+    private static CandleBackfillPipeline.Result run(
+            CandleBackfillPipeline pipeline,
+            Function<String, String> fetch,
+            ToIntFunction<String> persist
+    ) {
+        return assertTimeoutPreemptively(Duration.ofSeconds(10), () ->
+                pipeline.run(CandleHorizon.SEVEN_DAYS, MARKETS, fetch, parsed -> parsed,
+                        (market, parsed) -> persist.applyAsInt(parsed)));
+    }
+}
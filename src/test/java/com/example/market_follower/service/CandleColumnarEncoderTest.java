@@ -0,0 +1,245 @@
+package com.example.market_follower.service;
+
+import com.example.market_follower.model.MarketScope;
+import com.example.market_follower.model.candle.BaseCandle;
+import com.example.market_follower.model.candle.CandleHorizon;
+import com.example.market_follower.model.candle.UpbitCandle1y;
+import com.example.market_follower.model.candle.UpbitCandle7d;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class CandleColumnarEncoderTest {
+    private static final LocalDateTime START = LocalDateTime.of(2026, 10, 1, 0, 0);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void jsonRoundTrip() throws IOException {
+        CandleColumnarEncoder encoder = encoder(List.of(
+                new Visit(CandleHorizon.SEVEN_DAYS, hourly("KRW-BTC", 0, "100.5", "101.25", "99", "100")),
+                new Visit(CandleHorizon.SEVEN_DAYS, hourly("KRW-BTC", 1, "100", "102", "98.125", "101.5")),
+                new Visit(CandleHorizon.ONE_YEAR, daily("KRW-ETH", 0, "4000000", "4100000", "3900000", "4050000"))));
+
+        JsonNode root = writeJson(encoder);
+
+        JsonNode btc = root.get("upbit_candle_7d").get(0);
+        assertThat(btc.get("market").asText()).isEqualTo("KRW-BTC");
+        assertThat(btc.get("base").asLong()).isEqualTo(START.toEpochSecond(ZoneOffset.UTC));
+        assertThat(btc.get("scale").asInt()).isEqualTo(3);
+        assertThat(longs(btc.get("t"))).containsExactly(0L, 3600L);
+        assertThat(prices(btc.get("o"), 3))
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("100.5"), new BigDecimal("100"));
+        assertThat(prices(btc.get("l"), 3))
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("99"), new BigDecimal("98.125"));
+        assertThat(btc.get("v").get(1).asDouble()).isEqualTo(1.5);
+
+        JsonNode eth = root.get("upbit_candle_1y").get(0);
+        assertThat(eth.get("market").asText()).isEqualTo("KRW-ETH");
+        assertThat(eth.get("scale").asInt()).isZero();
+        assertThat(longs(eth.get("c"))).containsExactly(4050000L);
+    }
+
+    @Test
+    void binaryRoundTrip() throws IOException {
+        CandleColumnarEncoder encoder = encoder(List.of(
+                new Visit(CandleHorizon.SEVEN_DAYS, hourly("KRW-BTC", 0, "100.5", "101.25", "99", "100")),
+                new Visit(CandleHorizon.SEVEN_DAYS, hourly("KRW-BTC", 1, "100", "102", "98.125", "101.5")),
+                new Visit(CandleHorizon.ONE_YEAR, daily("KRW-ETH", 0, "4000000", "4100000", "3900000", "4050000"))));
+
+        List<DecodedSeries> series = decodeBinary(writeBinary(encoder));
+
+        assertThat(series).hasSize(2);
+        DecodedSeries btc = series.get(0);
+        assertThat(btc.horizon).isEqualTo(CandleHorizon.SEVEN_DAYS);
+        assertThat(btc.market).isEqualTo("KRW-BTC");
+        assertThat(btc.epochSeconds).containsExactly(
+                START.toEpochSecond(ZoneOffset.UTC), START.plusHours(1).toEpochSecond(ZoneOffset.UTC));
+        assertThat(btc.prices.get(1))
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("101.25"), new BigDecimal("102"));
+        assertThat(btc.prices.get(3))
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("100"), new BigDecimal("101.5"));
+        assertThat(btc.volume).containsExactly(0.5, 1.5);
+
+        DecodedSeries eth = series.get(1);
+        assertThat(eth.horizon).isEqualTo(CandleHorizon.ONE_YEAR);
+        assertThat(eth.prices.get(2))
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("3900000"));
+    }
+
+    @Test
+    void lowersScaleWhenScaledPriceOverflowsLong() throws IOException {
+        // 10^8 을 곱하면 long 범위(약 9.2 * 10^18)를 넘는 가격
+        CandleColumnarEncoder encoder = encoder(List.of(
+                new Visit(CandleHorizon.SEVEN_DAYS, hourly("KRW-BIG", 0, "123456789012.12345678", "1", "1", "1"))));
+
+        JsonNode series = writeJson(encoder).get("upbit_candle_7d").get(0);
+
+        assertThat(series.get("scale").asInt()).isEqualTo(7);
+        assertThat(series.get("o").get(0).asLong()).isEqualTo(1234567890121234568L);
+
+        DecodedSeries binary = decodeBinary(writeBinary(encoder)).get(0);
+        assertThat(binary.prices.get(0))
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("123456789012.1234568"));
+    }
+
+    @Test
+    void skipsSeriesThatDoNotFitEvenWithoutDecimals() throws IOException {
+        CandleColumnarEncoder encoder = encoder(List.of(
+                new Visit(CandleHorizon.SEVEN_DAYS, hourly("KRW-HUGE", 0, "10000000000000000000", "1", "1", "1")),
+                new Visit(CandleHorizon.SEVEN_DAYS, hourly("KRW-BTC", 0, "1", "1", "1", "1"))));
+
+        JsonNode series = writeJson(encoder).get("upbit_candle_7d");
+        assertThat(series).hasSize(1);
+        assertThat(series.get(0).get("market").asText()).isEqualTo("KRW-BTC");
+
+        assertThat(decodeBinary(writeBinary(encoder))).extracting(s -> s.market).containsExactly("KRW-BTC");
+    }
+
+    private record Visit(CandleHorizon horizon, BaseCandle candle) {}
+
+    private CandleColumnarEncoder encoder(List<Visit> visits) throws IOException {
+        CandleExportService exportService = mock(CandleExportService.class);
+        doAnswer(invocation -> {
+            CandleExportService.CandleVisitor visitor = invocation.getArgument(2);
+            for (Visit visit : visits) {
+                visitor.visit(visit.horizon(), visit.candle());
+            }
+            return null;
+        }).when(exportService).forEachCandle(any(MarketScope.class), any(), any(CandleExportService.CandleVisitor.class));
+        return new CandleColumnarEncoder(exportService, objectMapper);
+    }
+
+    private JsonNode writeJson(CandleColumnarEncoder encoder) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encoder.writeJson(MarketScope.KRW, null, out);
+        return objectMapper.readTree(out.toByteArray());
+    }
+
+    private byte[] writeBinary(CandleColumnarEncoder encoder) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encoder.writeBinary(MarketScope.KRW, null, out);
+        return out.toByteArray();
+    }
+
+    private static UpbitCandle7d hourly(String market, int hour, String open, String high, String low, String close) {
+        LocalDateTime utc = START.plusHours(hour);
+        return UpbitCandle7d.builder()
+                .market(market)
+                .candleDateTimeUtc(utc)
+                .candleDateTimeKst(utc.plusHours(9))
+                .openingPrice(new BigDecimal(open))
+                .highPrice(new BigDecimal(high))
+                .lowPrice(new BigDecimal(low))
+                .tradePrice(new BigDecimal(close))
+                .candleAccTradeVolume(new BigDecimal("0.5").add(BigDecimal.valueOf(hour)))
+                .candleAccTradePrice(new BigDecimal("1000"))
+                .unit(60)
+                .build();
+    }
+
+    private static UpbitCandle1y daily(String market, int day, String open, String high, String low, String close) {
+        LocalDateTime utc = START.plusDays(day);
+        return UpbitCandle1y.builder()
+                .market(market)
+                .candleDateTimeUtc(utc)
+                .candleDateTimeKst(utc.plusHours(9))
+                .openingPrice(new BigDecimal(open))
+                .highPrice(new BigDecimal(high))
+                .lowPrice(new BigDecimal(low))
+                .tradePrice(new BigDecimal(close))
+                .candleAccTradeVolume(BigDecimal.ONE)
+                .candleAccTradePrice(BigDecimal.TEN)
+                .build();
+    }
+
+    private static List<Long> longs(JsonNode array) {
+        List<Long> values = new ArrayList<>();
+        array.forEach(node -> values.add(node.asLong()));
+        return values;
+    }
+
+    private static List<BigDecimal> prices(JsonNode array, int scale) {
+        List<BigDecimal> values = new ArrayList<>();
+        array.forEach(node -> values.add(BigDecimal.valueOf(node.asLong(), scale).stripTrailingZeros()));
+        return values;
+    }
+
+    private static final class DecodedSeries {
+        private CandleHorizon horizon;
+        private String market;
+        private List<Long> epochSeconds = new ArrayList<>();
+        private List<List<BigDecimal>> prices = new ArrayList<>();
+        private List<Double> volume = new ArrayList<>();
+    }
+
+    // 컬럼 형식 문서(CandleColumnarEncoder.writeBinary)대로 읽는 디코더
+    private static List<DecodedSeries> decodeBinary(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        byte[] magic = new byte[4];
+        in.readFully(magic);
+        assertThat(new String(magic, StandardCharsets.US_ASCII)).isEqualTo("MFC1");
+
+        List<DecodedSeries> result = new ArrayList<>();
+        int length;
+        while ((length = in.readInt()) != 0) {
+            byte[] block = new byte[length];
+            in.readFully(block);
+            DataInputStream data = new DataInputStream(new ByteArrayInputStream(block));
+
+            DecodedSeries series = new DecodedSeries();
+            series.horizon = CandleHorizon.values()[data.readUnsignedByte()];
+            byte[] market = new byte[data.readUnsignedShort()];
+            data.readFully(market);
+            series.market = new String(market, StandardCharsets.UTF_8);
+            int n = data.readInt();
+            long epochSecond = data.readLong();
+            int scale = data.readUnsignedByte();
+
+            for (int i = 0; i < n; i++) {
+                epochSecond += VarInts.readVarLong(data);
+                series.epochSeconds.add(epochSecond);
+            }
+            for (int column = 0; column < 4; column++) {
+                List<BigDecimal> prices = new ArrayList<>();
+                long value = 0;
+                for (int i = 0; i < n; i++) {
+                    value += VarInts.unzigzag(VarInts.readVarLong(data));
+                    prices.add(BigDecimal.valueOf(value, scale).stripTrailingZeros());
+                }
+                series.prices.add(prices);
+            }
+            for (int i = 0; i < n; i++) {
+                series.volume.add(data.readDouble());
+            }
+            for (int i = 0; i < n; i++) {
+                data.readDouble();
+            }
+            assertThat(data.available()).isZero();
+            result.add(series);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.market_follower.service;
+
+import com.example.market_follower.model.candle.UpbitCandle1y;
+import com.example.market_follower.model.candle.UpbitCandle5y;
+import com.example.market_follower.repository.candle.UpbitCandle1yRepository;
+import com.example.market_follower.repository.candle.UpbitCandle7dRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CandleRollupEngineTest {
+    private static final String MARKET = "KRW-BTC";
+    // 2026-10-14 수요일, 이번 주 주봉은 2026-10-12 월요일 시작
+    private static final LocalDateTime TODAY = LocalDateTime.of(2026, 10, 14, 0, 0);
+    private static final LocalDateTime LAST_WEEK = LocalDateTime.of(2026, 10, 5, 0, 0);
+    private static final LocalDateTime THIS_WEEK = LocalDateTime.of(2026, 10, 12, 0, 0);
+
+    private final UpbitCandle1yRepository dailyRepository = mock(UpbitCandle1yRepository.class);
+    private final CandleRollupEngine engine = new CandleRollupEngine(
+            mock(UpbitCandle7dRepository.class), dailyRepository, new SimpleMeterRegistry());
+
+    @Test
+    void weeklyRollupIncludesInProgressWeek() {
+        List<UpbitCandle1y> daily = new ArrayList<>();
+        for (LocalDateTime day = LAST_WEEK; day.isBefore(TODAY); day = day.plusDays(1)) {
+            daily.add(day(day, 100, BigDecimal.ONE));
+        }
+        when(dailyRepository.findByMarketAndCandleDateTimeUtcRange(eq(MARKET), any(), eq(TODAY))).thenReturn(daily);
+
+        List<UpbitCandle5y> weeks = engine.rollup5y(MARKET, LAST_WEEK, TODAY);
+
+        assertThat(weeks).extracting(UpbitCandle5y::getCandleDateTimeUtc).containsExactly(LAST_WEEK, THIS_WEEK);
+        assertThat(weeks.get(1).getFirstDayOfPeriod()).isEqualTo(LocalDate.of(2026, 10, 12));
+        // 이번 주는 월, 화 이틀치만 합산
+        assertThat(weeks.get(1).getCandleAccTradeVolume()).isEqualByComparingTo("2");
+        assertThat(weeks.get(0).getCandleAccTradeVolume()).isEqualByComparingTo("7");
+    }
+
+    @Test
+    void missingAccValuesCountAsZero() {
+        List<UpbitCandle1y> daily = List.of(
+                day(THIS_WEEK, 100, BigDecimal.ONE),
+                day(THIS_WEEK.plusDays(1), 110, null));
+        when(dailyRepository.findByMarketAndCandleDateTimeUtcRange(eq(MARKET), any(), eq(TODAY))).thenReturn(daily);
+
+        List<UpbitCandle5y> weeks = engine.rollup5y(MARKET, THIS_WEEK, TODAY);
+
+        assertThat(weeks).hasSize(1);
+        assertThat(weeks.get(0).getCandleAccTradeVolume()).isEqualByComparingTo("1");
+        assertThat(weeks.get(0).getCandleAccTradePrice()).isEqualByComparingTo("100");
+        assertThat(weeks.get(0).getTradePrice()).isEqualByComparingTo("110");
+    }
+
+    private static UpbitCandle1y day(LocalDateTime utc, long price, BigDecimal volume) {
+        BigDecimal p = BigDecimal.valueOf(price);
+        return UpbitCandle1y.builder()
+                .market(MARKET)
+                .candleDateTimeUtc(utc)
+                .candleDateTimeKst(utc.plusHours(9))
+                .openingPrice(p)
+                .highPrice(p)
+                .lowPrice(p)
+                .tradePrice(p)
+                .timestamp(0L)
+                .candleAccTradePrice(volume == null ? null : p.multiply(volume))
+                .candleAccTradeVolume(volume)
+                .build();
+    }
+}
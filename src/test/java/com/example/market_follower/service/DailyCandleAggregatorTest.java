@@ -0,0 +1,105 @@
+package com.example.market_follower.service;
+
+import com.example.market_follower.dto.upbit.UpbitTickerDto;
+import com.example.market_follower.model.candle.DailyCandle;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class DailyCandleAggregatorTest {
+    private static final LocalDateTime B0 = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    private final CandleService candleService = mock(CandleService.class);
+    private final DailyCandleAggregator aggregator =
+            new DailyCandleAggregator(candleService, TestMarketDictionary.create(), new SimpleMeterRegistry(), 0);
+
+    @Test
+    void contiguousTickersBuildCandleFromStream() {
+        aggregator.onTicker(ticker(B0.plusSeconds(10), 100, 1));
+        aggregator.onTicker(ticker(B0.plusMinutes(5).plusSeconds(10), 101, 2));
+        aggregator.onTicker(ticker(B0.plusMinutes(5).plusSeconds(20), 103, 5));
+        aggregator.flushClosedBuckets();
+
+        // 처음 본 구간만 API 로 채우고, 다음 구간은 티커로 만든 캔들을 저장
+        verify(candleService).backfillDailyCandle("KRW-BTC", B0.plusMinutes(5), 1);
+        ArgumentCaptor<DailyCandle> saved = ArgumentCaptor.forClass(DailyCandle.class);
+        verify(candleService).saveDailyCandle(saved.capture());
+        assertThat(saved.getValue().openingPrice()).isEqualTo(101);
+        assertThat(saved.getValue().tradePrice()).isEqualTo(103);
+        assertThat(saved.getValue().candleAccTradeVolume()).isEqualTo(4);
+    }
+
+    @Test
+    void gapMarksNewBucketPartialAndBackfillsSkippedBuckets() {
+        aggregator.onTicker(ticker(B0.plusSeconds(10), 100, 1));
+        aggregator.onTicker(ticker(B0.plusMinutes(5).plusSeconds(10), 101, 2));
+        // 티커가 15분 동안 끊겼다가 20분 구간 티커 도착
+        aggregator.onTicker(ticker(B0.plusMinutes(20).plusSeconds(10), 110, 9));
+        aggregator.flushClosedBuckets();
+
+        verify(candleService).backfillDailyCandle("KRW-BTC", B0.plusMinutes(5), 1);
+        verify(candleService).saveDailyCandle(any());
+        verify(candleService).backfillDailyCandle("KRW-BTC", B0.plusMinutes(20), 2);
+        // 건너뛴 뒤 첫 구간도 누적 거래량 차이를 믿을 수 없으므로 API 로 채움
+        verify(candleService).backfillDailyCandle("KRW-BTC", B0.plusMinutes(25), 1);
+    }
+
+    @Test
+    void quietMarketWithKeyframesIsNotTreatedAsGap() {
+        aggregator.onTicker(ticker(B0.plusSeconds(10), 100, 1));
+        aggregator.onTicker(ticker(B0.plusMinutes(5).plusSeconds(10), 101, 2));
+        // 체결 없이 1분마다 keyframe 티커만 도착
+        for (int minute = 6; minute < 20; minute++) {
+            aggregator.onTicker(keyframe(B0.plusMinutes(5).plusSeconds(10), B0.plusMinutes(minute), 101, 2));
+        }
+        aggregator.onTicker(ticker(B0.plusMinutes(20).plusSeconds(10), 110, 9));
+        aggregator.flushClosedBuckets();
+
+        // 처음 본 구간만 API 로 채우고, 거래가 없던 10분/15분 구간은 캔들 없이 넘어감
+        verify(candleService).backfillDailyCandle("KRW-BTC", B0.plusMinutes(5), 1);
+        verify(candleService, never()).backfillDailyCandle("KRW-BTC", B0.plusMinutes(20), 2);
+        verify(candleService, never()).backfillDailyCandle("KRW-BTC", B0.plusMinutes(25), 1);
+        ArgumentCaptor<DailyCandle> saved = ArgumentCaptor.forClass(DailyCandle.class);
+        verify(candleService, times(2)).saveDailyCandle(saved.capture());
+        assertThat(saved.getAllValues().get(1).openingPrice()).isEqualTo(110);
+        assertThat(saved.getAllValues().get(1).candleAccTradeVolume()).isEqualTo(7);
+    }
+
+    @Test
+    void firstSeenMarketIsNeverSavedFromTicker() {
+        aggregator.onTicker(ticker(B0.plusSeconds(10), 100, 1));
+        aggregator.flushClosedBuckets();
+
+        verify(candleService).backfillDailyCandle("KRW-BTC", B0.plusMinutes(5), 1);
+        verify(candleService, never()).saveDailyCandle(any());
+    }
+
+    private static UpbitTickerDto ticker(LocalDateTime tradeTimeUtc, double price, double accTradeVolume) {
+        return keyframe(tradeTimeUtc, tradeTimeUtc, price, accTradeVolume);
+    }
+
+    // 마지막 체결 시각(tradeTimeUtc)과 티커 시각(receivedUtc)이 다른 티커
+    private static UpbitTickerDto keyframe(LocalDateTime tradeTimeUtc, LocalDateTime receivedUtc,
+                                           double price, double accTradeVolume) {
+        UpbitTickerDto ticker = new UpbitTickerDto();
+        ticker.setMarket("KRW-BTC");
+        ticker.setTradeTimestamp(tradeTimeUtc.toInstant(ZoneOffset.UTC).toEpochMilli());
+        ticker.setUpbitTimestamp(receivedUtc.toInstant(ZoneOffset.UTC).toEpochMilli());
+        ticker.setTradePrice(price);
+        ticker.setHighPrice(200);
+        ticker.setLowPrice(50);
+        ticker.setAccTradeVolume(accTradeVolume);
+        ticker.setAccTradePrice(accTradeVolume * price);
+        return ticker;
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.market_follower.service;
+
+import com.example.market_follower.dto.upbit.UpbitOrderbookDto;
+import com.example.market_follower.dto.upbit.UpbitTickerDto;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MarketDataCodecTest {
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final MarketDictionary dictionary = TestMarketDictionary.create();
+    private final MarketDataCodec codec = new MarketDataCodec(dictionary, objectMapper, "binary");
+
+    @Test
+    void tickerRoundTrip() {
+        UpbitTickerDto ticker = ticker("KRW-BTC", "FALL");
+        // null 문자열도 그대로 복원
+        ticker.setTradeTimeKst(null);
+        ticker.setLowest52WeekDate(null);
+
+        byte[] payload = codec.encode(ticker);
+
+        assertThat(payload[0] & 0xFF).isEqualTo(0xB7);
+        assertThat(decodeTickers(payload)).containsExactly(ticker);
+    }
+
+    @Test
+    void unknownChangeIsDecodedAsNull() {
+        UpbitTickerDto ticker = ticker("KRW-BTC", "SIDEWAYS");
+
+        UpbitTickerDto decoded = decodeTickers(codec.encode(ticker)).get(0);
+
+        assertThat(decoded.getChange()).isNull();
+        assertThat(decoded.getTradePrice()).isEqualTo(ticker.getTradePrice());
+    }
+
+    @Test
+    void orderbookRoundTripKeepsScaleNullsAndNegativeLevel() {
+        UpbitOrderbookDto orderbook = UpbitOrderbookDto.builder()
+                .market("KRW-ETH")
+                .timestamp(1757332586602L)
+                .totalAskSize(3.58032812)
+                .totalBidSize(1.79065811)
+                .level(-3)
+                .orderbookUnits(List.of(
+                        unit("155978000", "155952000", "0.00001081", "0.03361451"),
+                        unit("0.00012300", "-5", null, "12345678901234567890.123456789")))
+                .build();
+
+        List<UpbitOrderbookDto> decoded = decodeOrderbooks(codec.encode(orderbook));
+
+        assertThat(decoded).containsExactly(orderbook);
+        assertThat(decoded.get(0).getOrderbookUnits().get(1).getAskPrice().scale()).isEqualTo(8);
+    }
+
+    @Test
+    void orderbookWithoutUnitsDecodesToEmptyList() {
+        UpbitOrderbookDto orderbook = UpbitOrderbookDto.builder().market("KRW-ETH").timestamp(1).build();
+
+        UpbitOrderbookDto decoded = decodeOrderbooks(codec.encode(orderbook)).get(0);
+
+        assertThat(decoded.getOrderbookUnits()).isEmpty();
+    }
+
+    @Test
+    void jsonRecordsFromJsonProducerAreDecoded() {
+        MarketDataCodec jsonCodec = new MarketDataCodec(dictionary, objectMapper, "json");
+        UpbitTickerDto ticker = ticker("KRW-BTC", "RISE");
+
+        byte[] payload = jsonCodec.encode(ticker);
+
+        assertThat(payload[0]).isEqualTo((byte) '{');
+        assertThat(decodeTickers(payload)).containsExactly(ticker);
+    }
+
+    @Test
+    void legacyJsonArrayRecordsAreDecodedElementByElement() throws IOException {
+        List<UpbitTickerDto> tickers = List.of(ticker("KRW-BTC", "RISE"), ticker("KRW-ETH", "EVEN"));
+        byte[] payload = objectMapper.writeValueAsBytes(tickers);
+
+        assertThat(decodeTickers(payload)).containsExactlyElementsOf(tickers);
+    }
+
+    @Test
+    void rejectsUnknownVersion() {
+        byte[] payload = codec.encode(ticker("KRW-BTC", "RISE"));
+        payload[1] = 2;
+
+        assertThatThrownBy(() -> decodeTickers(payload))
+                .isInstanceOf(RuntimeException.class)
+                .hasCauseInstanceOf(IOException.class);
+    }
+
+    @Test
+    void rejectsOtherRecordType() {
+        byte[] payload = codec.encode(UpbitOrderbookDto.builder().market("KRW-BTC").build());
+
+        assertThatThrownBy(() -> decodeTickers(payload))
+                .isInstanceOf(RuntimeException.class)
+                .hasCauseInstanceOf(IOException.class);
+    }
+
+    @Test
+    void rejectsTruncatedRecord() {
+        byte[] payload = codec.encode(ticker("KRW-BTC", "RISE"));
+
+        assertThatThrownBy(() -> decodeTickers(Arrays.copyOf(payload, payload.length - 3)))
+                .isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    void rejectsUnknownMarketId() {
+        byte[] payload = codec.encode(ticker("KRW-BTC", "RISE"));
+        // KRW-BTC 를 등록한 적 없는 사전으로 디코딩
+        MarketDataCodec otherInstance = new MarketDataCodec(TestMarketDictionary.create(), objectMapper, "binary");
+
+        assertThatThrownBy(() -> otherInstance.decodeTickers(payload, ticker -> {}))
+                .isInstanceOf(RuntimeException.class)
+                .hasCauseInstanceOf(IOException.class);
+    }
+
+    private List<UpbitTickerDto> decodeTickers(byte[] payload) {
+        List<UpbitTickerDto> decoded = new ArrayList<>();
+        codec.decodeTickers(payload, decoded::add);
+        return decoded;
+    }
+
+    private List<UpbitOrderbookDto> decodeOrderbooks(byte[] payload) {
+        List<UpbitOrderbookDto> decoded = new ArrayList<>();
+        codec.decodeOrderbooks(payload, decoded::add);
+        return decoded;
+    }
+
+    private static UpbitOrderbookDto.OrderbookUnit unit(String askPrice, String bidPrice, String askSize, String bidSize) {
+        return UpbitOrderbookDto.OrderbookUnit.builder()
+                .askPrice(decimal(askPrice))
+                .bidPrice(decimal(bidPrice))
+                .askSize(decimal(askSize))
+                .bidSize(decimal(bidSize))
+                .build();
+    }
+
+    private static BigDecimal decimal(String value) {
+        return value == null ? null : new BigDecimal(value);
+    }
+
+    private static UpbitTickerDto ticker(String market, String change) {
+        UpbitTickerDto ticker = new UpbitTickerDto();
+        ticker.setMarket(market);
+        ticker.setTradeDate("20261018");
+        ticker.setTradeTime("103012");
+        ticker.setTradeDateKst("20261018");
+        ticker.setTradeTimeKst("193012");
+        ticker.setTradeTimestamp(1760783412000L);
+        ticker.setOpeningPrice(155_000_000);
+        ticker.setHighPrice(156_500_000);
+        ticker.setLowPrice(154_200_000);
+        ticker.setTradePrice(155_978_000);
+        ticker.setPrevClosingPrice(155_100_000);
+        ticker.setChange(change);
+        ticker.setChangePrice(878_000);
+        ticker.setChangeRate(0.0056608639);
+        ticker.setSignedChangePrice(-878_000);
+        ticker.setSignedChangeRate(-0.0056608639);
+        ticker.setTradeVolume(0.00064112);
+        ticker.setAccTradePrice(123_456_789_012.345);
+        ticker.setAccTradePrice24h(234_567_890_123.456);
+        ticker.setAccTradeVolume(789.12345678);
+        ticker.setAccTradeVolume24h(1_512.87654321);
+        ticker.setHighest52WeekPrice(170_000_000);
+        ticker.setHighest52WeekDate("2026-03-14");
+        ticker.setLowest52WeekPrice(90_000_000);
+        ticker.setLowest52WeekDate("2025-11-02");
+        ticker.setUpbitTimestamp(1760783412345L);
+        return ticker;
+    }
+}
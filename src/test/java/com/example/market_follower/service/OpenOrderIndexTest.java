@@ -0,0 +1,98 @@
+package com.example.market_follower.service;
+
+import com.example.market_follower.model.TradeHistory.Side;
+import com.example.market_follower.repository.TradeHistoryRepository;
+import com.example.market_follower.service.OpenOrderIndex.OpenOrder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class OpenOrderIndexTest {
+    private static final String MARKET = "KRW-BTC";
+
+    private OpenOrderIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new OpenOrderIndex(mock(TradeHistoryRepository.class), TestMarketDictionary.withMarkets(MARKET));
+    }
+
+    @Test
+    void buyOrderAtBestAskCrosses() {
+        index.add(order(1L, Side.BUY, "100"));
+        index.add(order(2L, Side.BUY, "99.99"));
+
+        assertThat(ids(index.findCrossing(MARKET, price("100"), null))).containsExactly(1L);
+    }
+
+    @Test
+    void sellOrderAtBestBidCrosses() {
+        index.add(order(1L, Side.SELL, "100"));
+        index.add(order(2L, Side.SELL, "100.01"));
+
+        assertThat(ids(index.findCrossing(MARKET, null, price("100")))).containsExactly(1L);
+    }
+
+    @Test
+    void equalPricesWithDifferentScaleShareOneLevel() {
+        index.add(order(1L, Side.BUY, "100"));
+        index.add(order(2L, Side.BUY, "100.00"));
+
+        assertThat(ids(index.findCrossing(MARKET, price("100.0"), null))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void ordersWithinLevelAreFifoAndLevelsByBestPrice() {
+        index.add(order(3L, Side.BUY, "100"));
+        index.add(order(1L, Side.BUY, "101"));
+        index.add(order(2L, Side.BUY, "100"));
+        index.add(order(4L, Side.SELL, "98"));
+        index.add(order(6L, Side.SELL, "97"));
+        index.add(order(5L, Side.SELL, "98"));
+
+        assertThat(ids(index.findCrossing(MARKET, price("100"), price("98"))))
+                .containsExactly(1L, 3L, 2L, 6L, 4L, 5L);
+    }
+
+    @Test
+    void removedOrderNoLongerCrosses() {
+        index.add(order(1L, Side.BUY, "100"));
+        index.add(order(2L, Side.BUY, "100"));
+        index.remove(1L);
+
+        assertThat(ids(index.findCrossing(MARKET, price("100"), null))).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void unknownMarketHasNoCrossingOrders() {
+        assertThat(index.findCrossing("KRW-ETH", price("1"), price("1"))).isEmpty();
+        assertThat(index.hasOrders("KRW-ETH")).isFalse();
+    }
+
+    @Test
+    void orderForUnregisteredMarketIsSkipped() {
+        assertThat(index.add(new OpenOrder(1L, "KRW-XYZ", Side.BUY, price("100")))).isFalse();
+
+        assertThat(index.size()).isZero();
+        assertThat(index.hasOrders("KRW-XYZ")).isFalse();
+        assertThat(index.markets()).isEmpty();
+    }
+
+    private static OpenOrder order(long id, Side side, String price) {
+        return new OpenOrder(id, MARKET, side, price(price));
+    }
+
+    private static BigDecimal price(String value) {
+        return new BigDecimal(value);
+    }
+
+    private static List<Long> ids(List<OpenOrder> orders) {
+        return orders.stream().map(OpenOrder::id).toList();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.market_follower.service;
+
+import com.example.market_follower.model.MarketDictionaryEntry;
+import com.example.market_follower.repository.MarketDictionaryRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 테스트/벤치마크용 마켓 사전: DB 없이 저장 순서대로 ID 를 부여
+// 벤치마크(src/jmh)에서도 쓰므로 Mockito 없이 repository 를 Proxy 로 만듦
+// 인스턴스마다 저장소가 따로라 다른 서버 인스턴스의 사전처럼 쓸 수 있음
+final class TestMarketDictionary {
+    private TestMarketDictionary() {
+    }
+
+    static MarketDictionary create() {
+        AtomicInteger sequence = new AtomicInteger();
+        List<MarketDictionaryEntry> saved = new ArrayList<>();
+        MarketDictionaryRepository repository = (MarketDictionaryRepository) Proxy.newProxyInstance(
+                MarketDictionaryRepository.class.getClassLoader(),
+                new Class<?>[]{MarketDictionaryRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "save" -> {
+                        MarketDictionaryEntry entry = (MarketDictionaryEntry) args[0];
+                        entry.setId(sequence.incrementAndGet());
+                        saved.add(entry);
+                        yield entry;
+                    }
+                    case "findById" -> saved.stream().filter(entry -> entry.getId().equals(args[0])).findFirst();
+                    case "findByMarket" -> saved.stream().filter(entry -> entry.getMarket().equals(args[0])).findFirst();
+                    case "findAll" -> List.copyOf(saved);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+
+        PlatformTransactionManager transactionManager = new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction(TransactionDefinition definition) {
+                return new SimpleTransactionStatus();
+            }
+
+            @Override
+            public void commit(TransactionStatus status) {
+            }
+
+            @Override
+            public void rollback(TransactionStatus status) {
+            }
+        };
+        return new MarketDictionary(repository, transactionManager);
+    }
+
+    // 주어진 마켓을 미리 등록한 사전 (거래 가능 코인 갱신 후 상태)
+    static MarketDictionary withMarkets(String... markets) {
+        MarketDictionary dictionary = create();
+        dictionary.registerAll(List.of(markets));
+        return dictionary;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.market_follower.service;
+
+import com.example.market_follower.dto.upbit.UpbitTickerDto;
+import com.example.market_follower.repository.MarketDataStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TickerSnapshotCacheTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MarketDataStore marketDataStore = mock(MarketDataStore.class);
+
+    @Test
+    void mergeAddsTickersOtherInstancesWroteToRedis() throws Exception {
+        TickerSnapshotCache cache = cache();
+        cache.update(ticker("KRW-BTC", 100, 2000));
+        // KRW-ETH 는 다른 인스턴스의 파티션, KRW-BTC 는 Redis 쪽이 더 오래됨
+        when(marketDataStore.findAll(MarketDataStore.TICKER_KEY)).thenReturn(Map.of(
+                "KRW-BTC", objectMapper.writeValueAsString(ticker("KRW-BTC", 90, 1000)),
+                "KRW-ETH", objectMapper.writeValueAsString(ticker("KRW-ETH", 5, 1500))));
+
+        cache.mergeOtherInstances();
+
+        assertThat(cache.snapshot().tickers())
+                .extracting(UpbitTickerDto::getMarket, UpbitTickerDto::getTradePrice)
+                .containsExactlyInAnyOrder(
+                        tuple("KRW-BTC", 100.0),
+                        tuple("KRW-ETH", 5.0));
+    }
+
+    @Test
+    void mergingSameTimestampDoesNotChangeVersion() throws Exception {
+        TickerSnapshotCache cache = cache();
+        cache.update(ticker("KRW-BTC", 100, 2000));
+        long before = cache.snapshot().version();
+        // 이 인스턴스가 Redis 에 쓴 티커를 그대로 다시 읽음
+        when(marketDataStore.findAll(MarketDataStore.TICKER_KEY)).thenReturn(Map.of(
+                "KRW-BTC", objectMapper.writeValueAsString(ticker("KRW-BTC", 100, 2000))));
+
+        assertThat(cache.mergeFromRedis()).isZero();
+        assertThat(cache.update(ticker("KRW-BTC", 100, 2000))).isFalse();
+        assertThat(cache.snapshot().version()).isEqualTo(before);
+    }
+
+    @Test
+    void snapshotDoesNotReadRedis() {
+        TickerSnapshotCache cache = cache();
+        cache.update(ticker("KRW-BTC", 100, 2000));
+
+        assertThat(cache.snapshot().tickers()).hasSize(1);
+        verify(marketDataStore, never()).findAll(MarketDataStore.TICKER_KEY);
+    }
+
+    private TickerSnapshotCache cache() {
+        return new TickerSnapshotCache(TestMarketDictionary.create(), marketDataStore, objectMapper, new SimpleMeterRegistry());
+    }
+
+    private static UpbitTickerDto ticker(String market, double price, long upbitTimestamp) {
+        UpbitTickerDto ticker = new UpbitTickerDto();
+        ticker.setMarket(market);
+        ticker.setTradePrice(price);
+        ticker.setUpbitTimestamp(upbitTimestamp);
+        return ticker;
+    }
+}